@@ -0,0 +1,204 @@
+package seedu.budgetbuddy;
+
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Writes data files without ever leaving them half-written. The new contents are written to a temporary file next
+ * to the data file, forced to disk according to a {@link Durability}, and then moved over the data file in a single
+ * atomic step. If writing fails, the temporary file is deleted and the data file is left unchanged.
+ */
+public class AtomicFileWriter {
+    private static final Logger LOGGER = Logger.getLogger(Logger.GLOBAL_LOGGER_NAME);
+    private static final String TEMPORARY_FILE_SUFFIX = ".tmp";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Writes text into a data file
+     */
+    @FunctionalInterface
+    public interface TextContent {
+        void writeTo(Writer writer) throws IOException;
+    }
+
+    /**
+     * Replaces the contents of the provided file with the text written by `content`, encoded in the default
+     * charset like the rest of the text data files.
+     *
+     * @param file The file to be replaced
+     * @param durability How far the new file is forced to disk
+     * @param content Writes the new contents of the file
+     * @throws IOException If the new file could not be written, in which case the file is unchanged
+     */
+    public static void write(Path file, Durability durability, TextContent content) throws IOException {
+        Path temporaryFile = getTemporaryFile(file);
+        try {
+            try (FileChannel channel = openTemporaryFile(temporaryFile)) {
+                Writer writer = createWriter(channel);
+                content.writeTo(writer);
+                writer.flush();
+                force(channel, durability);
+            }
+            replace(temporaryFile, file, durability);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temporaryFile);
+            throw e;
+        }
+    }
+
+    /**
+     * Replaces the contents of the provided file with the provided bytes.
+     *
+     * @param file The file to be replaced
+     * @param durability How far the new file is forced to disk
+     * @param data The new contents of the file
+     * @throws IOException If the new file could not be written, in which case the file is unchanged
+     */
+    public static void write(Path file, Durability durability, byte[] data) throws IOException {
+        Path temporaryFile = getTemporaryFile(file);
+        try {
+            try (FileChannel channel = openTemporaryFile(temporaryFile)) {
+                ByteBuffer buffer = ByteBuffer.wrap(data);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                force(channel, durability);
+            }
+            replace(temporaryFile, file, durability);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temporaryFile);
+            throw e;
+        }
+    }
+
+    /**
+     * Appends the text written by `content` to the end of the provided file. An append cannot be made atomic, so
+     * a crash may leave a partially written last line, which readers of appended files have to tolerate.
+     *
+     * @param file The file to be appended to
+     * @param durability How far the appended text is forced to disk
+     * @param content Writes the text to be appended
+     * @throws IOException If the text could not be appended
+     */
+    public static void append(Path file, Durability durability, TextContent content) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+                StandardOpenOption.APPEND)) {
+            Writer writer = createWriter(channel);
+            content.writeTo(writer);
+            writer.flush();
+            force(channel, durability);
+        }
+    }
+
+    /**
+     * Appends the provided bytes to the end of the provided file. An append cannot be made atomic, so a crash may
+     * leave a partially written last line, which readers of appended files have to tolerate.
+     *
+     * @param file The file to be appended to
+     * @param durability How far the appended bytes are forced to disk
+     * @param data The bytes to be appended
+     * @throws IOException If the bytes could not be appended
+     */
+    public static void append(Path file, Durability durability, byte[] data) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+                StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.wrap(data);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            force(channel, durability);
+        }
+    }
+
+    /**
+     * Returns the bytes of the text written by `content`, encoded exactly as it would be written into a file
+     *
+     * @param content Writes the text to be encoded
+     * @return The encoded text
+     * @throws IOException If `content` fails to write the text
+     */
+    public static byte[] encode(TextContent content) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        Writer writer = new BufferedWriter(new OutputStreamWriter(bytes, createEncoder()), BUFFER_SIZE);
+        content.writeTo(writer);
+        writer.flush();
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Creates an encoder which encodes text like a FileWriter, replacing characters which the default charset
+     * cannot encode instead of failing
+     */
+    private static CharsetEncoder createEncoder() {
+        return Charset.defaultCharset().newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    }
+
+    /**
+     * Creates a buffered writer which encodes text like a FileWriter, replacing characters which the default
+     * charset cannot encode instead of failing
+     */
+    private static Writer createWriter(FileChannel channel) {
+        return new BufferedWriter(Channels.newWriter(channel, createEncoder(), -1), BUFFER_SIZE);
+    }
+
+    private static Path getTemporaryFile(Path file) {
+        return file.resolveSibling(file.getFileName() + TEMPORARY_FILE_SUFFIX);
+    }
+
+    private static FileChannel openTemporaryFile(Path temporaryFile) throws IOException {
+        return FileChannel.open(temporaryFile, StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    private static void force(FileChannel channel, Durability durability) throws IOException {
+        if (durability != Durability.NONE) {
+            channel.force(durability == Durability.FSYNC);
+        }
+    }
+
+    /**
+     * Moves the temporary file over the file. If the file system cannot move files atomically, the file is
+     * replaced with an ordinary move instead.
+     */
+    private static void replace(Path temporaryFile, Path file, Durability durability) throws IOException {
+        try {
+            Files.move(temporaryFile, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            LOGGER.log(Level.WARNING, "Atomic move is not supported, replacing " + file + " non-atomically");
+            Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+        if (durability == Durability.FSYNC) {
+            forceDirectory(file.toAbsolutePath().getParent());
+        }
+    }
+
+    /**
+     * Forces the directory entries of the provided directory to disk, so that a file moved into it is not lost.
+     * Not every platform allows a directory to be opened, in which case the move is left to the operating system.
+     */
+    private static void forceDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            LOGGER.log(Level.FINE, "Could not force directory " + directory + " to disk", e);
+        }
+    }
+}
@@ -0,0 +1,330 @@
+package seedu.budgetbuddy;
+
+import seedu.budgetbuddy.commons.Budget;
+import seedu.budgetbuddy.commons.DefaultCurrency;
+import seedu.budgetbuddy.commons.Expense;
+import seedu.budgetbuddy.commons.ExpenseList;
+import seedu.budgetbuddy.commons.Money;
+import seedu.budgetbuddy.commons.RecurringExpenseList;
+import seedu.budgetbuddy.commons.RecurringExpenseLists;
+import seedu.budgetbuddy.commons.Saving;
+import seedu.budgetbuddy.commons.SplitExpense;
+import seedu.budgetbuddy.exception.BudgetBuddyException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Encodes and decodes the versioned binary snapshot format of the BudgetBuddy data files.
+ * Dates are stored as epoch days, amounts as the id of their currency followed by a long of its minor units, and
+ * categories, descriptions, currency codes and list names as ids into string tables written once at the start of
+ * the file. A file is laid out as a header (magic number, version and the kind of data stored), the category table,
+ * the string table, the rows, and a CRC32 checksum of everything before it. Files of version 1 are still read,
+ * which store amounts as fixed-point longs of cents in the base currency.
+ */
+public class BinaryFormat {
+    public static final byte EXPENSES = 1;
+    public static final byte SAVINGS = 2;
+    public static final byte SPLIT_EXPENSES = 3;
+    public static final byte BUDGETS = 4;
+    public static final byte RECURRING_EXPENSES = 5;
+
+    private static final int MAGIC_NUMBER = 0x42554459;
+    private static final short VERSION = 2;
+    private static final short CENTS_VERSION = 1;
+    private static final int CHECKSUM_LENGTH = Long.BYTES;
+    private static final int CENTS_FRACTION_DIGITS = 2;
+
+    /**
+     * Assigns an id to each distinct string in the order they are first seen, and writes them out as a
+     * length-prefixed table of UTF-8 strings
+     */
+    private static class StringTable {
+        private final Map<String, Integer> ids = new HashMap<>();
+        private final List<String> strings = new ArrayList<>();
+
+        private int getId(String string) {
+            Integer id = ids.get(string);
+            if (id == null) {
+                id = strings.size();
+                ids.put(string, id);
+                strings.add(string);
+            }
+            return id;
+        }
+
+        private void write(DataOutputStream out) throws IOException {
+            out.writeInt(strings.size());
+            for (String string : strings) {
+                byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+        }
+
+        private static String[] read(ByteBuffer in) {
+            String[] strings = new String[in.getInt()];
+            for (int i = 0; i < strings.length; i++) {
+                int length = in.getInt();
+                strings[i] = new String(in.array(), in.position(), length, StandardCharsets.UTF_8);
+                in.position(in.position() + length);
+            }
+            return strings;
+        }
+    }
+
+    /**
+     * Collects the rows of a file while the string tables are being built, since the tables have to be written
+     * before the rows which refer to them
+     */
+    private static class Encoder {
+        private final StringTable categories = new StringTable();
+        private final StringTable strings = new StringTable();
+        private final ByteArrayOutputStream rowBytes = new ByteArrayOutputStream();
+        private final DataOutputStream rows = new DataOutputStream(rowBytes);
+
+        private void writeExpense(Expense expense) throws IOException {
+            rows.writeInt((int) expense.getDateAdded().toEpochDay());
+            rows.writeInt(categories.getId(expense.getCategory().trim()));
+            writeAmount(expense.getAmountInMinorUnits(), expense.getCurrency());
+            rows.writeInt(strings.getId(expense.getDescription().trim()));
+        }
+
+        private void writeAmount(long minorUnits, Currency currency) throws IOException {
+            rows.writeInt(strings.getId(currency.getCurrencyCode()));
+            rows.writeLong(minorUnits);
+        }
+
+        private byte[] toBytes(byte type) throws IOException {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(MAGIC_NUMBER);
+            out.writeShort(VERSION);
+            out.writeByte(type);
+            categories.write(out);
+            strings.write(out);
+            rows.flush();
+            rowBytes.writeTo(out);
+
+            CRC32 checksum = new CRC32();
+            checksum.update(bytes.toByteArray());
+            out.writeLong(checksum.getValue());
+            return bytes.toByteArray();
+        }
+    }
+
+    /**
+     * Holds the string tables of a file being decoded, positioned at the start of its rows
+     */
+    private static class Decoder {
+        private final ByteBuffer in;
+        private final String[] categories;
+        private final String[] strings;
+        private final short version;
+
+        private Decoder(byte[] data, byte expectedType) throws BudgetBuddyException {
+            if (data.length < CHECKSUM_LENGTH) {
+                throw new BudgetBuddyException("Binary file is truncated");
+            }
+            CRC32 checksum = new CRC32();
+            checksum.update(data, 0, data.length - CHECKSUM_LENGTH);
+            in = ByteBuffer.wrap(data);
+            if (in.getLong(data.length - CHECKSUM_LENGTH) != checksum.getValue()) {
+                throw new BudgetBuddyException("Checksum of binary file does not match its contents");
+            }
+            if (in.getInt() != MAGIC_NUMBER) {
+                throw new BudgetBuddyException("Unsupported binary file format");
+            }
+            version = in.getShort();
+            if ((version != VERSION && version != CENTS_VERSION) || in.get() != expectedType) {
+                throw new BudgetBuddyException("Unsupported binary file format");
+            }
+            categories = StringTable.read(in);
+            strings = StringTable.read(in);
+        }
+
+        private Expense readExpense() {
+            LocalDate date = LocalDate.ofEpochDay(in.getInt());
+            String category = categories[in.getInt()];
+            Currency currency = readCurrency();
+            long amount = readAmount(currency);
+            String description = strings[in.getInt()];
+            return new Expense(date, category, amount, currency, description);
+        }
+
+        /**
+         * Reads the currency of the next amount, which is the base currency in files of version 1
+         */
+        private Currency readCurrency() {
+            if (version == CENTS_VERSION) {
+                return DefaultCurrency.getBaseCurrency();
+            }
+            return Currency.getInstance(strings[in.getInt()]);
+        }
+
+        /**
+         * Reads the next amount, after its currency, in minor units of that currency
+         */
+        private long readAmount(Currency currency) {
+            if (version == CENTS_VERSION) {
+                return fromCents(in.getLong(), currency);
+            }
+            return in.getLong();
+        }
+    }
+
+    /**
+     * Converts an amount in cents, as stored by files of version 1, to minor units of its currency
+     */
+    private static long fromCents(long cents, Currency currency) {
+        return BigDecimal.valueOf(cents, CENTS_FRACTION_DIGITS)
+                .setScale(Money.getFractionDigits(currency), RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    /**
+     * Returns true if the provided data is empty, as is the case for a newly created data file
+     *
+     * @param data The contents of a data file
+     * @return true if there is no data stored, else false
+     */
+    public static boolean isEmpty(byte[] data) {
+        return data.length == 0;
+    }
+
+    public static byte[] encodeExpenses(List<Expense> expenses) throws IOException {
+        Encoder encoder = new Encoder();
+        encoder.rows.writeInt(expenses.size());
+        for (Expense expense : expenses) {
+            encoder.writeExpense(expense);
+        }
+        return encoder.toBytes(EXPENSES);
+    }
+
+    public static List<Expense> decodeExpenses(byte[] data) throws BudgetBuddyException {
+        Decoder decoder = new Decoder(data, EXPENSES);
+        int size = decoder.in.getInt();
+        List<Expense> expenses = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            expenses.add(decoder.readExpense());
+        }
+        return expenses;
+    }
+
+    public static byte[] encodeSavings(List<Saving> savings) throws IOException {
+        Encoder encoder = new Encoder();
+        encoder.rows.writeInt(savings.size());
+        for (Saving saving : savings) {
+            encoder.rows.writeInt(encoder.categories.getId(saving.getCategory().trim()));
+            encoder.writeAmount(saving.getAmountInMinorUnits(), saving.getCurrency());
+        }
+        return encoder.toBytes(SAVINGS);
+    }
+
+    public static List<Saving> decodeSavings(byte[] data) throws BudgetBuddyException {
+        Decoder decoder = new Decoder(data, SAVINGS);
+        int size = decoder.in.getInt();
+        List<Saving> savings = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            String category = decoder.categories[decoder.in.getInt()];
+            Currency currency = decoder.readCurrency();
+            savings.add(new Saving(category, decoder.readAmount(currency), currency));
+        }
+        return savings;
+    }
+
+    /**
+     * Encodes the split expenses. Like the text file, the amount per person is stored, and is passed back into the
+     * {@link SplitExpense} constructor when decoded.
+     */
+    public static byte[] encodeSplitExpenses(List<SplitExpense> splitExpenses) throws IOException {
+        Encoder encoder = new Encoder();
+        encoder.rows.writeInt(splitExpenses.size());
+        for (SplitExpense splitExpense : splitExpenses) {
+            encoder.rows.writeInt((int) splitExpense.getDateAdded().toEpochDay());
+            encoder.writeAmount(splitExpense.getAmountInMinorUnits(), splitExpense.getCurrency());
+            encoder.rows.writeInt(splitExpense.getNumberOfPeople());
+            encoder.rows.writeInt(encoder.strings.getId(splitExpense.getDescription().trim()));
+        }
+        return encoder.toBytes(SPLIT_EXPENSES);
+    }
+
+    public static List<SplitExpense> decodeSplitExpenses(byte[] data) throws BudgetBuddyException {
+        Decoder decoder = new Decoder(data, SPLIT_EXPENSES);
+        int size = decoder.in.getInt();
+        List<SplitExpense> splitExpenses = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            LocalDate date = LocalDate.ofEpochDay(decoder.in.getInt());
+            Currency currency = decoder.readCurrency();
+            long amount = decoder.readAmount(currency);
+            int numberOfPeople = decoder.in.getInt();
+            String description = decoder.strings[decoder.in.getInt()];
+            splitExpenses.add(new SplitExpense(date, amount, currency, numberOfPeople, description));
+        }
+        return splitExpenses;
+    }
+
+    public static byte[] encodeBudgets(List<Budget> budgets) throws IOException {
+        Encoder encoder = new Encoder();
+        encoder.rows.writeInt(budgets.size());
+        for (Budget budget : budgets) {
+            encoder.rows.writeInt(encoder.categories.getId(budget.getCategory().trim()));
+            encoder.writeAmount(budget.getBudgetInMinorUnits(), budget.getCurrency());
+        }
+        return encoder.toBytes(BUDGETS);
+    }
+
+    public static List<Budget> decodeBudgets(byte[] data) throws BudgetBuddyException {
+        Decoder decoder = new Decoder(data, BUDGETS);
+        int size = decoder.in.getInt();
+        List<Budget> budgets = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            String category = decoder.categories[decoder.in.getInt()];
+            Currency currency = decoder.readCurrency();
+            budgets.add(new Budget(category, decoder.readAmount(currency), currency));
+        }
+        return budgets;
+    }
+
+    public static byte[] encodeRecurringExpenses(RecurringExpenseLists recurringExpenseLists) throws IOException {
+        Encoder encoder = new Encoder();
+        int numberOfLists = recurringExpenseLists.getSize();
+        encoder.rows.writeInt(numberOfLists);
+        for (int listNumber = 1; listNumber <= numberOfLists; listNumber++) {
+            ExpenseList expenseList = recurringExpenseLists.getExpenseListAtListNumber(listNumber);
+            encoder.rows.writeInt(encoder.strings.getId(expenseList.getName().trim()));
+            encoder.rows.writeInt(expenseList.size());
+            for (Expense expense : expenseList.getExpenses()) {
+                encoder.writeExpense(expense);
+            }
+        }
+        return encoder.toBytes(RECURRING_EXPENSES);
+    }
+
+    public static RecurringExpenseLists decodeRecurringExpenses(byte[] data) throws BudgetBuddyException {
+        Decoder decoder = new Decoder(data, RECURRING_EXPENSES);
+        int numberOfLists = decoder.in.getInt();
+        ArrayList<ExpenseList> recurringExpenses = new ArrayList<>(numberOfLists);
+        for (int i = 0; i < numberOfLists; i++) {
+            String name = decoder.strings[decoder.in.getInt()];
+            int size = decoder.in.getInt();
+            ArrayList<Expense> expenses = new ArrayList<>(size);
+            for (int j = 0; j < size; j++) {
+                expenses.add(decoder.readExpense());
+            }
+            recurringExpenses.add(new RecurringExpenseList(name, expenses));
+        }
+        return new RecurringExpenseLists(recurringExpenses);
+    }
+}
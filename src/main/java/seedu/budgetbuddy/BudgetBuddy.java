@@ -1,17 +1,58 @@
 package seedu.budgetbuddy;
 
 import seedu.budgetbuddy.command.Command;
+import seedu.budgetbuddy.commons.Budget;
+import seedu.budgetbuddy.commons.DefaultCurrency;
+import seedu.budgetbuddy.commons.Expense;
 import seedu.budgetbuddy.commons.ExpenseList;
 import seedu.budgetbuddy.commons.RecurringExpenseLists;
+import seedu.budgetbuddy.commons.Saving;
 import seedu.budgetbuddy.commons.SavingList;
+import seedu.budgetbuddy.commons.SplitExpense;
 import seedu.budgetbuddy.commons.SplitExpenseList;
+import seedu.budgetbuddy.exception.BudgetBuddyException;
 import seedu.budgetbuddy.exception.InvalidRecurringExpensesFileException;
 
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Currency;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Scanner;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 public class BudgetBuddy {
+    private static final String DATA_DIRECTORY = "./data/";
+    private static final String EXPENSE_SEGMENT_DIRECTORY = DATA_DIRECTORY + "expenses/";
+    private static final String TEXT_FILE_EXTENSION = ".txt";
+    private static final String EXPORTED_EXPENSE_FILE_NAME = "ExportedExpenses.txt";
+    private static final String BINARY_FILE_EXTENSION = ".bin";
+    private static final String DURABILITY_OPTION = "--durability";
+    private static final String MAX_COMMIT_LATENCY_OPTION = "--max-commit-latency";
+    private static final String BATCH_OPTION = "--batch";
+    private static final String CONFIRM_OPTION = "--confirm";
+    private static final int BATCH_OUTPUT_BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_FAILED_LINES_SHOWN = 50;
+    private static final Logger LOGGER = Logger.getLogger(Logger.GLOBAL_LOGGER_NAME);
     private Ui ui;
     private Parser parser;
     private ExpenseList expenses;
@@ -24,42 +65,259 @@ public class BudgetBuddy {
     private Storage splitexpensesStorage;
     private Storage defaultCurrency;
     private Storage budgetStorage;
+    private Storage exchangeRatesStorage;
+    private Currency savedCurrency;
+    private PersistenceWriter persistenceWriter;
+    private final EnumSet<DataStore> loadedStores = EnumSet.noneOf(DataStore.class);
 
 
 
     public BudgetBuddy() {
+        this(false);
+    }
+
+    /**
+     * Constructs a BudgetBuddy which stores its data either as text files, or as binary snapshot files.
+     *
+     * @param isBinaryFormat true if the data should be stored in the binary snapshot format
+     */
+    public BudgetBuddy(boolean isBinaryFormat) {
         ui = new Ui();
         parser = new Parser();
         expenses = new ExpenseList();
         savings = new SavingList();
         recurringExpenseLists = new RecurringExpenseLists();
         splitexpenses = new SplitExpenseList();
-        expensesStorage = new Storage("./data/ExpenseFile.txt");
-        savingsStorage = new Storage("./data/SavingsFile.txt");
-        recurringExpensesStorage = new Storage("./data/RecurringExpensesFile.txt");
-        splitexpensesStorage = new Storage("./data/SplitExpensesFile.txt");
-        defaultCurrency = new Storage("./data/DefaultCurrency.txt");
-        budgetStorage = new Storage("./data/BudgetFile.txt");
+
+        String fileExtension = isBinaryFormat ? BINARY_FILE_EXTENSION : TEXT_FILE_EXTENSION;
+        expensesStorage = Storage.createSegmentedExpenseStorage(EXPENSE_SEGMENT_DIRECTORY, isBinaryFormat,
+                createExpenseStorage(fileExtension));
+        savingsStorage = new Storage(DATA_DIRECTORY + "SavingsFile" + fileExtension);
+        recurringExpensesStorage = new Storage(DATA_DIRECTORY + "RecurringExpensesFile" + fileExtension);
+        splitexpensesStorage = new Storage(DATA_DIRECTORY + "SplitExpensesFile" + fileExtension);
+        defaultCurrency = new Storage(DATA_DIRECTORY + "DefaultCurrency.txt");
+        budgetStorage = new Storage(DATA_DIRECTORY + "BudgetFile" + fileExtension);
+        // The exchange rates file is only read, so it is not created if the user has not provided one
+        exchangeRatesStorage = Storage.createOptional(DATA_DIRECTORY + "rates.csv", null);
+    }
+
+    /**
+     * Sets how far every data file is forced to disk before a save completes
+     *
+     * @param durability The durability level of the saves
+     */
+    public void setDurability(Durability durability) {
+        for (Storage storage : Arrays.asList(expensesStorage, savingsStorage, recurringExpensesStorage,
+                splitexpensesStorage, defaultCurrency, budgetStorage)) {
+            storage.setDurability(durability);
+        }
+    }
+
+    /**
+     * Sets the writer which writes every data file in the background, so that commands do not wait for their
+     * changes to reach the disk. The writer is flushed by the sync command and when BudgetBuddy exits.
+     *
+     * @param persistenceWriter The writer of the data files
+     */
+    public void setPersistenceWriter(PersistenceWriter persistenceWriter) {
+        this.persistenceWriter = persistenceWriter;
+        for (Storage storage : Arrays.asList(expensesStorage, savingsStorage, recurringExpensesStorage,
+                splitexpensesStorage, defaultCurrency, budgetStorage)) {
+            storage.setPersistenceWriter(persistenceWriter);
+        }
+    }
+
+    /**
+     * Waits until every change made so far has been written to the data files
+     *
+     * @return true if every change has been written successfully, else false
+     */
+    private boolean syncData() {
+        return persistenceWriter == null || persistenceWriter.sync();
+    }
+
+    /**
+     * Creates the Storage for the single expense file with the provided extension, which is only used to move
+     * expenses saved before they were stored in month segments into the segments. The file is not created if it
+     * does not exist. The text and binary expense files each have their own journal, as a journal can only be
+     * replayed on the file it was started on.
+     *
+     * @param fileExtension The extension of the expense file
+     * @return The Storage for the expense file
+     */
+    private static Storage createExpenseStorage(String fileExtension) {
+        String journalName = fileExtension.equals(BINARY_FILE_EXTENSION) ? "ExpenseBinaryJournal" : "ExpenseJournal";
+        return Storage.createOptional(DATA_DIRECTORY + "ExpenseFile" + fileExtension,
+                DATA_DIRECTORY + journalName + TEXT_FILE_EXTENSION);
+    }
+
+    /**
+     * Creates the Storage for the text file which the expenses are exported to and imported from. It has its own
+     * name, so that it cannot be mistaken for the single expense file used before the month segments.
+     *
+     * @return The Storage for the exported expenses
+     */
+    private static Storage createExportedExpenseStorage() {
+        return Storage.createOptional(DATA_DIRECTORY + EXPORTED_EXPENSE_FILE_NAME, null);
     }
 
     public void handleCommands(String input) {
-        Command command = parser.parseCommand(expenses, savings, splitexpenses, recurringExpenseLists, input);
+        hydrateStores(parser.getRequiredStores(input));
 
+        if (parser.isSyncCommand(input)) {
+            System.out.println(syncData() ? "All changes have been saved." : "Error saving to file.");
+            return;
+        }
 
-        if (command != null) {
-            command.execute();
-        } else {
+        executeCommand(input);
+        saveModifiedData();
+    }
+
+    /**
+     * Executes a single command on the data in memory, without saving the changes it makes.
+     *
+     * @param input The command entered by the user
+     * @return true if the command was executed successfully, else false
+     */
+    private boolean executeCommand(String input) {
+        if (parser.isExportTextCommand(input)) {
+            exportText();
+            return true;
+        }
+        if (parser.isImportTextCommand(input)) {
+            importText();
+            return true;
+        }
+
+        Command command = parser.parseCommand(expenses, savings, splitexpenses, recurringExpenseLists, input);
+
+        if (command == null) {
             System.out.println("(Invalid command)");
+            return false;
         }
+        command.execute();
+        return !command.isFailed();
+    }
+
+    /**
+     * Executes every command in the provided batch file, in order, without asking for any input. All data is loaded
+     * before the first command, and the changes are only saved once the last command has been executed, so that
+     * large files of commands do not rewrite the data files after every line. The output of the commands is
+     * buffered, and a summary of the lines which failed is shown at the end. A `bye` line ends the batch early.
+     *
+     * @param batchFile The file of commands, one command per line
+     */
+    public void runBatch(Path batchFile) {
+        // Commands log their progress at INFO, which would cost more than the commands themselves in a batch
+        LOGGER.setLevel(Level.WARNING);
+        loadStartupData();
+        hydrateStores(EnumSet.allOf(DataStore.class));
+
+        PrintStream console = System.out;
+        PrintStream output = new PrintStream(new BufferedOutputStream(console, BATCH_OUTPUT_BUFFER_SIZE), false);
+        System.setOut(output);
+        int lineNumber = 0;
+        int commandCount = 0;
+        int failedCount = 0;
+        List<Integer> failedLineNumbers = new ArrayList<>();
+        List<String> failedLines = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(batchFile, Charset.defaultCharset())) {
+            String input;
+            while ((input = reader.readLine()) != null && !parser.isExitCommand(input)) {
+                lineNumber += 1;
+                if (input.isBlank()) {
+                    continue;
+                }
+                commandCount += 1;
+                if (!executeBatchCommand(input) && ++failedCount <= MAX_FAILED_LINES_SHOWN) {
+                    failedLineNumbers.add(lineNumber);
+                    failedLines.add(input);
+                }
+            }
+        } catch (IOException e) {
+            System.out.println("Could not read the batch file: " + e.getMessage());
+        } finally {
+            output.flush();
+            System.setOut(console);
+        }
+
+        saveModifiedData();
+        flushPendingWrites();
+        showBatchSummary(commandCount, failedCount, failedLineNumbers, failedLines);
+    }
 
+    /**
+     * Executes a single command of a batch file. Unlike in the interactive mode, an unexpected error in a command
+     * only fails its own line.
+     *
+     * @param input The line of the batch file
+     * @return true if the command was executed successfully, else false
+     */
+    private boolean executeBatchCommand(String input) {
+        if (parser.isSyncCommand(input)) {
+            saveModifiedData();
+            return syncData();
+        }
         try {
-            expensesStorage.saveExpenses(expenses.getExpenses());
-            savingsStorage.saveSavings(savings.getSavings());
-            recurringExpensesStorage.saveRecurringExpenses(recurringExpenseLists);
-            budgetStorage.saveBudgets(expenses.getBudgets());
-            splitexpensesStorage.saveSplitExpenses(splitexpenses.getSplitExpenses());
+            return executeCommand(input);
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Error executing batch command: " + input, e);
+            System.out.println("Error executing command: " + e.getMessage());
+            return false;
+        }
+    }
 
-            defaultCurrency.saveCurrency();
+    /**
+     * Shows how many commands of a batch file were executed, and the first lines which failed
+     */
+    private static void showBatchSummary(int commandCount, int failedCount, List<Integer> failedLineNumbers,
+                                         List<String> failedLines) {
+        System.out.println("Executed " + commandCount + " commands, " + failedCount + " failed.");
+        for (int i = 0; i < failedLines.size(); i++) {
+            System.out.println("Line " + failedLineNumbers.get(i) + ": " + failedLines.get(i));
+        }
+        if (failedCount > failedLines.size()) {
+            System.out.println("... and " + (failedCount - failedLines.size()) + " more failed lines.");
+        }
+    }
+
+    /**
+     * Saves only the data which has changed since it was last saved, so that commands which do not modify
+     * anything, such as listing or finding expenses, do not perform any disk I/O.
+     * The changed flag of each list is only cleared once it has been successfully written. Stores which have not
+     * been loaded are never written, as that would overwrite their files with empty data.
+     */
+    public void saveModifiedData() {
+        try {
+            if (!loadedStores.contains(DataStore.EXPENSES)) {
+                LOGGER.log(Level.INFO, "Expenses have not been loaded, skipping save");
+            } else if (expenses.requiresFullSave()) {
+                expensesStorage.saveExpenses(expenses.getExpenses());
+                expenses.clearModified();
+            } else if (expenses.isModified()) {
+                expensesStorage.appendExpenseJournal(expenses.getPendingChanges());
+                expenses.clearModified();
+            }
+            if (loadedStores.contains(DataStore.SAVINGS) && savings.isModified()) {
+                savingsStorage.saveSavings(savings.getSavings());
+                savings.clearModified();
+            }
+            if (loadedStores.contains(DataStore.RECURRING_EXPENSES) && recurringExpenseLists.isModified()) {
+                recurringExpensesStorage.saveRecurringExpenses(recurringExpenseLists);
+                recurringExpenseLists.clearModified();
+            }
+            if (loadedStores.contains(DataStore.BUDGETS) && expenses.isBudgetsModified()) {
+                budgetStorage.saveBudgets(expenses.getBudgets());
+                expenses.clearBudgetsModified();
+            }
+            if (loadedStores.contains(DataStore.SPLIT_EXPENSES) && splitexpenses.isModified()) {
+                splitexpensesStorage.saveSplitExpenses(splitexpenses.getSplitExpenses());
+                splitexpenses.clearModified();
+            }
+            if (!DefaultCurrency.getDefaultCurrency().equals(savedCurrency)) {
+                defaultCurrency.saveCurrency();
+                savedCurrency = DefaultCurrency.getDefaultCurrency();
+            }
         } catch (IOException e) {
             System.out.println("Error saving to file.");
 
@@ -69,24 +327,229 @@ public class BudgetBuddy {
 
     }
 
-    public void run() {
-        Scanner scanner = new Scanner(System.in);
+    /**
+     * Writes all data into the text files in the data directory, so that a readable copy of the data is available
+     * even when it is stored in the binary snapshot format.
+     */
+    private void exportText() {
+        if (!syncData()) {
+            System.out.println("Error saving to file.");
+            return;
+        }
+        try {
+            createExportedExpenseStorage().saveExpenses(expenses.getExpenses());
+            new Storage(DATA_DIRECTORY + "SavingsFile.txt").saveSavings(savings.getSavings());
+            new Storage(DATA_DIRECTORY + "RecurringExpensesFile.txt").saveRecurringExpenses(recurringExpenseLists);
+            new Storage(DATA_DIRECTORY + "SplitExpensesFile.txt").saveSplitExpenses(splitexpenses.getSplitExpenses());
+            new Storage(DATA_DIRECTORY + "BudgetFile.txt").saveBudgets(expenses.getBudgets());
+            System.out.println("Data has been exported to the text files in " + DATA_DIRECTORY);
+        } catch (IOException e) {
+            System.out.println("Error saving to file.");
+        } catch (InvalidRecurringExpensesFileException e) {
+            System.out.println(e.getMessage());
+        }
+    }
 
+    /**
+     * Replaces all data with the data stored in the text files in the data directory. The imported data is then
+     * saved in the current storage format.
+     */
+    private void importText() {
+        if (!syncData()) {
+            System.out.println("Error saving to file.");
+            return;
+        }
+        Storage exportedExpenseStorage = createExportedExpenseStorage();
+        if (!exportedExpenseStorage.hasFile()) {
+            System.out.println("There is no " + EXPORTED_EXPENSE_FILE_NAME + " in " + DATA_DIRECTORY
+                    + " to import. Use export text first.");
+            return;
+        }
         try {
-            defaultCurrency.loadCurrency();
-            this.expenses.getExpenses().addAll(expensesStorage.loadExpenses());
-            this.savings.getSavings().addAll(savingsStorage.loadSavings());
-            this.splitexpenses.getSplitExpenses().addAll(splitexpensesStorage.loadSplitExpenses());
-            this.recurringExpenseLists = recurringExpensesStorage.loadRecurringExpensesList();
-            this.expenses.getBudgets().addAll(budgetStorage.loadBudgets());
+            List<Expense> importedExpenses = exportedExpenseStorage.loadExpenses();
+            List<Saving> importedSavings = new Storage(DATA_DIRECTORY + "SavingsFile.txt").loadSavings();
+            RecurringExpenseLists importedRecurringExpenseLists =
+                    new Storage(DATA_DIRECTORY + "RecurringExpensesFile.txt").loadRecurringExpensesList();
+            List<SplitExpense> importedSplitExpenses =
+                    new Storage(DATA_DIRECTORY + "SplitExpensesFile.txt").loadSplitExpenses();
+            List<Budget> importedBudgets = new Storage(DATA_DIRECTORY + "BudgetFile.txt").loadBudgets();
 
-        } catch (FileNotFoundException e) {
-            System.out.println("No existing files found. Starting fresh.");
+            expenses.getExpenses().clear();
+            expenses.getExpenses().addAll(importedExpenses);
+            expenses.markModified();
+            expenses.getBudgets().clear();
+            expenses.getBudgets().addAll(importedBudgets);
+            expenses.markBudgetsModified();
+            savings.getSavings().clear();
+            savings.getSavings().addAll(importedSavings);
+            savings.resetTotals();
+            savings.markModified();
+            splitexpenses.getSplitExpenses().clear();
+            splitexpenses.getSplitExpenses().addAll(importedSplitExpenses);
+            splitexpenses.markModified();
+            recurringExpenseLists = importedRecurringExpenseLists;
+            recurringExpenseLists.markModified();
+
+            System.out.println("Data has been imported from the text files in " + DATA_DIRECTORY);
+        } catch (IOException | RuntimeException e) {
+            System.out.println("Error reading the text files: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Loads the provided data stores which have not been loaded yet, and reports any error in loading them to the
+     * user
+     *
+     * @param stores The data stores needed by the next command
+     */
+    private void hydrateStores(EnumSet<DataStore> stores) {
+        try {
+            loadStores(stores);
         } catch (IOException e) {
             System.out.println("Could not create files. Please ensure all files are present and are not directories");
         }
+    }
+
+    /**
+     * Loads the provided data stores which have not been loaded yet. The files of the stores are loaded
+     * concurrently, as they are independent of each other, and their data is added in the order of
+     * {@link DataStore}. If loading a file fails, the data of the files after it is not added, and those stores are
+     * loaded again when they are next needed. All loads have finished when this returns.
+     *
+     * @param stores The data stores to be loaded
+     * @throws IOException If an error occurs when accessing one of the files
+     */
+    private void loadStores(EnumSet<DataStore> stores) throws IOException {
+        EnumSet<DataStore> storesToLoad = EnumSet.copyOf(stores);
+        storesToLoad.removeAll(loadedStores);
+        if (storesToLoad.isEmpty()) {
+            return;
+        }
+
+        ExecutorService loader = Executors.newFixedThreadPool(storesToLoad.size());
+        try {
+            Map<DataStore, Future<Runnable>> loads = new EnumMap<>(DataStore.class);
+            for (DataStore store : storesToLoad) {
+                loads.put(store, loader.submit(createLoad(store)));
+            }
+            for (Map.Entry<DataStore, Future<Runnable>> load : loads.entrySet()) {
+                getLoadedData(load.getValue()).run();
+                // Only marked once its data is added, so that a store which failed to load is never saved
+                loadedStores.add(load.getKey());
+                LOGGER.log(Level.INFO, "Loaded data store " + load.getKey());
+            }
+        } finally {
+            loader.shutdown();
+            awaitLoader(loader);
+        }
+    }
+
+    /**
+     * Creates the task which reads the file of the provided data store. The task returns the step which adds the
+     * data read to the store, which is run on the main thread. A store whose file was reset during loading is
+     * flagged as changed, so that the data which was loaded before the corruption was detected is written back on
+     * the next save.
+     *
+     * @param store The data store to be loaded
+     * @return The task which loads the store
+     */
+    private Callable<Runnable> createLoad(DataStore store) {
+        switch (store) {
+        case EXPENSES:
+            return () -> {
+                List<Expense> loadedExpenses = expensesStorage.loadExpenses();
+                return () -> {
+                    expenses.getExpenses().addAll(loadedExpenses);
+                    expenses.resetIndexes();
+                    if (expensesStorage.isFileReset()) {
+                        expenses.markModified();
+                    }
+                };
+            };
+        case SAVINGS:
+            return () -> {
+                List<Saving> loadedSavings = savingsStorage.loadSavings();
+                return () -> {
+                    savings.getSavings().addAll(loadedSavings);
+                    savings.resetTotals();
+                    if (savingsStorage.isFileReset()) {
+                        savings.markModified();
+                    }
+                };
+            };
+        case SPLIT_EXPENSES:
+            return () -> {
+                List<SplitExpense> loadedSplitExpenses = splitexpensesStorage.loadSplitExpenses();
+                return () -> splitexpenses.getSplitExpenses().addAll(loadedSplitExpenses);
+            };
+        case RECURRING_EXPENSES:
+            return () -> {
+                RecurringExpenseLists loadedLists = recurringExpensesStorage.loadRecurringExpensesList();
+                return () -> recurringExpenseLists = loadedLists;
+            };
+        case BUDGETS:
+            return () -> {
+                List<Budget> loadedBudgets = budgetStorage.loadBudgets();
+                return () -> expenses.getBudgets().addAll(loadedBudgets);
+            };
+        default:
+            throw new IllegalArgumentException("Unknown data store: " + store);
+        }
+    }
+
+    /**
+     * Waits for a file to be loaded, and rethrows any exception thrown while loading it
+     *
+     * @param loadedData The result of loading the file
+     * @return The data loaded from the file
+     * @throws IOException If an error occurred when accessing the file
+     */
+    private static <T> T getLoadedData(Future<T> loadedData) throws IOException {
+        try {
+            return loadedData.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while loading files", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw (RuntimeException) cause;
+        }
+    }
+
+    /**
+     * Waits for the remaining loads to finish, so that no file is still being read, or reset, once the user can
+     * enter commands
+     */
+    private static void awaitLoader(ExecutorService loader) {
+        try {
+            while (!loader.awaitTermination(1, TimeUnit.SECONDS)) {
+                LOGGER.log(Level.INFO, "Waiting for data files to finish loading");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Runs BudgetBuddy. Only the default currency and the expenses are loaded before the welcome message is shown,
+     * and the time taken to show it is logged.
+     */
+    public void run() {
+        long startTime = System.nanoTime();
+        Scanner scanner = new Scanner(System.in);
+
+        loadStartupData();
 
         ui.showWelcome();
+        LOGGER.log(Level.INFO, String.format("Time to first prompt: %d ms (%d ms since JVM start)",
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime),
+                ManagementFactory.getRuntimeMXBean().getUptime()));
 
         boolean isExit = false;
         while (!isExit) {
@@ -99,11 +562,138 @@ public class BudgetBuddy {
             }
         }
 
+        flushPendingWrites();
         ui.showGoodbye();
         scanner.close();
     }
 
+    /**
+     * Loads the exchange rates, the default currency and the expenses, which every session needs before its first
+     * command
+     */
+    private void loadStartupData() {
+        // The rates are loaded first, as loading amounts checks that their currencies have exchange rates
+        loadExchangeRates();
+        try {
+            // Every transaction created while loading takes on the default currency, so it is loaded first
+            defaultCurrency.loadCurrency();
+            loadStores(EnumSet.of(DataStore.EXPENSES));
+        } catch (FileNotFoundException e) {
+            System.out.println("No existing files found. Starting fresh.");
+        } catch (IOException e) {
+            System.out.println("Could not create files. Please ensure all files are present and are not directories");
+        }
+        savedCurrency = DefaultCurrency.getDefaultCurrency();
+    }
+
+    /**
+     * Loads the dated exchange rates, which are shared by every command. The built-in rates are kept if the rates
+     * file is invalid.
+     */
+    private void loadExchangeRates() {
+        try {
+            DefaultCurrency.setExchangeRates(exchangeRatesStorage.loadExchangeRates());
+        } catch (BudgetBuddyException e) {
+            System.out.println(e.getMessage());
+            System.out.println("Using the built-in exchange rates instead.");
+        }
+    }
+
+    /**
+     * Writes all changes which are still queued to the data files, before BudgetBuddy exits
+     */
+    private void flushPendingWrites() {
+        if (persistenceWriter != null && !persistenceWriter.close()) {
+            System.out.println("Error saving to file. Some of your latest changes may not have been saved.");
+        }
+    }
+
+    /**
+     * Returns the durability level provided with the `--durability` option, or FSYNC if it is not provided
+     *
+     * @param args The command line arguments
+     * @return The durability level of the saves
+     */
+    private static Durability parseDurability(List<String> args) {
+        int optionIndex = args.indexOf(DURABILITY_OPTION);
+        if (optionIndex < 0) {
+            return Durability.FSYNC;
+        }
+        try {
+            return Durability.valueOf(args.get(optionIndex + 1).toUpperCase());
+        } catch (IndexOutOfBoundsException | IllegalArgumentException e) {
+            System.out.println("Durability should be one of none, flush or fsync. Using fsync.");
+            return Durability.FSYNC;
+        }
+    }
+
+    /**
+     * Returns the maximum commit latency provided with the `--max-commit-latency` option, or the default latency
+     * if it is not provided
+     *
+     * @param args The command line arguments
+     * @return The longest time in milliseconds that a change waits before it is written
+     */
+    private static long parseMaxCommitLatency(List<String> args) {
+        int optionIndex = args.indexOf(MAX_COMMIT_LATENCY_OPTION);
+        if (optionIndex < 0) {
+            return PersistenceWriter.DEFAULT_MAX_LATENCY_MILLIS;
+        }
+        try {
+            long maxCommitLatency = Long.parseLong(args.get(optionIndex + 1));
+            if (maxCommitLatency < 0) {
+                throw new NumberFormatException("Maximum commit latency should not be negative");
+            }
+            return maxCommitLatency;
+        } catch (IndexOutOfBoundsException | NumberFormatException e) {
+            System.out.println("Maximum commit latency should be a non-negative number of milliseconds. Using "
+                    + PersistenceWriter.DEFAULT_MAX_LATENCY_MILLIS + " ms.");
+            return PersistenceWriter.DEFAULT_MAX_LATENCY_MILLIS;
+        }
+    }
+
+    /**
+     * Returns the policy provided with the `--confirm` option, which answers the confirmations of a batch file, or
+     * NO if it is not provided
+     *
+     * @param args The command line arguments
+     * @return The policy which answers every confirmation
+     */
+    private static ConfirmationPolicy parseConfirmationPolicy(List<String> args) {
+        int optionIndex = args.indexOf(CONFIRM_OPTION);
+        if (optionIndex < 0) {
+            return ConfirmationPolicy.NO;
+        }
+        String policy = optionIndex + 1 < args.size() ? args.get(optionIndex + 1).toLowerCase() : "";
+        switch (policy) {
+        case "yes":
+            return ConfirmationPolicy.YES;
+        case "no":
+            return ConfirmationPolicy.NO;
+        default:
+            System.out.println("Confirmation policy should be either yes or no. Using no.");
+            return ConfirmationPolicy.NO;
+        }
+    }
+
     public static void main(String[] args) {
-        new BudgetBuddy().run();
+        List<String> arguments = Arrays.asList(args);
+        boolean isBinaryFormat = arguments.contains("--binary");
+        BudgetBuddy budgetBuddy = new BudgetBuddy(isBinaryFormat);
+        budgetBuddy.setDurability(parseDurability(arguments));
+        PersistenceWriter persistenceWriter = new PersistenceWriter(parseMaxCommitLatency(arguments));
+        budgetBuddy.setPersistenceWriter(persistenceWriter);
+        // Writes changes still queued when BudgetBuddy is closed without the bye command
+        Runtime.getRuntime().addShutdownHook(new Thread(persistenceWriter::close));
+
+        int batchOptionIndex = arguments.indexOf(BATCH_OPTION);
+        if (batchOptionIndex < 0) {
+            budgetBuddy.run();
+        } else if (batchOptionIndex + 1 >= arguments.size()) {
+            System.out.println("Please provide the batch file to run, e.g. --batch commands.txt");
+        } else {
+            Ui.setConfirmationPolicy(parseConfirmationPolicy(arguments));
+            budgetBuddy.runBatch(Paths.get(arguments.get(batchOptionIndex + 1)));
+        }
     }
 }
@@ -0,0 +1,19 @@
+package seedu.budgetbuddy;
+
+/**
+ * Represents how a confirmation, such as adding an expense which exceeds its budget, is answered
+ */
+public enum ConfirmationPolicy {
+    /**
+     * The user is asked to confirm on the console
+     */
+    PROMPT,
+    /**
+     * Every confirmation is answered with yes, without asking the user
+     */
+    YES,
+    /**
+     * Every confirmation is answered with no, without asking the user
+     */
+    NO
+}
@@ -0,0 +1,9 @@
+package seedu.budgetbuddy;
+
+/**
+ * Represents the data stores of BudgetBuddy which are each saved in their own data file. The expenses are loaded
+ * on startup, while the other stores are only loaded the first time a command which needs them is entered.
+ */
+public enum DataStore {
+    EXPENSES, SAVINGS, SPLIT_EXPENSES, RECURRING_EXPENSES, BUDGETS
+}
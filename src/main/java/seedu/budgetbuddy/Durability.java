@@ -0,0 +1,23 @@
+package seedu.budgetbuddy;
+
+/**
+ * Represents how far a saved data file is forced to disk before the save is considered complete. Every level
+ * replaces a file atomically, so a file is never left half-written when BudgetBuddy is closed during a save.
+ */
+public enum Durability {
+    /**
+     * The data is handed to the operating system only. A file survives BudgetBuddy crashing, but not the operating
+     * system crashing or a power loss.
+     */
+    NONE,
+    /**
+     * The contents of a file are forced to disk before it replaces the old file. After an operating system crash,
+     * either the old or the new file is found, but the latest save may be lost.
+     */
+    FLUSH,
+    /**
+     * The contents and metadata of a file, and the directory entry which replaces the old file, are forced to disk
+     * before the save completes.
+     */
+    FSYNC
+}
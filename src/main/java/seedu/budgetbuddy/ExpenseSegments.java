@@ -0,0 +1,299 @@
+package seedu.budgetbuddy;
+
+import seedu.budgetbuddy.commons.Expense;
+import seedu.budgetbuddy.exception.BudgetBuddyException;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+/**
+ * Stores the expenses as a directory of segment files, each holding a run of consecutive expenses added in the same
+ * month, so that saving the expenses only rewrites the months whose expenses have changed. Expenses are added in
+ * date order, so there is usually a single segment for each month.
+ * The segments are listed in list order in a manifest file, in the `MONTH | FILE | ROWS | CHECKSUM` format. A
+ * changed segment is written to a new file, named after its month, the generation of the save which wrote it and
+ * its position in that save. The manifest is replaced after the segments it lists, so that a save only takes effect
+ * once its manifest is on disk. Files which are no longer listed are deleted before the next save, once the
+ * manifest which replaced them is on disk.
+ */
+public class ExpenseSegments {
+    private static final Logger LOGGER = Logger.getLogger(Logger.GLOBAL_LOGGER_NAME);
+    private static final String MANIFEST_HEADER = "# MONTH | FILE | ROWS | CHECKSUM\n";
+    private static final String DIVIDER = " | ";
+    private static final Pattern SEGMENT_FILE_NAME = Pattern.compile("\\d{4}-\\d{2}\\.\\d+\\.\\d+\\.(txt|bin)");
+
+    private final Path directory;
+    private final boolean isBinary;
+    // The segments listed by the latest manifest, in list order
+    private List<Segment> segments = new ArrayList<>();
+    private List<Segment> savedSegments;
+    private long generation;
+
+    /**
+     * Represents a segment file listed in the manifest
+     */
+    private static class Segment {
+        private final YearMonth month;
+        private final String fileName;
+        private final int rowCount;
+        private final long checksum;
+
+        private Segment(YearMonth month, String fileName, int rowCount, long checksum) {
+            this.month = month;
+            this.fileName = fileName;
+            this.rowCount = rowCount;
+            this.checksum = checksum;
+        }
+
+        private String getKey() {
+            return month + DIVIDER + checksum;
+        }
+    }
+
+    /**
+     * Constructs the segments of the provided directory, stored as text segments or binary segments. Text and
+     * binary segments can be kept in the same directory, as each have their own manifest.
+     *
+     * @param directory The directory of the segment files
+     * @param isBinary true if the segments are stored in the binary snapshot format
+     */
+    public ExpenseSegments(Path directory, boolean isBinary) {
+        this.directory = directory;
+        this.isBinary = isBinary;
+    }
+
+    /**
+     * Reads the segments listed in the provided manifest into the provided list, in list order. The segments are
+     * read in parallel. If a segment is missing or corrupted, the exception thrown for it is rethrown, and the list
+     * holds the expenses of the segments before it.
+     *
+     * @param manifest The manifest file, which is empty if the segments have never been saved
+     * @param expenses The list to add the expenses read to
+     * @throws Exception If the manifest or a segment is corrupted, or could not be read
+     */
+    public void load(Path manifest, List<Expense> expenses) throws Exception {
+        segments = readManifest(manifest);
+        savedSegments = null;
+        generation = 0;
+        for (Segment segment : segments) {
+            generation = Math.max(generation, getGeneration(segment.fileName));
+        }
+
+        List<Callable<List<Expense>>> reads = new ArrayList<>();
+        for (Segment segment : segments) {
+            reads.add(() -> readSegment(segment));
+        }
+        for (Future<List<Expense>> read : ForkJoinPool.commonPool().invokeAll(reads)) {
+            try {
+                expenses.addAll(read.get());
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+            }
+        }
+        LOGGER.log(Level.INFO, "Loaded " + expenses.size() + " expenses from " + segments.size() + " segments");
+    }
+
+    /**
+     * Returns true if the provided manifest has never been written, as opposed to listing no segments
+     *
+     * @param manifest The manifest file
+     * @return true if the manifest is empty, else false
+     * @throws IOException If the size of the manifest could not be read
+     */
+    public static boolean isNew(Path manifest) throws IOException {
+        return !Files.exists(manifest) || Files.size(manifest) == 0;
+    }
+
+    /**
+     * Prepares the files which save the provided expenses, which are the segments that have changed followed by
+     * the new manifest. The files have to be written in the returned order, and {@link #commitSave()} called once
+     * they are all on disk, or {@link #abortSave()} if they could not be written.
+     *
+     * @param expenses The expenses to be saved, in list order
+     * @param manifest The manifest file
+     * @return The contents of the files to be written, by file
+     * @throws IOException If a segment could not be encoded
+     */
+    public Map<Path, byte[]> prepareSave(List<Expense> expenses, Path manifest) throws IOException {
+        Map<String, Segment> unchangedSegments = new HashMap<>();
+        for (Segment segment : segments) {
+            unchangedSegments.put(segment.getKey(), segment);
+        }
+
+        Map<Path, byte[]> files = new LinkedHashMap<>();
+        List<Segment> newSegments = new ArrayList<>();
+        long newGeneration = generation + 1;
+        int runStart = 0;
+        while (runStart < expenses.size()) {
+            YearMonth month = YearMonth.from(expenses.get(runStart).getDateAdded());
+            int runEnd = runStart + 1;
+            while (runEnd < expenses.size() && YearMonth.from(expenses.get(runEnd).getDateAdded()).equals(month)) {
+                runEnd++;
+            }
+            List<Expense> run = expenses.subList(runStart, runEnd);
+            byte[] data = encodeSegment(run);
+            CRC32 checksum = new CRC32();
+            checksum.update(data);
+
+            Segment segment = new Segment(month, null, run.size(), checksum.getValue());
+            Segment unchangedSegment = unchangedSegments.get(segment.getKey());
+            if (unchangedSegment != null && unchangedSegment.rowCount == run.size()) {
+                newSegments.add(unchangedSegment);
+            } else {
+                String fileName = month + "." + newGeneration + "." + newSegments.size() + getFileExtension();
+                newSegments.add(new Segment(month, fileName, run.size(), checksum.getValue()));
+                files.put(directory.resolve(fileName), data);
+            }
+            runStart = runEnd;
+        }
+
+        files.put(manifest, AtomicFileWriter.encode(writer -> {
+            writer.write(MANIFEST_HEADER);
+            for (Segment segment : newSegments) {
+                writer.write(segment.month + DIVIDER + segment.fileName + DIVIDER + segment.rowCount + DIVIDER
+                        + segment.checksum + "\n");
+            }
+        }));
+        LOGGER.log(Level.INFO, "Saving " + (files.size() - 1) + " of " + newSegments.size() + " expense segments");
+        savedSegments = newSegments;
+        generation = newGeneration;
+        return files;
+    }
+
+    /**
+     * Records that the files prepared by the last call to {@link #prepareSave(List, Path)} have been written. Does
+     * nothing if no save is waiting to be committed.
+     */
+    public void commitSave() {
+        if (savedSegments != null) {
+            segments = savedSegments;
+            savedSegments = null;
+        }
+    }
+
+    /**
+     * Discards the save prepared by the last call to {@link #prepareSave(List, Path)}, whose files could not be
+     * written, so that the segments listed by the manifest on disk are kept
+     */
+    public void abortSave() {
+        savedSegments = null;
+    }
+
+    /**
+     * Deletes the segment files which are not listed by the latest manifest, such as the files replaced by the last
+     * save, or files left behind by a save which did not complete. The manifest has to be on disk already.
+     *
+     * @throws IOException If the directory could not be listed
+     */
+    public void deleteUnlistedFiles() throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        Set<String> listedFiles = new HashSet<>();
+        for (Segment segment : segments) {
+            listedFiles.add(segment.fileName);
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                String fileName = file.getFileName().toString();
+                if (SEGMENT_FILE_NAME.matcher(fileName).matches() && fileName.endsWith(getFileExtension())
+                        && !listedFiles.contains(fileName)) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    private String getFileExtension() {
+        return isBinary ? ".bin" : ".txt";
+    }
+
+    private byte[] encodeSegment(List<Expense> run) throws IOException {
+        if (isBinary) {
+            return BinaryFormat.encodeExpenses(run);
+        }
+        return AtomicFileWriter.encode(writer -> {
+            for (Expense expense : run) {
+                writer.write(Storage.formatExpenseLine(expense));
+            }
+        });
+    }
+
+    /**
+     * Reads the expenses of a segment, after checking that its bytes match the checksum in the manifest, so that a
+     * corrupted or truncated segment is not loaded with wrong values. The expenses are parsed from the same bytes
+     * which were checked, which are only read once.
+     */
+    private List<Expense> readSegment(Segment segment) throws Exception {
+        Path file = directory.resolve(segment.fileName);
+        byte[] data = Files.readAllBytes(file);
+        CRC32 checksum = new CRC32();
+        checksum.update(data);
+        if (checksum.getValue() != segment.checksum) {
+            throw new BudgetBuddyException("Expense segment " + segment.fileName + " does not match its checksum");
+        }
+
+        List<Expense> expenses = new ArrayList<>(segment.rowCount);
+        if (isBinary) {
+            expenses = BinaryFormat.decodeExpenses(data);
+        } else if (MappedExpenseReader.isSupported()) {
+            MappedExpenseReader.readExpenses(data, expenses);
+        } else {
+            for (String line : new String(data, Charset.defaultCharset()).split("\\R")) {
+                if (!line.isEmpty()) {
+                    expenses.add(Storage.parseExpenseLine(line));
+                }
+            }
+        }
+        if (expenses.size() != segment.rowCount) {
+            throw new BudgetBuddyException("Expense segment " + segment.fileName + " does not match the manifest");
+        }
+        return expenses;
+    }
+
+    private static List<Segment> readManifest(Path manifest) throws IOException, BudgetBuddyException {
+        List<Segment> segments = new ArrayList<>();
+        for (String line : Files.readAllLines(manifest, Charset.defaultCharset())) {
+            if (line.isBlank() || line.startsWith("#")) {
+                continue;
+            }
+            String[] parts = line.split("\\|");
+            try {
+                String fileName = parts[1].trim();
+                if (!SEGMENT_FILE_NAME.matcher(fileName).matches()) {
+                    throw new BudgetBuddyException("Invalid expense segment file: " + fileName);
+                }
+                segments.add(new Segment(YearMonth.parse(parts[0].trim()), fileName,
+                        Integer.parseInt(parts[2].trim()), Long.parseLong(parts[3].trim())));
+            } catch (IndexOutOfBoundsException | DateTimeParseException | NumberFormatException e) {
+                throw new BudgetBuddyException("Invalid expense manifest line: " + line);
+            }
+        }
+        return segments;
+    }
+
+    private static long getGeneration(String fileName) {
+        String[] parts = fileName.split("\\.");
+        return Long.parseLong(parts[1]);
+    }
+}
@@ -0,0 +1,437 @@
+package seedu.budgetbuddy;
+
+import seedu.budgetbuddy.commons.DefaultCurrency;
+import seedu.budgetbuddy.commons.Expense;
+import seedu.budgetbuddy.commons.Money;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Reads the `DATE | CATEGORY | AMOUNT | DESCRIPTION` records of a text expense file directly from a memory-mapped
+ * buffer, without splitting every line into intermediate strings. Only the category and description of each
+ * expense are decoded into strings.
+ * Lines which are not in the plain format written by BudgetBuddy are decoded and passed to
+ * {@link Storage#parseExpenseLine(String)}, so that the expenses read, and the exception thrown for a corrupted
+ * line, are exactly the same as when the file is read line by line with a Scanner.
+ */
+public class MappedExpenseReader implements Closeable {
+    private static final int REGION_SIZE = 64 * 1024 * 1024;
+    private static final int MIN_CHUNK_SIZE = 1024 * 1024;
+    private static final int MAX_EXACT_DIGITS = 15;
+    private static final long[] POWERS_OF_TEN = {1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L,
+        10_000_000L, 100_000_000L, 1_000_000_000L};
+    private static final boolean IS_MAPPING_SUPPORTED = !System.getProperty("os.name", "").startsWith("Windows");
+
+    private final RandomAccessFile randomAccessFile;
+    private final FileChannel channel;
+    // The largest number of chunks a region is split into
+    private final int parallelism;
+
+    /**
+     * Opens the provided expense file for reading
+     *
+     * @param file The expense file
+     * @throws FileNotFoundException If the file does not exist
+     */
+    public MappedExpenseReader(File file) throws FileNotFoundException {
+        this(file, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Opens the provided expense file for reading, splitting large regions into at most `parallelism` chunks
+     *
+     * @param file The expense file
+     * @param parallelism The largest number of chunks parsed in parallel
+     * @throws FileNotFoundException If the file does not exist
+     */
+    MappedExpenseReader(File file, int parallelism) throws FileNotFoundException {
+        this.randomAccessFile = new RandomAccessFile(file, "r");
+        this.channel = randomAccessFile.getChannel();
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Returns true if the default charset, which a Scanner decodes the expense file with, is UTF-8. The line
+     * separators and delimiters are only found directly in the bytes of the file for UTF-8.
+     *
+     * @return true if the expense file can be read by this reader
+     */
+    public static boolean isSupported() {
+        return Charset.defaultCharset().equals(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads all expenses in the file into the provided list. If a line is corrupted, the exception thrown by
+     * {@link Storage#parseExpenseLine(String)} for that line is rethrown, and the list holds the expenses of all
+     * lines before it.
+     * Regions of the file are memory-mapped, except on Windows, where a mapped file cannot be replaced until the
+     * mapping is garbage collected, and the regions are read into memory instead.
+     *
+     * @param expenses The list to add the expenses read to
+     * @throws Exception If a line of the file is corrupted, or the file could not be read
+     */
+    public void readExpenses(List<Expense> expenses) throws Exception {
+        long size = channel.size();
+        long position = 0;
+        int maxRegionSize = REGION_SIZE;
+        while (position < size) {
+            int regionSize = (int) Math.min(maxRegionSize, size - position);
+            ByteBuffer region = readRegion(position, regionSize);
+            boolean isLastRegion = position + regionSize == size;
+            int end = isLastRegion ? regionSize : findEndOfLastLine(region, regionSize);
+            if (end == 0) {
+                // The region does not contain a whole line, so it is read again with twice the size
+                if (maxRegionSize > Integer.MAX_VALUE / 2) {
+                    throw new IOException("Line in expense file is too long to be read");
+                }
+                maxRegionSize *= 2;
+                continue;
+            }
+            readRegionLines(region, end, expenses, parallelism);
+            position += end;
+            maxRegionSize = REGION_SIZE;
+        }
+    }
+
+    /**
+     * Reads all expenses in the contents of an expense file which have already been read into memory, such as a
+     * segment whose checksum has been verified, so that the expenses are parsed from exactly those bytes. If a
+     * line is corrupted, the exception thrown for it is rethrown, and the list holds the expenses of all lines
+     * before it.
+     *
+     * @param data The contents of the expense file
+     * @param expenses The list to add the expenses read to
+     * @throws Exception If a line is corrupted
+     */
+    public static void readExpenses(byte[] data, List<Expense> expenses) throws Exception {
+        readRegionLines(ByteBuffer.wrap(data), data.length, expenses, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Reads the lines of a region. Large regions are split into at most `parallelism` chunks at line separators,
+     * which are parsed in parallel. The expenses of the chunks are added in order, and if a chunk contains a
+     * corrupted line, only the expenses before that line are added, exactly as if the region had been read
+     * sequentially.
+     */
+    private static void readRegionLines(ByteBuffer region, int end, List<Expense> expenses, int parallelism)
+            throws Exception {
+        int numberOfChunks = Math.min(parallelism, end / MIN_CHUNK_SIZE);
+        if (numberOfChunks <= 1) {
+            new LineReader().readLines(region, 0, end, expenses);
+            return;
+        }
+
+        List<Callable<Chunk>> tasks = new ArrayList<>();
+        int chunkStart = 0;
+        for (int i = 1; i <= numberOfChunks; i++) {
+            int target = (int) ((long) end * i / numberOfChunks);
+            int chunkEnd = i == numberOfChunks ? end : findNextLineStart(region, target, end);
+            tasks.add(new Chunk(region, chunkStart, chunkEnd));
+            chunkStart = chunkEnd;
+        }
+        for (Future<Chunk> result : ForkJoinPool.commonPool().invokeAll(tasks)) {
+            Chunk chunk = result.get();
+            expenses.addAll(chunk.expenses);
+            if (chunk.exception != null) {
+                throw chunk.exception;
+            }
+        }
+    }
+
+    /**
+     * Returns the index of the start of the first line which begins at or after the provided index. Chunks are only
+     * split after a `\n`, or a `\r` which is not followed by a `\n`, as these never occur inside a multi-byte
+     * character.
+     */
+    private static int findNextLineStart(ByteBuffer region, int from, int end) {
+        for (int i = Math.max(from, 1); i < end; i++) {
+            byte previous = region.get(i - 1);
+            if (previous == '\n' || (previous == '\r' && region.get(i) != '\n')) {
+                return i;
+            }
+        }
+        return end;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+        randomAccessFile.close();
+    }
+
+    private ByteBuffer readRegion(long position, int regionSize) throws IOException {
+        if (IS_MAPPING_SUPPORTED) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, position, regionSize);
+        }
+        ByteBuffer region = ByteBuffer.allocate(regionSize);
+        while (region.hasRemaining()) {
+            if (channel.read(region, position + region.position()) < 0) {
+                throw new IOException("Expense file was truncated while being read");
+            }
+        }
+        return region;
+    }
+
+    /**
+     * Returns the index just after the last line separator in the region, so that a line which continues into
+     * the next region is read together with it. A `\r` at the very end is not counted, as it may be followed by
+     * a `\n` in the next region.
+     */
+    private static int findEndOfLastLine(ByteBuffer region, int limit) {
+        for (int i = limit - 1; i >= 0; i--) {
+            if (region.get(i) == '\n' || (region.get(i) == '\r' && i < limit - 1)) {
+                return i + 1;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Returns the length of the line separator starting at the provided index, or 0 if there is none. These are
+     * the separators recognised by {@link java.util.Scanner#nextLine()}, encoded in UTF-8: `\r\n`, `\n`, `\r`,
+     * U+0085, U+2028 and U+2029.
+     */
+    private static int getSeparatorLength(ByteBuffer buffer, int index, int limit) {
+        byte current = buffer.get(index);
+        if (current == '\n') {
+            return 1;
+        }
+        if (current == '\r') {
+            return index + 1 < limit && buffer.get(index + 1) == '\n' ? 2 : 1;
+        }
+        if (current == (byte) 0xC2 && index + 1 < limit && buffer.get(index + 1) == (byte) 0x85) {
+            return 2;
+        }
+        if (current == (byte) 0xE2 && index + 2 < limit && buffer.get(index + 1) == (byte) 0x80) {
+            byte last = buffer.get(index + 2);
+            return last == (byte) 0xA8 || last == (byte) 0xA9 ? 3 : 0;
+        }
+        return 0;
+    }
+
+    private static int indexOfDivider(ByteBuffer buffer, int from, int end) {
+        for (int i = from; i < end; i++) {
+            if (buffer.get(i) == '|') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the index of the first byte which {@link String#trim()} would keep. Every character removed by
+     * trim is a single byte in UTF-8.
+     */
+    private static int trimStart(ByteBuffer buffer, int start, int end) {
+        while (start < end && (buffer.get(start) & 0xFF) <= ' ') {
+            start++;
+        }
+        return start;
+    }
+
+    private static int trimEnd(ByteBuffer buffer, int start, int end) {
+        while (end > start && (buffer.get(end - 1) & 0xFF) <= ' ') {
+            end--;
+        }
+        return end;
+    }
+
+    private static int parseDigits(ByteBuffer buffer, int start, int end) {
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            int digit = buffer.get(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    /**
+     * Parses a date in the `yyyy-MM-dd` format
+     *
+     * @return The date, or null if the date is not in that format or is not a valid date
+     */
+    private static LocalDate parseDate(ByteBuffer buffer, int start, int end) {
+        if (end - start != 10 || buffer.get(start + 4) != '-' || buffer.get(start + 7) != '-') {
+            return null;
+        }
+        int year = parseDigits(buffer, start, start + 4);
+        int month = parseDigits(buffer, start + 5, start + 7);
+        int day = parseDigits(buffer, start + 8, start + 10);
+        if (year < 0 || month < 0 || day < 0) {
+            return null;
+        }
+        try {
+            return LocalDate.of(year, month, day);
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Parses an amount made up of digits with an optional decimal point into minor units of a currency with
+     * `fractionDigits` fraction digits. The digits are accumulated into an exact integer and scaled up by an exact
+     * power of ten, which gives the same amount as {@link Money#parse(String, Currency)}.
+     *
+     * @return The amount in minor units, or -1 if the amount is not in that format, has too many digits to be
+     *         exact, or has more fraction digits than the currency
+     */
+    private static long parseAmount(ByteBuffer buffer, int start, int end, int fractionDigits) {
+        long digits = 0;
+        int numberOfDigits = 0;
+        int decimalPlaces = -1;
+        for (int i = start; i < end; i++) {
+            byte current = buffer.get(i);
+            if (current == '.' && decimalPlaces < 0) {
+                decimalPlaces = 0;
+                continue;
+            }
+            if (current < '0' || current > '9' || ++numberOfDigits > MAX_EXACT_DIGITS) {
+                return -1;
+            }
+            digits = digits * 10 + (current - '0');
+            if (decimalPlaces >= 0) {
+                decimalPlaces++;
+            }
+        }
+        decimalPlaces = Math.max(decimalPlaces, 0);
+        if (numberOfDigits == 0 || decimalPlaces > fractionDigits) {
+            return -1;
+        }
+        return digits * POWERS_OF_TEN[fractionDigits - decimalPlaces];
+    }
+
+    /**
+     * A range of whole lines of a region, which is parsed on its own. A corrupted line is recorded rather than
+     * thrown, so that the expenses before it are kept.
+     */
+    private static class Chunk implements Callable<Chunk> {
+        private final ByteBuffer region;
+        private final int start;
+        private final int end;
+        private final List<Expense> expenses = new ArrayList<>();
+        private Exception exception;
+
+        private Chunk(ByteBuffer region, int start, int end) {
+            this.region = region;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        public Chunk call() {
+            try {
+                new LineReader().readLines(region, start, end, expenses);
+            } catch (Exception e) {
+                exception = e;
+            }
+            return this;
+        }
+    }
+
+    /**
+     * Parses the lines of one chunk of a region. Each chunk which is parsed in parallel has its own LineReader, as
+     * the buffer used to decode strings is reused between lines.
+     */
+    private static class LineReader {
+        private byte[] scratch = new byte[256];
+
+        private void readLines(ByteBuffer buffer, int start, int limit, List<Expense> expenses) throws Exception {
+            int lineStart = start;
+            int index = start;
+            while (index < limit) {
+                int separatorLength = getSeparatorLength(buffer, index, limit);
+                if (separatorLength == 0) {
+                    index += 1;
+                    continue;
+                }
+                expenses.add(readLine(buffer, lineStart, index));
+                index += separatorLength;
+                lineStart = index;
+            }
+            if (lineStart < limit) {
+                expenses.add(readLine(buffer, lineStart, limit));
+            }
+        }
+
+        /**
+         * Reads a single line into an expense, using the fast path where possible
+         */
+        private Expense readLine(ByteBuffer buffer, int start, int end) throws Exception {
+            Expense expense = readPlainLine(buffer, start, end);
+            if (expense == null) {
+                expense = Storage.parseExpenseLine(decode(buffer, start, end));
+            }
+            return expense;
+        }
+
+        /**
+         * Reads a line in the plain format written by BudgetBuddy, without creating intermediate strings.
+         *
+         * @return The expense on the line, or null if the line has to be parsed by the Scanner-compatible parser
+         */
+        private Expense readPlainLine(ByteBuffer buffer, int start, int end) {
+            int firstDivider = indexOfDivider(buffer, start, end);
+            int secondDivider = firstDivider < 0 ? -1 : indexOfDivider(buffer, firstDivider + 1, end);
+            int thirdDivider = secondDivider < 0 ? -1 : indexOfDivider(buffer, secondDivider + 1, end);
+            if (thirdDivider < 0) {
+                return null;
+            }
+            int fourthDivider = indexOfDivider(buffer, thirdDivider + 1, end);
+            int descriptionEnd = fourthDivider < 0 ? end : fourthDivider;
+            if (descriptionEnd == thirdDivider + 1) {
+                // An empty description may be dropped by String.split, so the exact behaviour is left to the parser
+                return null;
+            }
+
+            int dateStart = trimStart(buffer, start, firstDivider);
+            LocalDate date = parseDate(buffer, dateStart, trimEnd(buffer, dateStart, firstDivider));
+            if (date == null) {
+                return null;
+            }
+            int amountStart = trimStart(buffer, secondDivider + 1, thirdDivider);
+            // An amount which names its currency is not in the base currency, and is left to the parser
+            Currency currency = DefaultCurrency.getBaseCurrency();
+            long amount = parseAmount(buffer, amountStart, trimEnd(buffer, amountStart, thirdDivider),
+                    Money.getFractionDigits(currency));
+            if (amount < 0) {
+                return null;
+            }
+            String category = decodeTrimmed(buffer, firstDivider + 1, secondDivider);
+            String description = decodeTrimmed(buffer, thirdDivider + 1, descriptionEnd);
+            return new Expense(date, category, amount, currency, description);
+        }
+
+        private String decodeTrimmed(ByteBuffer buffer, int start, int end) {
+            int trimmedStart = trimStart(buffer, start, end);
+            return decode(buffer, trimmedStart, trimEnd(buffer, trimmedStart, end));
+        }
+
+        private String decode(ByteBuffer buffer, int start, int end) {
+            int length = end - start;
+            if (scratch.length < length) {
+                scratch = new byte[Math.max(length, scratch.length * 2)];
+            }
+            buffer.get(start, scratch, 0, length);
+            return new String(scratch, 0, length, StandardCharsets.UTF_8);
+        }
+    }
+}
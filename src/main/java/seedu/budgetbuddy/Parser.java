@@ -7,7 +7,9 @@ import seedu.budgetbuddy.commandcreator.AddExpenseCommandCreator;
 import seedu.budgetbuddy.commandcreator.AddSavingCommandCreator;
 import seedu.budgetbuddy.commandcreator.ChangeCurrencyCommandCreator;
 import seedu.budgetbuddy.commandcreator.DeleteExpenseCommandCreator;
+import seedu.budgetbuddy.commandcreator.DeleteExpensesCommandCreator;
 import seedu.budgetbuddy.commandcreator.EditExpenseCommandCreator;
+import seedu.budgetbuddy.commandcreator.EditExpensesCommandCreator;
 import seedu.budgetbuddy.commandcreator.EditSavingsCommandCreator;
 import seedu.budgetbuddy.commandcreator.FindExpensesCommandCreator;
 import seedu.budgetbuddy.commandcreator.GetExpenseInsightsCommandCreator;
@@ -20,15 +22,15 @@ import seedu.budgetbuddy.commandcreator.ReduceSavingCommandCreator;
 import seedu.budgetbuddy.commandcreator.SetBudgetCommandCreator;
 import seedu.budgetbuddy.commandcreator.SettleSplitExpenseCommandCreator;
 import seedu.budgetbuddy.commandcreator.SplitExpenseCommandCreator;
+import seedu.budgetbuddy.commandcreator.StatsCommandCreator;
 import seedu.budgetbuddy.commandcreator.GetBudgetCommandCreator;
 import seedu.budgetbuddy.commons.SavingList;
 import seedu.budgetbuddy.commons.ExpenseList;
 import seedu.budgetbuddy.commons.RecurringExpenseLists;
 import seedu.budgetbuddy.commons.SplitExpenseList;
-import seedu.budgetbuddy.commons.CurrencyConverter;
+import seedu.budgetbuddy.commons.DefaultCurrency;
 
-import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -37,15 +39,6 @@ import java.util.logging.Logger;
 public class Parser {
 
     private static final Logger LOGGER = Logger.getLogger(Logger.GLOBAL_LOGGER_NAME);
-    protected ArrayList<String> expenseCategories;
-    protected ArrayList<String> savingsCategories;
-
-    public Parser() {
-        this.expenseCategories = new ArrayList<>(Arrays.asList("Housing",
-                "Groceries", "Utility", "Transport", "Entertainment", "Others"));
-        this.savingsCategories = new ArrayList<>(Arrays.asList("Salary",
-                "Investments", "Gifts", "Others"));
-    }
 
     public Boolean isRecCommand(String input) {
         return input.startsWith("rec ");
@@ -62,7 +55,7 @@ public class Parser {
      * @return true if user input starts with "list", else returns false
      */
     public Boolean isListCommand(String input) {
-        LOGGER.log(Level.INFO, "Checking if input is a List Command");
+        LOGGER.log(Level.FINE, "Checking if input is a List Command");
         return input.startsWith("list");
     }
 
@@ -73,7 +66,7 @@ public class Parser {
      * @return true if user input starts with "menu", else returns false
      */
     public Boolean isMenuCommand(String input) {
-        LOGGER.log(Level.INFO, "Checking if Input is a Menu Command");
+        LOGGER.log(Level.FINE, "Checking if Input is a Menu Command");
         return input.startsWith("menu");
     }
 
@@ -113,6 +106,14 @@ public class Parser {
         return input.startsWith("delete expense");
     }
 
+    public Boolean isEditExpensesCommand(String input) {
+        return input.startsWith("edit expenses where");
+    }
+
+    public Boolean isDeleteExpensesCommand(String input) {
+        return input.startsWith("delete expenses where");
+    }
+
     public Boolean isReduceSavingCommand(String input) {
         return input.startsWith("reduce savings");
     }
@@ -124,7 +125,7 @@ public class Parser {
      * @return true if user input starts with "change currency", else returns false
      */
     public Boolean isConvertCurrencyCommand(String input) {
-        LOGGER.log(Level.INFO, "Checking if input is Change Currency Command");
+        LOGGER.log(Level.FINE, "Checking if input is Change Currency Command");
         return input.startsWith("change currency");
     }
 
@@ -160,6 +161,58 @@ public class Parser {
         return input.equalsIgnoreCase("get savings insights");
     }
 
+    public Boolean isStatsCommand(String input) {
+        return input.equalsIgnoreCase("stats");
+    }
+
+    public Boolean isSyncCommand(String input) {
+        return input.equalsIgnoreCase("sync");
+    }
+
+    public Boolean isExportTextCommand(String input) {
+        return input.equalsIgnoreCase("export text");
+    }
+
+    public Boolean isImportTextCommand(String input) {
+        return input.equalsIgnoreCase("import text");
+    }
+
+    private boolean isListSavingsCommand(String input) {
+        return input.toLowerCase().startsWith("list savings");
+    }
+
+    /**
+     * Returns the data stores which the command in the provided input reads or modifies. Adding an expense, either
+     * directly or from a recurring list, or editing expenses in bulk checks them against the budgets. Changing the
+     * currency needs no store, as amounts are converted when they are read. The stats command reports on the
+     * descriptions of every store.
+     *
+     * @param input The user input string
+     * @return The data stores needed by the command
+     */
+    public EnumSet<DataStore> getRequiredStores(String input) {
+        EnumSet<DataStore> stores = EnumSet.of(DataStore.EXPENSES);
+        if (isExportTextCommand(input) || isImportTextCommand(input) || isStatsCommand(input)) {
+            return EnumSet.allOf(DataStore.class);
+        }
+        if (isAddSavingCommand(input) || isEditSavingCommand(input) || isReduceSavingCommand(input)
+                || isListSavingsCommand(input) || isGetSavingsInsightsCommand(input)) {
+            stores.add(DataStore.SAVINGS);
+        }
+        if (isSplitExpenseCommand(input) || isListSplitExpenseCommand(input) || isSettleSplitExpenseCommand(input)) {
+            stores.add(DataStore.SPLIT_EXPENSES);
+        }
+        if (isRecCommand(input)) {
+            stores.add(DataStore.RECURRING_EXPENSES);
+            stores.add(DataStore.BUDGETS);
+        }
+        if (isAddExpenseCommand(input) || isSetBudgetCommand(input) || isGetBudgetCommand(input)
+                || isListBudgetCommand(input) || isEditExpensesCommand(input)) {
+            stores.add(DataStore.BUDGETS);
+        }
+        return stores;
+    }
+
 
 
     /**
@@ -194,6 +247,12 @@ public class Parser {
         if (isDeleteExpenseCommand(input)) {
             commandCreator = new DeleteExpenseCommandCreator(expenses, input);
         }
+        if (isEditExpensesCommand(input)) {
+            commandCreator = new EditExpensesCommandCreator(input, expenses);
+        }
+        if (isDeleteExpensesCommand(input)) {
+            commandCreator = new DeleteExpensesCommandCreator(input, expenses);
+        }
         if (isReduceSavingCommand(input)) {
             commandCreator = new ReduceSavingCommandCreator(savings, input);
         }
@@ -211,7 +270,7 @@ public class Parser {
         }
         if (isConvertCurrencyCommand(input.toLowerCase())) {
             commandCreator = new ChangeCurrencyCommandCreator(input, savings, expenses, splitexpenses,
-                    expensesList, new CurrencyConverter());
+                    expensesList, DefaultCurrency.getCurrencyConverter());
         }
         if (isSplitExpenseCommand(input)) {
             commandCreator = new SplitExpenseCommandCreator(splitexpenses, input);
@@ -234,6 +293,9 @@ public class Parser {
         if (isGetSavingsInsightsCommand(input)) {
             commandCreator = new GetSavingsInsightsCommandCreator(savings);
         }
+        if (isStatsCommand(input)) {
+            commandCreator = new StatsCommandCreator();
+        }
 
         if (commandCreator == null) {
             return null;
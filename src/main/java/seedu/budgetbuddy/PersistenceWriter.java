@@ -0,0 +1,261 @@
+package seedu.budgetbuddy;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Writes data files on a dedicated thread, so that commands do not wait for the disk. The contents of a file are
+ * prepared by the caller and queued, and the writer thread collects the writes queued within a short window into a
+ * single group commit. Writes to the same file are coalesced: a file which is replaced several times is only
+ * written once with its latest contents, and appends to a file are combined into a single append.
+ * Files are committed in the order of their latest writes, and a group commit stops at the first write which
+ * fails, so that a file is never written before the files queued ahead of it, such as a manifest before the
+ * segments it lists. The write which failed and the writes after it are kept, and retried with the next group
+ * commit.
+ */
+public class PersistenceWriter {
+    public static final long DEFAULT_MAX_LATENCY_MILLIS = 50;
+
+    private static final Logger LOGGER = Logger.getLogger(Logger.GLOBAL_LOGGER_NAME);
+    private static final int QUEUE_CAPACITY = 1024;
+
+    private final BlockingQueue<Request> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final long maxLatencyNanos;
+    // Only accessed by the writer thread, in the order the files are to be committed
+    private final Map<Path, PendingWrite> pendingWrites = new LinkedHashMap<>();
+    private Thread writerThread;
+
+    /**
+     * Represents a write, or a request to wait for all writes to complete, which is queued for the writer thread
+     */
+    private static class Request {
+        private final Path file;
+        private final byte[] data;
+        private final boolean isAppend;
+        private final Durability durability;
+        private final CompletableFuture<Boolean> syncResult;
+        private final boolean isStop;
+
+        private Request(Path file, byte[] data, boolean isAppend, Durability durability,
+                        CompletableFuture<Boolean> syncResult, boolean isStop) {
+            this.file = file;
+            this.data = data;
+            this.isAppend = isAppend;
+            this.durability = durability;
+            this.syncResult = syncResult;
+            this.isStop = isStop;
+        }
+
+        private boolean isWrite() {
+            return file != null;
+        }
+    }
+
+    /**
+     * Holds the coalesced writes to a single file which have not been committed yet. If the file is to be replaced,
+     * any appends made after the replacement are written together with it.
+     */
+    private static class PendingWrite {
+        private byte[] replacement;
+        private final ByteArrayOutputStream appended = new ByteArrayOutputStream();
+        private Durability durability = Durability.NONE;
+
+        private void add(Request request) {
+            if (request.isAppend) {
+                appended.writeBytes(request.data);
+            } else {
+                replacement = request.data;
+                appended.reset();
+            }
+            if (request.durability.compareTo(durability) > 0) {
+                durability = request.durability;
+            }
+        }
+
+        private void commit(Path file) throws IOException {
+            if (replacement == null) {
+                AtomicFileWriter.append(file, durability, appended.toByteArray());
+                return;
+            }
+            ByteArrayOutputStream contents = new ByteArrayOutputStream(replacement.length + appended.size());
+            contents.writeBytes(replacement);
+            appended.writeTo(contents);
+            AtomicFileWriter.write(file, durability, contents.toByteArray());
+        }
+    }
+
+    public PersistenceWriter() {
+        this(DEFAULT_MAX_LATENCY_MILLIS);
+    }
+
+    /**
+     * Constructs a PersistenceWriter whose group commits wait at most the provided time for further writes
+     *
+     * @param maxLatencyMillis The longest time in milliseconds that a queued write waits before it is committed
+     */
+    public PersistenceWriter(long maxLatencyMillis) {
+        assert maxLatencyMillis >= 0 : "Maximum latency should not be negative";
+        this.maxLatencyNanos = TimeUnit.MILLISECONDS.toNanos(maxLatencyMillis);
+    }
+
+    /**
+     * Queues the replacement of the contents of a file. Blocks if the queue is full.
+     *
+     * @param file The file to be replaced
+     * @param durability How far the new file is forced to disk
+     * @param data The new contents of the file
+     */
+    public void submitReplace(Path file, Durability durability, byte[] data) {
+        submit(new Request(file, data, false, durability, null, false));
+    }
+
+    /**
+     * Queues data to be appended to the end of a file. Blocks if the queue is full.
+     *
+     * @param file The file to be appended to
+     * @param durability How far the appended data is forced to disk
+     * @param data The data to be appended
+     */
+    public void submitAppend(Path file, Durability durability, byte[] data) {
+        submit(new Request(file, data, true, durability, null, false));
+    }
+
+    /**
+     * Commits all queued writes, and waits until they are on disk.
+     *
+     * @return true if every queued write was committed successfully, else false
+     */
+    public boolean sync() {
+        synchronized (this) {
+            if (writerThread == null) {
+                return true;
+            }
+        }
+        CompletableFuture<Boolean> syncResult = new CompletableFuture<>();
+        submit(new Request(null, null, false, null, syncResult, false));
+        try {
+            return syncResult.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException e) {
+            LOGGER.log(Level.SEVERE, "Writer thread failed while saving", e);
+            return false;
+        }
+    }
+
+    /**
+     * Commits all queued writes, and stops the writer thread. Writes submitted afterwards are committed by a new
+     * writer thread.
+     *
+     * @return true if every queued write was committed successfully, else false
+     */
+    public synchronized boolean close() {
+        boolean isSynced = sync();
+        if (writerThread == null) {
+            return isSynced;
+        }
+        put(new Request(null, null, false, null, null, true));
+        try {
+            writerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writerThread = null;
+        return isSynced;
+    }
+
+    private void submit(Request request) {
+        synchronized (this) {
+            if (writerThread == null) {
+                writerThread = new Thread(this::runWriter, "BudgetBuddy-writer");
+                writerThread.setDaemon(true);
+                writerThread.start();
+            }
+        }
+        put(request);
+    }
+
+    private void put(Request request) {
+        try {
+            queue.put(request);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOGGER.log(Level.WARNING, "Interrupted while queueing a write");
+        }
+    }
+
+    /**
+     * Runs the writer thread. After the first request of a group commit arrives, further requests are collected
+     * until the maximum latency has passed, the queue is empty and stays empty, or a sync is requested.
+     */
+    private void runWriter() {
+        boolean isStopping = false;
+        while (!isStopping) {
+            List<CompletableFuture<Boolean>> syncResults = new ArrayList<>();
+            try {
+                Request request = queue.take();
+                long deadline = System.nanoTime() + maxLatencyNanos;
+                while (request != null) {
+                    if (request.isStop) {
+                        isStopping = true;
+                        break;
+                    }
+                    if (!request.isWrite()) {
+                        syncResults.add(request.syncResult);
+                        break;
+                    }
+                    // A file written again moves behind the files queued since, as its new contents may follow them
+                    PendingWrite pendingWrite = pendingWrites.remove(request.file);
+                    if (pendingWrite == null) {
+                        pendingWrite = new PendingWrite();
+                    }
+                    pendingWrite.add(request);
+                    pendingWrites.put(request.file, pendingWrite);
+                    long remainingNanos = deadline - System.nanoTime();
+                    request = remainingNanos > 0 ? queue.poll(remainingNanos, TimeUnit.NANOSECONDS) : null;
+                }
+            } catch (InterruptedException e) {
+                isStopping = true;
+            }
+
+            commitPendingWrites();
+            for (CompletableFuture<Boolean> syncResult : syncResults) {
+                syncResult.complete(pendingWrites.isEmpty());
+            }
+        }
+    }
+
+    private void commitPendingWrites() {
+        if (pendingWrites.isEmpty()) {
+            return;
+        }
+        LOGGER.log(Level.FINE, "Committing writes to " + pendingWrites.size() + " files");
+        Iterator<Map.Entry<Path, PendingWrite>> iterator = pendingWrites.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Path, PendingWrite> pendingWrite = iterator.next();
+            try {
+                pendingWrite.getValue().commit(pendingWrite.getKey());
+                iterator.remove();
+            } catch (IOException e) {
+                // The files after it may depend on this file, so they are only written once it has been
+                LOGGER.log(Level.SEVERE, "Could not write " + pendingWrite.getKey() + ", retrying later", e);
+                System.out.println("Error saving to file.");
+                return;
+            }
+        }
+    }
+}
@@ -4,23 +4,34 @@ import seedu.budgetbuddy.commons.Saving;
 import seedu.budgetbuddy.commons.SplitExpense;
 import seedu.budgetbuddy.commons.ExpenseList;
 import seedu.budgetbuddy.commons.Expense;
+import seedu.budgetbuddy.commons.ExpenseChange;
 import seedu.budgetbuddy.commons.RecurringExpenseLists;
 import seedu.budgetbuddy.commons.RecurringExpenseList;
 import seedu.budgetbuddy.commons.DefaultCurrency;
 import seedu.budgetbuddy.commons.Budget;
+import seedu.budgetbuddy.commons.CategoryRegistry;
+import seedu.budgetbuddy.commons.ExchangeRateTable;
+import seedu.budgetbuddy.commons.Money;
 
 import seedu.budgetbuddy.exception.BudgetBuddyException;
 import seedu.budgetbuddy.exception.InvalidRecurringExpensesFileException;
 
 import java.io.File;
 import java.io.FileNotFoundException;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Scanner;
+import java.util.SortedMap;
+import java.util.TreeMap;
 import java.util.Currency;
+import java.util.zip.CRC32;
 import java.time.LocalDate;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -30,14 +41,189 @@ public class Storage {
     private static final Logger LOGGER = Logger.getLogger(Logger.GLOBAL_LOGGER_NAME);
 
     private static final double MAX_AMOUNT = 1_000_000_000_000.00;
+    private static final int JOURNAL_COMPACTION_THRESHOLD = 500;
+    private static final String JOURNAL_HEADER_PREFIX = "# ";
+    private static final String BINARY_FILE_EXTENSION = ".bin";
+    private static final String DEFAULT_CURRENCY_PREFIX = "Default Currency: ";
+    private static final String BASE_CURRENCY_PREFIX = "Base Currency: ";
+    private static final String EXCHANGE_RATES_HEADER = "date,currency,rate";
+    // Appended to the single expense file and its journal once their expenses have been moved into segments
+    private static final String MIGRATED_FILE_SUFFIX = ".migrated";
     private final String filePath;
-
-    private ArrayList<String> expenseCategories = new ArrayList<>(Arrays.asList("Housing"
-            , "Groceries", "Utility", "Transport", "Entertainment", "Others"));
+    private final String journalPath;
+    // Null unless the expenses are stored as month segments, in which case the file is their manifest
+    private final ExpenseSegments segments;
+    private final Storage legacyExpenseStorage;
+    private boolean isFileReset;
+    private int journalRecordCount;
+    private Durability durability = Durability.FSYNC;
+    private PersistenceWriter persistenceWriter;
 
     public Storage(String filePath) {
+        this(filePath, null);
+    }
+
+    /**
+     * Constructs a Storage for the provided file, with changes to the file being appended to the provided journal
+     * file. The journal is folded back into the file once it grows past a threshold.
+     *
+     * @param filePath The path of the file
+     * @param journalPath The path of the journal file, or null if changes should not be journaled
+     */
+    public Storage(String filePath, String journalPath) {
+        this(filePath, journalPath, null, null);
+        ensureDirectoryExists();
+    }
+
+    private Storage(String filePath, String journalPath, ExpenseSegments segments, Storage legacyExpenseStorage) {
         this.filePath = filePath;
+        this.journalPath = journalPath;
+        this.segments = segments;
+        this.legacyExpenseStorage = legacyExpenseStorage;
+    }
+
+    /**
+     * Creates a Storage for a file which does not have to exist, such as a file which is only written on request.
+     * Unlike the constructors, this does not create the file, which is only created when it is saved.
+     *
+     * @param filePath The path of the file
+     * @param journalPath The path of the journal file, or null if changes should not be journaled
+     * @return The Storage for the file
+     */
+    public static Storage createOptional(String filePath, String journalPath) {
+        return new Storage(filePath, journalPath, null, null);
+    }
+
+    /**
+     * Creates a Storage which stores the expenses as month segments in the provided directory, see
+     * {@link ExpenseSegments}. The segments are listed in a manifest file, and changes are appended to a journal
+     * in the same directory, which is folded back into the segments once it grows past a threshold. If the segments
+     * have never been saved, the expenses are loaded from the provided single expense file instead, and saved as
+     * segments.
+     *
+     * @param directory The directory of the segments, ending with a separator
+     * @param isBinary true if the segments are stored in the binary snapshot format
+     * @param legacyExpenseStorage The Storage of the single expense file used before the segments
+     * @return The Storage of the segments
+     */
+    public static Storage createSegmentedExpenseStorage(String directory, boolean isBinary,
+                                                        Storage legacyExpenseStorage) {
+        String prefix = isBinary ? "Binary" : "";
+        Storage storage = new Storage(directory + prefix + "Manifest.txt", directory + prefix + "Journal.txt",
+                new ExpenseSegments(Paths.get(directory), isBinary), legacyExpenseStorage);
+        storage.ensureDirectoryExists();
+        return storage;
+    }
+
+    /**
+     * Returns true if the file of this Storage exists
+     *
+     * @return true if the file exists, else false
+     */
+    public boolean hasFile() {
+        return new File(filePath).exists();
+    }
+
+    /**
+     * Renames the file of this Storage and its journal by appending the provided suffix, once their data has been
+     * moved elsewhere, so that they are not mistaken for live data
+     *
+     * @param suffix The suffix appended to the names of the files
+     * @throws IOException If a file could not be renamed
+     */
+    private void renameFiles(String suffix) throws IOException {
+        for (String path : new String[] {filePath, journalPath}) {
+            if (path != null && new File(path).exists()) {
+                Files.move(Paths.get(path), Paths.get(path + suffix), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+    }
+
+    /**
+     * Returns true if the file was found to be corrupted and reset while it was being loaded. The data that was
+     * loaded before the corruption was detected is then no longer on disk, and has to be saved again.
+     *
+     * @return true if the file has been reset, else false
+     */
+    public boolean isFileReset() {
+        return isFileReset;
+    }
+
+    /**
+     * Sets how far the files written by this Storage are forced to disk before a save completes. Cheaper levels
+     * trade the durability of the latest saves for throughput, but files are always replaced atomically.
+     *
+     * @param durability The durability level of the saves
+     */
+    public void setDurability(Durability durability) {
+        this.durability = durability;
+    }
+
+    /**
+     * Sets the writer which writes the files of this Storage in the background. Without a writer, every save
+     * writes its file before returning.
+     *
+     * @param persistenceWriter The writer of the files, or null if files should be written synchronously
+     */
+    public void setPersistenceWriter(PersistenceWriter persistenceWriter) {
+        this.persistenceWriter = persistenceWriter;
+    }
+
+    /**
+     * Waits until all writes queued by this Storage are on disk, before the files are read back.
+     *
+     * @throws IOException If a queued write could not be committed
+     */
+    private void awaitPendingWrites() throws IOException {
+        if (persistenceWriter != null && !persistenceWriter.sync()) {
+            throw new IOException("Queued changes could not be saved");
+        }
+    }
+
+    /**
+     * Returns true if this Storage stores its data in the binary snapshot format instead of as text, which is
+     * decided by the extension of its file.
+     *
+     * @return true if the file is a binary file, else false
+     */
+    public boolean isBinaryFile() {
+        return filePath.endsWith(BINARY_FILE_EXTENSION);
+    }
+
+    private byte[] readBinaryFile() throws IOException {
+        return Files.readAllBytes(Paths.get(filePath));
+    }
+
+    private void writeBinaryFile(byte[] data) throws IOException {
         ensureDirectoryExists();
+        writeFile(Paths.get(filePath), data);
+    }
+
+    private void writeFile(Path file, byte[] data) throws IOException {
+        if (persistenceWriter != null) {
+            persistenceWriter.submitReplace(file, durability, data);
+            return;
+        }
+        AtomicFileWriter.write(file, durability, data);
+    }
+
+    private void writeTextFile(AtomicFileWriter.TextContent content) throws IOException {
+        ensureDirectoryExists();
+        if (persistenceWriter != null) {
+            persistenceWriter.submitReplace(Paths.get(filePath), durability, AtomicFileWriter.encode(content));
+            return;
+        }
+        AtomicFileWriter.write(Paths.get(filePath), durability, content);
+    }
+
+    /**
+     * Replaces the file with an empty file, after it was found to be corrupted.
+     *
+     * @throws IOException If replacing the file fails.
+     */
+    private void resetFile() throws IOException {
+        writeTextFile(writer -> { });
+        isFileReset = true;
     }
 
     private void ensureDirectoryExists() {
@@ -53,15 +239,15 @@ public class Storage {
     }
 
     /**
-     * Check if the provided amount is a valid acceptable amount. Checks if amount is 0 or negative, larger than the
-     * allowed maximum amount and if amount will be round to 0.00 at 2.dp
+     * Check if the provided amount is a valid acceptable amount. Checks if amount is 0 or negative, or larger than
+     * the allowed maximum amount. Amounts which were rounded to 0 minor units when parsed are 0.
      *
-     * @param amount The amount to be checked
-     * @throws BudgetBuddyException If amount is 0, negative, larger than allowed maximum , or is rounded to 0.00
-     *                              at 2.dp
+     * @param amount The amount to be checked, in minor units of `currency`
+     * @param currency The currency of the amount
+     * @throws BudgetBuddyException If amount is 0, negative, or larger than allowed maximum
      */
-    private void checkValidAmount(Double amount) throws BudgetBuddyException{
-        if (amount <= 0 || amount > MAX_AMOUNT || amount < 0.005) {
+    private void checkValidAmount(long amount, Currency currency) throws BudgetBuddyException{
+        if (amount <= 0 || Money.toDouble(amount, currency) > MAX_AMOUNT) {
             throw new BudgetBuddyException("Invalid Amount detected. Possible Corrupted File");
         }
     }
@@ -73,7 +259,7 @@ public class Storage {
      * @throws BudgetBuddyException If category does not match any of the expense categories exactly
      */
     private void checkValidCategory(String category) throws BudgetBuddyException {
-        if (!expenseCategories.contains(category)) {
+        if (!CategoryRegistry.EXPENSE_CATEGORIES.contains(category)) {
             throw new BudgetBuddyException("Invalid Category detected. Possible Corrupted File");
         }
     }
@@ -118,7 +304,7 @@ public class Storage {
     }
 
     /**
-     * Loads a list of expenses from a file.
+     * Loads a list of expenses from a file, and replays any changes recorded in the expense journal on top of it.
      * If an exception occurs during the loading process (e.g., if the file is corrupted),
      * the expenses list file will be reset.
      *
@@ -126,72 +312,434 @@ public class Storage {
      * @throws IOException If an error occurs when accessing the file.
      */
     public List<Expense> loadExpenses() throws IOException {
+        if (segments != null) {
+            return loadSegmentedExpenses();
+        }
+        if (isBinaryFile()) {
+            return loadBinaryExpenses();
+        }
         File file = new File(filePath);
         List<Expense> expenses = new ArrayList<>();
+        if (MappedExpenseReader.isSupported()) {
+            MappedExpenseReader reader = new MappedExpenseReader(file);
+            try {
+                reader.readExpenses(expenses);
+            } catch (Exception e) {
+                reader.close();
+                handleCorruptedExpenseFile(e);
+                return expenses;
+            }
+            reader.close();
+            replayExpenseJournal(expenses);
+            return expenses;
+        }
+
         Scanner scanner = new Scanner(file);
         try {
             while (scanner.hasNextLine()) {
-                String line = scanner.nextLine();
-                String[] parts = line.split("\\|");
-                LocalDate date = LocalDate.parse(parts[0].trim());
-                String category = parts[1].trim();
-                double amount = Double.parseDouble(parts[2].trim());
-                String description = parts[3].trim();
-                Expense expense = new Expense(date, category, amount, description);
-                expenses.add(expense);
+                expenses.add(parseExpenseLine(scanner.nextLine()));
+            }
+        } catch (Exception e) {
+            handleCorruptedExpenseFile(e);
+            return expenses;
+        } finally {
+            scanner.close();
+        }
+        replayExpenseJournal(expenses);
+        return expenses;
+    }
+
+    /**
+     * Parses a line of the text expense file, in the `DATE | CATEGORY | AMOUNT | DESCRIPTION` format
+     *
+     * @param line The line to be parsed
+     * @return The {@link Expense} stored on the line
+     */
+    static Expense parseExpenseLine(String line) {
+        String[] parts = line.split("\\|");
+        LocalDate date = LocalDate.parse(parts[0].trim());
+        String category = parts[1].trim();
+        Currency currency = parseCurrency(parts[2]);
+        long amount = parseAmount(parts[2], currency);
+        String description = parts[3].trim();
+        return new Expense(date, category, amount, currency, description);
+    }
+
+    /**
+     * Formats an expense as a line of the text expense file, in the `DATE | CATEGORY | AMOUNT | DESCRIPTION` format
+     *
+     * @param expense The expense to be formatted
+     * @return The line, terminated by a newline
+     */
+    static String formatExpenseLine(Expense expense) {
+        return expense.getDateAdded() + " | " + expense.getCategory() + " | "
+                + formatAmount(expense.getAmountInMinorUnits(), expense.getCurrency()) + " | "
+                + expense.getDescription() + "\n";
+    }
+
+    /**
+     * Returns the currency of an amount field, which names its currency after the amount, such as `1250 JPY`,
+     * unless the amount is in the base currency
+     *
+     * @param field The amount field
+     * @return The currency of the amount
+     * @throws IllegalArgumentException If the currency is not a valid currency with exchange rates
+     */
+    static Currency parseCurrency(String field) {
+        String trimmedField = field.trim();
+        int separator = trimmedField.lastIndexOf(' ');
+        if (separator < 0) {
+            return DefaultCurrency.getBaseCurrency();
+        }
+        Currency currency = Currency.getInstance(trimmedField.substring(separator + 1));
+        if (!DefaultCurrency.isSupported(currency)) {
+            throw new IllegalArgumentException("Exchange rates not available for " + currency);
+        }
+        return currency;
+    }
+
+    /**
+     * Parses the amount of an amount field into minor units of its currency, ignoring the currency it names
+     *
+     * @param field The amount field
+     * @param currency The currency of the amount, see {@link #parseCurrency(String)}
+     * @return The amount in minor units of `currency`
+     */
+    static long parseAmount(String field, Currency currency) {
+        String trimmedField = field.trim();
+        int separator = trimmedField.lastIndexOf(' ');
+        return Money.parse(separator < 0 ? trimmedField : trimmedField.substring(0, separator).trim(), currency);
+    }
+
+    /**
+     * Formats an amount as an amount field, which names its currency unless it is in the base currency, so that
+     * files saved in a single currency keep the format they had before amounts kept their own currency
+     *
+     * @param amount The amount in minor units of `currency`
+     * @param currency The currency of the amount
+     * @return The amount field
+     */
+    static String formatAmount(long amount, Currency currency) {
+        String formattedAmount = Money.format(amount, currency);
+        if (currency.equals(DefaultCurrency.getBaseCurrency())) {
+            return formattedAmount;
+        }
+        return formattedAmount + " " + currency.getCurrencyCode();
+    }
+
+    /**
+     * Loads the expenses from their month segments, and replays any changes recorded in the expense journal on top
+     * of them. If the segments have never been saved, the expenses in the single expense file are loaded and saved
+     * as segments instead, and the single expense file and its journal are renamed once the segments are on disk,
+     * so that they are not mistaken for the live expenses. If the manifest or a segment is corrupted, the segments are reset. Segment files which
+     * are not listed by the manifest are deleted, as no save is in progress while the expenses are loaded.
+     *
+     * @return A list of {@link Expense} objects loaded from the segments.
+     * @throws IOException If an error occurs when accessing the files.
+     */
+    private List<Expense> loadSegmentedExpenses() throws IOException {
+        Path manifest = Paths.get(filePath);
+        if (legacyExpenseStorage != null && legacyExpenseStorage.hasFile() && ExpenseSegments.isNew(manifest)) {
+            List<Expense> legacyExpenses = legacyExpenseStorage.loadExpenses();
+            if (!legacyExpenses.isEmpty()) {
+                LOGGER.log(Level.INFO, "Moving " + legacyExpenses.size() + " expenses into month segments");
+                saveExpenses(legacyExpenses);
+                awaitPendingWrites();
+                legacyExpenseStorage.renameFiles(MIGRATED_FILE_SUFFIX);
+                return legacyExpenses;
             }
+        }
+
+        List<Expense> expenses = new ArrayList<>();
+        try {
+            segments.load(manifest, expenses);
         } catch (Exception e) {
+            handleCorruptedExpenseFile(e);
+            return expenses;
+        }
+        segments.deleteUnlistedFiles();
+        replayExpenseJournal(expenses);
+        return expenses;
+    }
+
+    /**
+     * Saves the expenses as month segments, only writing the segments which have changed since the last save
+     *
+     * @param expenses A list of {@link Expense} objects to save.
+     * @throws IOException If an error occurs during writing to the files.
+     */
+    private void saveSegmentedExpenses(List<Expense> expenses) throws IOException {
+        // The last save is only committed once its files are on disk, and the segments it replaced can only be
+        // deleted then, as they are listed by the manifest on disk until its manifest is written
+        awaitPendingWrites();
+        segments.commitSave();
+        segments.deleteUnlistedFiles();
+        try {
+            for (Map.Entry<Path, byte[]> file : segments.prepareSave(expenses, Paths.get(filePath)).entrySet()) {
+                writeFile(file.getKey(), file.getValue());
+            }
+        } catch (IOException e) {
+            segments.abortSave();
+            throw e;
+        }
+        if (persistenceWriter == null) {
+            segments.commitSave();
+        }
+    }
+
+    private void handleCorruptedExpenseFile(Exception e) throws IOException {
+        LOGGER.log(Level.INFO, "Exception successfully caught. Error has been handled");
+        System.out.println(e.getMessage());
+        System.out.println("Your Expenses File is corrupted, resetting the file....");
+        resetExpenseListFile();
+    }
+
+    /**
+     * Loads a list of expenses from a binary file, and replays any changes recorded in the expense journal on top
+     * of it. If the file is corrupted, the expenses list file will be reset.
+     *
+     * @return A list of {@link Expense} objects loaded from the file.
+     * @throws IOException If an error occurs when accessing the file.
+     */
+    private List<Expense> loadBinaryExpenses() throws IOException {
+        List<Expense> expenses = new ArrayList<>();
+        try {
+            byte[] data = readBinaryFile();
+            if (!BinaryFormat.isEmpty(data)) {
+                expenses = BinaryFormat.decodeExpenses(data);
+            }
+        } catch (BudgetBuddyException | RuntimeException e) {
             LOGGER.log(Level.INFO, "Exception successfully caught. Error has been handled");
             System.out.println(e.getMessage());
             System.out.println("Your Expenses File is corrupted, resetting the file....");
             resetExpenseListFile();
             return expenses;
-        } finally {
-            scanner.close();
         }
+        replayExpenseJournal(expenses);
         return expenses;
     }
 
     /**
-     * Saves a list of expenses to a file.
-     * If an IOException occurs, the expenses list file will be reset.
+     * Computes the checksum of the current contents of the file. The expense journal records the checksum of the
+     * expense file it was started on, so that a journal which has already been folded into the file is not
+     * replayed a second time.
+     *
+     * @return The CRC32 checksum of the file
+     * @throws IOException If an error occurs when reading the file
+     */
+    private long computeFileChecksum() throws IOException {
+        CRC32 checksum = new CRC32();
+        checksum.update(Files.readAllBytes(Paths.get(filePath)));
+        return checksum.getValue();
+    }
+
+    /**
+     * Applies the changes recorded in the expense journal to the provided expenses, in the order they were
+     * recorded. A journal which was started on a different version of the expense file is discarded. If a record
+     * in the journal is incomplete or invalid, for example after a crash while it was being written, replaying stops
+     * at that record and the replayed expenses are saved into a fresh expense file.
+     *
+     * @param expenses The expenses loaded from the expense file
+     * @throws IOException If an error occurs when accessing the files
+     */
+    private void replayExpenseJournal(List<Expense> expenses) throws IOException {
+        journalRecordCount = 0;
+        if (journalPath == null || !new File(journalPath).exists()) {
+            return;
+        }
+
+        List<String> lines = Files.readAllLines(Paths.get(journalPath));
+        if (lines.isEmpty()) {
+            return;
+        }
+
+        String expectedHeader = JOURNAL_HEADER_PREFIX + computeFileChecksum();
+        if (!lines.get(0).equals(expectedHeader)) {
+            LOGGER.log(Level.INFO, "Expense journal does not match the expense file, discarding the journal");
+            resetExpenseJournal();
+            return;
+        }
+
+        for (int i = 1; i < lines.size(); i++) {
+            try {
+                applyExpenseJournalRecord(expenses, lines.get(i));
+                journalRecordCount += 1;
+            } catch (Exception e) {
+                LOGGER.log(Level.WARNING, "Invalid expense journal record detected, compacting the journal", e);
+                saveExpenses(expenses);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Parses a single record of the expense journal and applies it to the provided expenses
+     *
+     * @param expenses The expenses to apply the record to
+     * @param line The journal record to apply
+     * @throws BudgetBuddyException If the record is not a valid journal record
+     */
+    private void applyExpenseJournalRecord(List<Expense> expenses, String line) throws BudgetBuddyException {
+        String[] parts = line.split("\\|");
+        ExpenseChange.Type type = ExpenseChange.Type.valueOf(parts[0].trim());
+
+        switch (type) {
+        case ADD:
+            LocalDate date = LocalDate.parse(parts[1].trim());
+            String category = parts[2].trim();
+            Currency currency = parseCurrency(parts[3]);
+            long amount = parseAmount(parts[3], currency);
+            String description = parts[4].trim();
+            expenses.add(new Expense(date, category, amount, currency, description));
+            break;
+        case EDIT:
+            Expense expenseToEdit = expenses.get(Integer.parseInt(parts[1].trim()));
+            expenseToEdit.setCategory(parts[2].trim());
+            Currency editedCurrency = parseCurrency(parts[3]);
+            expenseToEdit.setAmount(parseAmount(parts[3], editedCurrency), editedCurrency);
+            expenseToEdit.setDescription(parts[4].trim());
+            break;
+        case DELETE:
+            expenses.remove(Integer.parseInt(parts[1].trim()));
+            break;
+        default:
+            throw new BudgetBuddyException("Invalid expense journal record");
+        }
+    }
+
+    /**
+     * Formats a change as a single record of the expense journal
+     *
+     * @param change The change to format
+     * @return The journal record, terminated by a newline
+     */
+    private String formatExpenseJournalRecord(ExpenseChange change) {
+        switch (change.getType()) {
+        case ADD:
+            return change.getType() + " | " + change.getDateAdded() + " | " + change.getCategory() + " | "
+                    + formatAmount(change.getAmountInMinorUnits(), change.getCurrency()) + " | "
+                    + change.getDescription() + "\n";
+        case EDIT:
+            return change.getType() + " | " + change.getIndex() + " | " + change.getCategory() + " | "
+                    + formatAmount(change.getAmountInMinorUnits(), change.getCurrency()) + " | "
+                    + change.getDescription() + "\n";
+        default:
+            return String.format("%s | %d\n", change.getType(), change.getIndex());
+        }
+    }
+
+    /**
+     * Appends the provided changes to the expense journal, so that the cost of saving a change does not depend on
+     * the number of expenses. Once the journal holds more than a threshold number of records, it is compacted
+     * back into the expense file.
+     *
+     * @param changes The changes to append, in the order they were made
+     * @throws IOException If an error occurs when writing to the journal
+     */
+    public void appendExpenseJournal(List<ExpenseChange> changes) throws IOException {
+        assert journalPath != null : "Storage was not created with an expense journal";
+
+        File journal = new File(journalPath);
+        String header = "";
+        if (journalRecordCount == 0) {
+            // The header records the expense file on disk, so the file has to be written before it is checked
+            awaitPendingWrites();
+            if (!journal.exists() || journal.length() == 0) {
+                header = JOURNAL_HEADER_PREFIX + computeFileChecksum() + "\n";
+            }
+        }
+
+        String journalHeader = header;
+        AtomicFileWriter.TextContent records = writer -> {
+            writer.write(journalHeader);
+            for (ExpenseChange change : changes) {
+                writer.write(formatExpenseJournalRecord(change));
+            }
+        };
+        if (persistenceWriter != null) {
+            persistenceWriter.submitAppend(journal.toPath(), durability, AtomicFileWriter.encode(records));
+        } else {
+            AtomicFileWriter.append(journal.toPath(), durability, records);
+        }
+        journalRecordCount += changes.size();
+
+        if (journalRecordCount >= JOURNAL_COMPACTION_THRESHOLD) {
+            compactExpenseJournal();
+        }
+    }
+
+    /**
+     * Folds the expense journal back into the expense file, by replaying the journal on top of the file and
+     * writing the result out as the new expense file.
+     *
+     * @throws IOException If an error occurs when accessing the files
+     */
+    public void compactExpenseJournal() throws IOException {
+        LOGGER.log(Level.INFO, "Compacting expense journal with " + journalRecordCount + " records");
+        awaitPendingWrites();
+        saveExpenses(loadExpenses());
+    }
+
+    /**
+     * Empties the expense journal, after its changes have been written into the expense file.
+     *
+     * @throws IOException If an error occurs when writing to the journal
+     */
+    private void resetExpenseJournal() throws IOException {
+        journalRecordCount = 0;
+        if (journalPath == null) {
+            return;
+        }
+        if (persistenceWriter != null) {
+            persistenceWriter.submitReplace(Paths.get(journalPath), durability, new byte[0]);
+            return;
+        }
+        AtomicFileWriter.write(Paths.get(journalPath), durability, writer -> { });
+    }
+
+    /**
+     * Saves a list of expenses to a file, or to the month segments of a segmented Storage, and empties the expense
+     * journal as its changes are now in the file. The file, or the manifest of the segments, is replaced atomically,
+     * so if an IOException occurs, the previous expense file and journal are kept.
      *
      * @param expenses A list of {@link Expense} objects to save to the file.
      * @throws IOException If an error occurs during writing to the file.
      */
     public void saveExpenses(List<Expense> expenses) throws IOException {
-        ensureDirectoryExists(); // Ensure directory and file exist before writing
-        FileWriter writer = null;
         try {
-            writer = new FileWriter(filePath, false);
-            for (Expense expense : expenses) {
-                writer.write(String.format("%s | %s | %.2f | %s\n",
-                        expense.getDateAdded(), expense.getCategory(), expense.getAmount(), expense.getDescription()));
+            if (segments != null) {
+                saveSegmentedExpenses(expenses);
+            } else if (isBinaryFile()) {
+                writeBinaryFile(BinaryFormat.encodeExpenses(expenses));
+            } else {
+                writeTextFile(writer -> {
+                    for (Expense expense : expenses) {
+                        writer.write(formatExpenseLine(expense));
+                    }
+                });
             }
         } catch (IOException e) {
             LOGGER.log(Level.SEVERE, "IOException occurred while saving expenses. " +
-                    "Resetting expense list file.", e);
-            resetExpenseListFile(); // Reset the expense list file if an exception occurs
+                    "The previous expense list file has been kept.", e);
             throw e; // Re-throw the exception to indicate that saving was not successful
-        } finally {
-            if (writer != null) {
-                writer.close();
-            }
         }
+        resetExpenseJournal();
     }
 
     /**
-     * Resets the expense list file. If the file exists, it is deleted and a new empty file is created.
+     * Resets the expense list file to an empty file, or the month segments to an empty manifest.
+     * The expense journal is emptied as well, since it can no longer be replayed on the new file.
      *
-     * @throws IOException If deleting the existing file or creating a new file fails.
+     * @throws IOException If replacing the file fails.
      */
     public void resetExpenseListFile() throws IOException {
-        File file = new File(filePath);
-        file.delete();
-        file.createNewFile();
-        FileWriter writer = new FileWriter(filePath, false);
-        writer.write("");
-        writer.close();
+        if (segments != null) {
+            saveSegmentedExpenses(new ArrayList<>());
+        } else {
+            writeTextFile(writer -> { });
+        }
+        isFileReset = true;
+        resetExpenseJournal();
     }
 
     /**
@@ -204,6 +752,18 @@ public class Storage {
      */
     public List<Saving> loadSavings() throws IOException {
         List<Saving> savings = new ArrayList<>();
+        if (isBinaryFile()) {
+            try {
+                byte[] data = readBinaryFile();
+                return BinaryFormat.isEmpty(data) ? savings : BinaryFormat.decodeSavings(data);
+            } catch (BudgetBuddyException | RuntimeException e) {
+                LOGGER.log(Level.INFO, "Exception caught while loading savings. Resetting savings list file.", e);
+                System.out.println(e.getMessage());
+                System.out.println("Your Savings File is corrupted, resetting the file....");
+                resetSavingsListFile();
+                return savings;
+            }
+        }
         File file = new File(filePath);
         Scanner scanner = new Scanner(file);
         try {
@@ -211,8 +771,9 @@ public class Storage {
                 String line = scanner.nextLine();
                 String[] parts = line.split("\\|");
                 String category = parts[0].trim();
-                double amount = Double.parseDouble(parts[1].trim());
-                Saving saving = new Saving(category, amount);
+                Currency currency = parseCurrency(parts[1]);
+                long amount = parseAmount(parts[1], currency);
+                Saving saving = new Saving(category, amount, currency);
                 savings.add(saving);
             }
         } catch (Exception e) {
@@ -229,62 +790,52 @@ public class Storage {
 
     /**
      * Saves the list of savings to the specified file.
-     * If an IOException occurs, the savings list file will be reset.
+     * The file is replaced atomically, so if an IOException occurs, the previous savings list file is kept.
      *
      * @param savings A list of {@link Saving} objects that represent the savings to save to the file.
      * @throws IOException If an IOException occurs during file writing, indicating the savings could not be saved.
      */
     public void saveSavings(List<Saving> savings) throws IOException {
-        ensureDirectoryExists(); // Ensure directory and file exist before writing
-        FileWriter writer = null;
         try  {
-            writer = new FileWriter(filePath, false);
-            for (Saving saving : savings) {
-                writer.write(String.format("%s | %.2f\n",
-                        saving.getCategory(), saving.getAmount()));
+            if (isBinaryFile()) {
+                writeBinaryFile(BinaryFormat.encodeSavings(savings));
+                return;
             }
+            writeTextFile(writer -> {
+                for (Saving saving : savings) {
+                    writer.write(saving.getCategory() + " | "
+                            + formatAmount(saving.getAmountInMinorUnits(), saving.getCurrency()) + "\n");
+                }
+            });
         } catch (IOException e) {
-            LOGGER.log(Level.SEVERE, "IOException occurred while saving savings. Resetting savings list file.", e);
-            resetSavingsListFile();
+            LOGGER.log(Level.SEVERE, "IOException occurred while saving savings. " +
+                    "The previous savings list file has been kept.", e);
             throw e;
-        } finally {
-            if (writer != null) {
-                writer.close();
-            }
         }
     }
 
     /**
-     * Resets the savings list file. If the file exists, it is deleted, and a new empty file is created.
-     * This method is typically called when the file is found to be corrupted or
-     * when an issue arises during file operations.
+     * Resets the savings list file to an empty file.
+     * This method is typically called when the file is found to be corrupted.
      *
      * @throws IOException If there is an issue with file access that prevents the method
-     *                     from deleting or creating the file.
+     *                     from replacing the file.
      */
     public void resetSavingsListFile() throws IOException {
-        File file = new File(filePath);
-        file.delete();
-        file.createNewFile();
-        FileWriter writer = new FileWriter(filePath, false);
-        writer.write("");
-        writer.close();
+        writeTextFile(writer -> { });
+        isFileReset = true;
     }
 
     // @@author itsmejr257
     /**
-     * Deletes the existing recurring expenses file and create a new, empty file.
+     * Replaces the existing recurring expenses file with a new, empty file.
      * This method is used to reset the recurring expenses file when it has been detected to be corrupted
      *
-     * @throws IOException If there is an error deleting the old file or creating the new file
+     * @throws IOException If there is an error replacing the file
      */
     public void resetRecurringExpensesListFile() throws IOException {
-        File file = new File(filePath);
-        file.delete();
-        file.createNewFile();
-        FileWriter writer = new FileWriter(filePath, false);
-        writer.write("");
-        writer.close();
+        writeTextFile(writer -> { });
+        isFileReset = true;
     }
 
     /**
@@ -327,13 +878,14 @@ public class Storage {
             String category = parts[2].trim();
             checkValidCategory(category);
 
-            double amount = Double.parseDouble(parts[3].trim());
-            checkValidAmount(amount);
+            Currency currency = parseCurrency(parts[3]);
+            long amount = parseAmount(parts[3], currency);
+            checkValidAmount(amount, currency);
 
             String description = parts[4].trim();
             checkValidDescription(description);
 
-            Expense expense = new Expense(dateAdded, category, amount, description);
+            Expense expense = new Expense(dateAdded, category, amount, currency, description);
 
             int listNumberAsArrayIndex = listNumber - 1;
             ExpenseList expenses = recurringExpenses.get(listNumberAsArrayIndex);
@@ -353,6 +905,13 @@ public class Storage {
         ArrayList<ExpenseList> recurringExpenses = new ArrayList<>();
 
         try {
+            if (isBinaryFile()) {
+                byte[] data = readBinaryFile();
+                return BinaryFormat.isEmpty(data)
+                        ? new RecurringExpenseLists()
+                        : BinaryFormat.decodeRecurringExpenses(data);
+            }
+
             Scanner scanner = new Scanner(file);
 
             while (scanner.hasNextLine()) {
@@ -382,40 +941,40 @@ public class Storage {
      *
      * @param recurringExpenseLists The RecurringExpenseLists object containing all expense lists and expenses to be
      *                              saved
-     * @throws InvalidRecurringExpensesFileException If the saving of the file was not successful
+     * @throws InvalidRecurringExpensesFileException If the saving of the file was not successful, in which case
+     *                                               the previous file is kept
      * @throws IOException If an error occurs when validating whether the RecurringExpensesFile.txt exists
      */
     public void saveRecurringExpenses(RecurringExpenseLists recurringExpenseLists)
             throws InvalidRecurringExpensesFileException, IOException {
 
-        ensureDirectoryExists();
-
         try {
-            FileWriter writer = new FileWriter(filePath, false);
-            int numberOfRecurringExpenseList = recurringExpenseLists.getSize();
-
-            for (int i = 0; i < numberOfRecurringExpenseList; i++) {
-                int listNumber = i + 1;
-                ExpenseList expenseList = recurringExpenseLists.getExpenseListAtListNumber(listNumber);
-                ArrayList<Expense> expenses = expenseList.getExpenses();
-                String listName = expenseList.getName();
-
-                writer.write(String.format("!!! %s !!!\n", listName));
-
-                for (Expense expense : expenses) {
-                    writer.write(String.format("%d | %s | %s | %.2f | %s\n"
-                            , listNumber
-                            , expense.getDateAdded(), expense.getCategory()
-                            , expense.getAmount(), expense.getDescription()));
-                }
-
+            if (isBinaryFile()) {
+                writeBinaryFile(BinaryFormat.encodeRecurringExpenses(recurringExpenseLists));
+                return;
             }
-            writer.close();
+            writeTextFile(writer -> {
+                int numberOfRecurringExpenseList = recurringExpenseLists.getSize();
+
+                for (int i = 0; i < numberOfRecurringExpenseList; i++) {
+                    int listNumber = i + 1;
+                    ExpenseList expenseList = recurringExpenseLists.getExpenseListAtListNumber(listNumber);
+                    ArrayList<Expense> expenses = expenseList.getExpenses();
+                    String listName = expenseList.getName();
+
+                    writer.write(String.format("!!! %s !!!\n", listName));
+
+                    for (Expense expense : expenses) {
+                        writer.write(listNumber + " | " + expense.getDateAdded() + " | " + expense.getCategory()
+                                + " | " + formatAmount(expense.getAmountInMinorUnits(), expense.getCurrency())
+                                + " | " + expense.getDescription() + "\n");
+                    }
+                }
+            });
 
         } catch (IOException e) {
-            resetRecurringExpensesListFile();
-            throw new InvalidRecurringExpensesFileException("The RecurringExpensesFile seems to not be valid" +
-                    ", file has been reinitialized. Run a command to save your recurringexpenses");
+            throw new InvalidRecurringExpensesFileException("The RecurringExpensesFile could not be saved" +
+                    ", the previous file has been kept. Run a command to save your recurringexpenses");
         }
 
     }
@@ -423,7 +982,8 @@ public class Storage {
 
 
     /**
-     * Saves the default currency to the specified file path.
+     * Saves the default currency to the specified file path, along with the base currency, which is the currency
+     * of the stored amounts which do not name their currency.
      *
      * @author sweijie24
      * @throws IOException if an I/O error occurs while writing to the file
@@ -431,14 +991,11 @@ public class Storage {
     public void saveCurrency() throws IOException {
         assert filePath != null : "File path should not be null";
 
-        ensureDirectoryExists();
-
-        FileWriter writer = new FileWriter(filePath, false);
-
         try {
             Currency currentCurrency = DefaultCurrency.getDefaultCurrency();
-            writer.write("Default Currency: " + currentCurrency);
-            writer.close();
+            Currency baseCurrency = DefaultCurrency.getBaseCurrency();
+            writeTextFile(writer -> writer.write(DEFAULT_CURRENCY_PREFIX + currentCurrency + "\n"
+                    + BASE_CURRENCY_PREFIX + baseCurrency + "\n"));
 
         } catch (Exception e) {
             LOGGER.log(Level.SEVERE, "Problem saving currency code", e);
@@ -451,19 +1008,32 @@ public class Storage {
      *
      * @return A list of {@link SplitExpense} objects loaded from the file.
      * @throws FileNotFoundException If the file does not exist.
+     * @throws IOException If an error occurs when accessing the file.
      */
-    public List<SplitExpense> loadSplitExpenses() throws FileNotFoundException {
+    public List<SplitExpense> loadSplitExpenses() throws IOException {
         File file = new File(filePath);
         List<SplitExpense> splitExpenses = new ArrayList<>();
+        if (isBinaryFile()) {
+            try {
+                byte[] data = readBinaryFile();
+                return BinaryFormat.isEmpty(data) ? splitExpenses : BinaryFormat.decodeSplitExpenses(data);
+            } catch (BudgetBuddyException | RuntimeException e) {
+                System.out.println(e.getMessage());
+                System.out.println("Your Split Expenses File is corrupted, resetting the file....");
+                resetFile();
+                return splitExpenses;
+            }
+        }
         Scanner scanner = new Scanner(file);
         while (scanner.hasNextLine()) {
             String line = scanner.nextLine();
             String[] parts = line.split("\\|");
             LocalDate date = LocalDate.parse(parts[0].trim());
-            double amount = Double.parseDouble(parts[1].trim());
+            Currency currency = parseCurrency(parts[1]);
+            long amount = parseAmount(parts[1], currency);
             int numberOfPeople = Integer.parseInt(parts[2].trim());
             String description = parts[3].trim();
-            SplitExpense splitExpense = new SplitExpense(date, amount, numberOfPeople, description);
+            SplitExpense splitExpense = new SplitExpense(date, amount, currency, numberOfPeople, description);
             splitExpenses.add(splitExpense);
         }
         scanner.close();
@@ -479,30 +1049,44 @@ public class Storage {
      * @throws IOException If an error occurs during writing to the file.
      */
     public void saveSplitExpenses(List<SplitExpense> splitExpenses) throws IOException {
-        ensureDirectoryExists();
-    
-        FileWriter writer = new FileWriter(filePath, false); // Overwrite the file
-        for (SplitExpense splitExpense : splitExpenses) {
-            writer.write(String.format("%s | %.2f | %d | %s\n",
-                splitExpense.getDateAdded().toString(),
-                splitExpense.getAmount(),
-                splitExpense.getNumberOfPeople(),
-                splitExpense.getDescription()));
+        if (isBinaryFile()) {
+            writeBinaryFile(BinaryFormat.encodeSplitExpenses(splitExpenses));
+            return;
         }
-        writer.close();
+    
+        writeTextFile(writer -> { // Replaces the file
+            for (SplitExpense splitExpense : splitExpenses) {
+                writer.write(splitExpense.getDateAdded() + " | "
+                    + formatAmount(splitExpense.getAmountInMinorUnits(), splitExpense.getCurrency()) + " | "
+                    + splitExpense.getNumberOfPeople() + " | "
+                    + splitExpense.getDescription() + "\n");
+            }
+        });
     }
 
-    public List<Budget> loadBudgets() throws FileNotFoundException {
+    public List<Budget> loadBudgets() throws IOException {
+        List<Budget> loadedBudgets = new ArrayList<>();
+        if (isBinaryFile()) {
+            try {
+                byte[] data = readBinaryFile();
+                return BinaryFormat.isEmpty(data) ? loadedBudgets : BinaryFormat.decodeBudgets(data);
+            } catch (BudgetBuddyException | RuntimeException e) {
+                System.out.println(e.getMessage());
+                System.out.println("Your Budget File is corrupted, resetting the file....");
+                resetFile();
+                return loadedBudgets;
+            }
+        }
         File file = new File(filePath);
         Scanner scanner = new Scanner(file);
-        List<Budget> loadedBudgets = new ArrayList<>();
 
         while (scanner.hasNextLine()) {
             String line = scanner.nextLine();
             String[] parts = line.split("\\|");
             String category = parts[0].trim();
-            double budgetAmount = Double.parseDouble(parts[1].trim());
-            Budget budget = new Budget(category, budgetAmount);
+            Currency currency = parseCurrency(parts[1]);
+            long budgetAmount = parseAmount(parts[1], currency);
+            Budget budget = new Budget(category, budgetAmount, currency);
             loadedBudgets.add(budget);
         }
 
@@ -511,18 +1095,22 @@ public class Storage {
     }
 
     public void saveBudgets(List<Budget> budgets) throws IOException {
-        FileWriter writer = new FileWriter(filePath);
-
-        for (Budget budget : budgets) {
-            writer.write(String.format("%s|%.2f\n", budget.getCategory(), budget.getBudget()));
+        if (isBinaryFile()) {
+            writeBinaryFile(BinaryFormat.encodeBudgets(budgets));
+            return;
         }
-
-        writer.flush();
-        writer.close();
+        writeTextFile(writer -> {
+            for (Budget budget : budgets) {
+                writer.write(budget.getCategory() + "|"
+                        + formatAmount(budget.getBudgetInMinorUnits(), budget.getCurrency()) + "\n");
+            }
+        });
     }
 
     /**
      * Loads currency data from the specified file path and sets the default currency accordingly.
+     * Files saved before the base currency was saved hold every amount in the default currency, which is then
+     * also the base currency.
      *
      * @author sweijie24
      * @throws FileNotFoundException if the specified file path does not exist
@@ -536,6 +1124,7 @@ public class Storage {
         assert file.isFile() : "Currency file is not a regular file";
 
         Scanner scanner = new Scanner(file);
+        Currency baseCurrency = null;
         while (scanner.hasNextLine()) {
             String line = scanner.nextLine();
             assert line != null : "Line should not be null";
@@ -548,8 +1137,57 @@ public class Storage {
 
             Currency currency = Currency.getInstance(currencyCode);
 
-            DefaultCurrency.setDefaultCurrency(currency);
+            if (line.startsWith(BASE_CURRENCY_PREFIX)) {
+                baseCurrency = currency;
+            } else {
+                DefaultCurrency.setDefaultCurrency(currency);
+            }
         }
         scanner.close();
+        DefaultCurrency.setBaseCurrency(baseCurrency == null ? DefaultCurrency.getDefaultCurrency() : baseCurrency);
+    }
+
+    /**
+     * Loads the dated exchange rates from the specified file path. Each line holds the date the rate takes effect
+     * on, a currency code and the amount of the currency worth 1 SGD, in the `DATE,CURRENCY,RATE` format. Blank
+     * lines, lines starting with `#` and a `date,currency,rate` header are ignored.
+     *
+     * @return The exchange rates, which only hold the built-in rates if the file does not exist
+     * @throws BudgetBuddyException If the file cannot be read or a line is not a valid exchange rate
+     */
+    public ExchangeRateTable loadExchangeRates() throws BudgetBuddyException {
+        File file = new File(filePath);
+        if (!file.exists()) {
+            return new ExchangeRateTable();
+        }
+        SortedMap<LocalDate, Map<Currency, Double>> ratesByDate = new TreeMap<>();
+        int lineNumber = 0;
+        try (Scanner scanner = new Scanner(file)) {
+            while (scanner.hasNextLine()) {
+                String line = scanner.nextLine().trim();
+                lineNumber++;
+                if (line.isEmpty() || line.startsWith("#") || line.equalsIgnoreCase(EXCHANGE_RATES_HEADER)) {
+                    continue;
+                }
+                String[] parts = line.split(",");
+                if (parts.length != 3) {
+                    throw new IllegalArgumentException("Expected DATE,CURRENCY,RATE");
+                }
+                LocalDate date = LocalDate.parse(parts[0].trim());
+                Currency currency = Currency.getInstance(parts[1].trim().toUpperCase());
+                double rate = Double.parseDouble(parts[2].trim());
+                if (!(rate > 0) || Double.isInfinite(rate)) {
+                    throw new IllegalArgumentException("Exchange rates must be positive numbers");
+                }
+                ratesByDate.computeIfAbsent(date, key -> new LinkedHashMap<>()).put(currency, rate);
+            }
+        } catch (FileNotFoundException e) {
+            throw new BudgetBuddyException("Could not read the exchange rates file " + filePath);
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Invalid exchange rate on line " + lineNumber, e);
+            throw new BudgetBuddyException("Invalid exchange rate on line " + lineNumber + " of " + filePath);
+        }
+        LOGGER.log(Level.INFO, "Loaded exchange rates for " + ratesByDate.size() + " dates");
+        return new ExchangeRateTable(ratesByDate);
     }
 }
@@ -4,6 +4,17 @@ import java.util.Scanner;
 
 public class Ui {
     private static final String DIVIDER = "__________________________________________________";
+    private static ConfirmationPolicy confirmationPolicy = ConfirmationPolicy.PROMPT;
+
+    /**
+     * Sets how confirmations are answered, so that they do not wait for the console when commands are read from a
+     * batch file
+     *
+     * @param policy The policy which answers every confirmation
+     */
+    public static void setConfirmationPolicy(ConfirmationPolicy policy) {
+        confirmationPolicy = policy;
+    }
 
     public void showWelcome() {
         System.out.println(DIVIDER);
@@ -44,6 +55,9 @@ public class Ui {
 
     // Method to get user confirmation from the console
     public boolean getUserConfirmation() {
+        if (confirmationPolicy != ConfirmationPolicy.PROMPT) {
+            return confirmationPolicy == ConfirmationPolicy.YES;
+        }
         Scanner scanner = new Scanner(System.in);
         System.out.println("Do you want to proceed with adding this expense? (Any input that " +
                 "is not 'yes' is treated as a no)");
@@ -65,6 +79,10 @@ public class Ui {
             System.out.println("add expense c/CATEGORY a/AMOUNT d/DESCRIPTION");
             System.out.println("edit expense c/CATEGORY i/INDEX a/AMOUNT d/DESCRIPTION");
             System.out.println("delete expense i/INDEX");
+            System.out.println("edit expenses where d/DESCRIPTION morethan/MINAMOUNT lessthan/MAXAMOUNT " +
+                    "[c/CATEGORY] [from/YYYY-MM] [to/YYYY-MM] set [c/CATEGORY] [a/AMOUNT] [d/DESCRIPTION]");
+            System.out.println("delete expenses where d/DESCRIPTION morethan/MINAMOUNT lessthan/MAXAMOUNT " +
+                    "[c/CATEGORY] [from/YYYY-MM] [to/YYYY-MM]");
             break;
         case 2:
             System.out.println("Manage Savings");
@@ -74,7 +92,7 @@ public class Ui {
             break;
         case 3:
             System.out.println("View Expenses");
-            System.out.println("list expenses [CATEGORY]");
+            System.out.println("list expenses [CATEGORY] [from/YYYY-MM] [to/YYYY-MM]");
             break;
         case 4:
             System.out.println("View Savings");
@@ -83,6 +101,7 @@ public class Ui {
         case 5:
             System.out.println("Find Expenses");
             System.out.println("find expenses d/DESCRIPTION morethan/MINAMOUNT lessthan/MAXAMOUNT " +
+                    "[c/CATEGORY] [from/YYYY-MM] [to/YYYY-MM] " +
                     "(Choose the parameters according to what you wish to search for)");
             break;
         case 6:
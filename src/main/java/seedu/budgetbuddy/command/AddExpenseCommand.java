@@ -24,6 +24,7 @@ public class AddExpenseCommand extends Command{
             expenses.addExpense(this.category,this.amount,this.description);
         } catch (BudgetBuddyException e) {
             System.out.println(e.getMessage());
+            markFailed();
         }
     }
 }
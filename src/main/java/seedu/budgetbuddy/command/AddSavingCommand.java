@@ -22,6 +22,7 @@ public class AddSavingCommand extends Command {
             savings.addSaving(this.category, this.amount);
         } catch (BudgetBuddyException e) {
             System.out.println(e.getMessage());
+            markFailed();
         }
     }
 }
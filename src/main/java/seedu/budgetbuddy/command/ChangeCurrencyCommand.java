@@ -2,43 +2,36 @@ package seedu.budgetbuddy.command;
 
 import seedu.budgetbuddy.commons.CurrencyConverter;
 import seedu.budgetbuddy.commons.DefaultCurrency;
-import seedu.budgetbuddy.commons.ExpenseList;
-import seedu.budgetbuddy.commons.SavingList;
-import seedu.budgetbuddy.commons.SplitExpenseList;
-import seedu.budgetbuddy.commons.RecurringExpenseLists;
 
 import java.util.Currency;
 
 /**
+ * Changes the default currency, which every amount is shown and totalled in. The stored amounts keep the
+ * currency they were added in and are converted when they are read, so no expense, saving or budget is rewritten.
+ *
  * @@author sweijie24
  */
 public class ChangeCurrencyCommand extends Command {
 
     private Currency newCurrency;
-    private SavingList savings;
-    private ExpenseList expenses;
-    private SplitExpenseList splitExpenses;
-    private RecurringExpenseLists recurringExpenseLists;
     private CurrencyConverter currencyConverter;
 
-    public ChangeCurrencyCommand(Currency newCurrency, SavingList savings, ExpenseList expenses, SplitExpenseList 
-                                 splitExpenses, RecurringExpenseLists recurringExpenseLists, 
-                                 CurrencyConverter currencyConverter) {
+    public ChangeCurrencyCommand(Currency newCurrency, CurrencyConverter currencyConverter) {
         this.newCurrency = newCurrency;
-        this.savings = savings;
-        this.expenses = expenses;
-        this.splitExpenses = splitExpenses;
-        this.recurringExpenseLists = recurringExpenseLists;
         this.currencyConverter = currencyConverter;
     }
 
     @Override
     public void execute() {
-        currencyConverter.convertSavingCurrency(newCurrency, savings);
-        currencyConverter.convertExpenseCurrency(newCurrency, expenses);
-        currencyConverter.convertSplitExpenseCurrency(newCurrency, splitExpenses);
-        currencyConverter.convertRecurringExpensesCurrency(newCurrency, recurringExpenseLists);
-        currencyConverter.convertBudgetCurrency(newCurrency, expenses);
+        if (!currencyConverter.isSupported(newCurrency)) {
+            System.out.println("Exchange rates not available for " + newCurrency);
+            return;
+        }
+        if (DefaultCurrency.getDefaultCurrency().equals(newCurrency)) {
+            System.out.println("Same currency. No conversion needed");
+            return;
+        }
         DefaultCurrency.setDefaultCurrency(newCurrency);
+        System.out.println("Default currency changed to " + newCurrency);
     }
 }
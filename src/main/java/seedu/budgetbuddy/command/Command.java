@@ -1,10 +1,24 @@
 package seedu.budgetbuddy.command;
 
 public abstract class Command {
+    private boolean isFailed;
 
     public String getDescription() {
         return "Empty";
     }
     public void execute() {
     }
+
+    /**
+     * Returns true if the command could not be carried out when it was executed
+     *
+     * @return true if the command failed, else false
+     */
+    public boolean isFailed() {
+        return isFailed;
+    }
+
+    protected void markFailed() {
+        this.isFailed = true;
+    }
 }
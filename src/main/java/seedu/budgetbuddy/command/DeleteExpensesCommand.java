@@ -0,0 +1,38 @@
+package seedu.budgetbuddy.command;
+
+import seedu.budgetbuddy.commons.ExpenseFilter;
+import seedu.budgetbuddy.commons.ExpenseList;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Represents a command that deletes every expense matching the criteria of a search at once
+ */
+public class DeleteExpensesCommand extends Command {
+    private static final Logger LOGGER = Logger.getLogger(Logger.GLOBAL_LOGGER_NAME);
+    private ExpenseList expenses;
+    private ExpenseFilter filter;
+
+    /**
+     * Constructs a DeleteExpensesCommand which deletes the expenses matching the provided filter
+     *
+     * @param expenses The expenseList to delete the expenses from
+     * @param filter The criteria which the expenses to delete have to match
+     */
+    public DeleteExpensesCommand(ExpenseList expenses, ExpenseFilter filter) {
+        this.expenses = expenses;
+        this.filter = filter;
+    }
+
+    @Override
+    public void execute() {
+        LOGGER.log(Level.INFO, "Start processing of Delete Expenses Command");
+        int deletedCount = expenses.deleteExpenses(filter);
+        if (deletedCount == 0) {
+            System.out.println("No matching expenses found.");
+        } else {
+            System.out.println("Deleted " + deletedCount + " expenses.");
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package seedu.budgetbuddy.command;
+
+import seedu.budgetbuddy.commons.ExpenseFilter;
+import seedu.budgetbuddy.commons.ExpenseList;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Represents a command that edits every expense matching the criteria of a search at once. Only the fields which
+ * are given are changed, and the other fields of each expense are kept.
+ */
+public class EditExpensesCommand extends Command {
+    private static final Logger LOGGER = Logger.getLogger(Logger.GLOBAL_LOGGER_NAME);
+    private ExpenseList expenses;
+    private ExpenseFilter filter;
+    private String category;
+    private Double amount;
+    private String description;
+
+    /**
+     * Constructs an EditExpensesCommand which edits the expenses matching the provided filter
+     *
+     * @param expenses The expenseList to edit the expenses in
+     * @param filter The criteria which the expenses to edit have to match
+     * @param category The new category of the expenses, or null to keep their categories
+     * @param amount The new amount of the expenses, or null to keep their amounts
+     * @param description The new description of the expenses, or null to keep their descriptions
+     */
+    public EditExpensesCommand(ExpenseList expenses, ExpenseFilter filter, String category, Double amount,
+                               String description) {
+        assert category != null || amount != null || description != null : "At least one field should be edited";
+        this.expenses = expenses;
+        this.filter = filter;
+        this.category = category;
+        this.amount = amount;
+        this.description = description;
+    }
+
+    @Override
+    public void execute() {
+        LOGGER.log(Level.INFO, "Start processing of Edit Expenses Command");
+        int editedCount = expenses.editExpenses(filter, category, amount, description);
+        if (editedCount == 0) {
+            System.out.println("No matching expenses found.");
+        } else {
+            System.out.println("Edited " + editedCount + " expenses.");
+        }
+    }
+}
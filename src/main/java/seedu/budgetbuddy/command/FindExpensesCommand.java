@@ -1,16 +1,18 @@
 package seedu.budgetbuddy.command;
 
 import seedu.budgetbuddy.commons.Expense;
+import seedu.budgetbuddy.commons.ExpenseFilter;
 import seedu.budgetbuddy.commons.ExpenseList;
 import seedu.budgetbuddy.Ui;
 
+import java.time.YearMonth;
 import java.util.ArrayList;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
  * Represents a command that finds and lists expenses based on a provided criteria.
- * Criteria can include description, minimum and maximum amounts
+ * Criteria can include description, minimum and maximum amounts, category and months
  */
 public class FindExpensesCommand extends Command {
     private static final Logger LOGGER = Logger.getLogger(Logger.GLOBAL_LOGGER_NAME);
@@ -18,6 +20,9 @@ public class FindExpensesCommand extends Command {
     private String description;
     private Double minAmount;
     private Double maxAmount;
+    private YearMonth fromMonth;
+    private YearMonth toMonth;
+    private ExpenseFilter filter;
     private Ui ui;
 
     /**
@@ -30,20 +35,39 @@ public class FindExpensesCommand extends Command {
      * @param maxAmount The maximum amount of expense to be filtered, can be null
      */
     public FindExpensesCommand(ExpenseList expenses, String description, Double minAmount, Double maxAmount) {
-        if (minAmount != null && maxAmount != null) {
-            assert minAmount < maxAmount : "Minimum amount cannot be larger than Maximum Amount";
-        }
+        this(expenses, description, minAmount, maxAmount, null, null);
+    }
+
+    /**
+     * Constructs a FindExpenseCommand which only finds the expenses added within the provided range of months
+     *
+     * @param expenses The expenseList to filter the expenses
+     * @param description The description to be filtered, can be null or empty
+     * @param minAmount The minimum amount of expense to be filtered, can be null
+     * @param maxAmount The maximum amount of expense to be filtered, can be null
+     * @param fromMonth The first month of the expenses to be filtered, can be null
+     * @param toMonth The last month of the expenses to be filtered, can be null
+     */
+    public FindExpensesCommand(ExpenseList expenses, String description, Double minAmount, Double maxAmount,
+                               YearMonth fromMonth, YearMonth toMonth) {
+        this(expenses, new ExpenseFilter(description, minAmount, maxAmount, null, fromMonth, toMonth));
+    }
 
+    /**
+     * Constructs a FindExpenseCommand which finds the expenses matching the provided filter
+     *
+     * @param expenses The expenseList to filter the expenses
+     * @param filter The criteria which the expenses have to match
+     */
+    public FindExpensesCommand(ExpenseList expenses, ExpenseFilter filter) {
         ui = new Ui();
         this.expenses = expenses;
-
-        if(description == null || description.isEmpty()) {
-            this.description = "";
-        } else {
-            this.description = description;
-        }
-        this.minAmount = minAmount;
-        this.maxAmount = maxAmount;
+        this.filter = filter;
+        this.description = filter.getDescription();
+        this.minAmount = filter.getMinAmount();
+        this.maxAmount = filter.getMaxAmount();
+        this.fromMonth = filter.getFromMonth();
+        this.toMonth = filter.getToMonth();
     }
 
     /**
@@ -74,6 +98,16 @@ public class FindExpensesCommand extends Command {
         } else {
             System.out.println(maxAmount);
         }
+
+        if (filter.getCategory() != null) {
+            System.out.println("Category : ");
+            System.out.println(filter.getCategory());
+        }
+
+        if (fromMonth != null || toMonth != null) {
+            System.out.println("Months : ");
+            System.out.println((fromMonth == null ? "N.A" : fromMonth) + " to " + (toMonth == null ? "N.A" : toMonth));
+        }
     }
 
     @Override
@@ -92,7 +126,7 @@ public class FindExpensesCommand extends Command {
         LOGGER.log(Level.INFO, "Creating filteredExpenses");
 
         printInitializationMessage();
-        ArrayList<Expense> filteredExpenses = expenses.filterExpenses(description, minAmount, maxAmount);
+        ArrayList<Expense> filteredExpenses = expenses.filterExpenses(filter);
         ExpenseList filteredExpenseList = new ExpenseList(filteredExpenses);
 
         if (filteredExpenses.isEmpty()) {
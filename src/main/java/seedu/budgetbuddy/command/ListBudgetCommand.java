@@ -1,8 +1,9 @@
 package seedu.budgetbuddy.command;
 
 import seedu.budgetbuddy.commons.Budget;
-import seedu.budgetbuddy.commons.Expense;
+import seedu.budgetbuddy.commons.DefaultCurrency;
 import seedu.budgetbuddy.commons.ExpenseList;
+import seedu.budgetbuddy.commons.Money;
 import seedu.budgetbuddy.Ui;
 
 public class ListBudgetCommand extends Command{
@@ -26,10 +27,7 @@ public class ListBudgetCommand extends Command{
             for (Budget budget : expenseList.getBudgets()) {
                 String category = budget.getCategory();
                 double budgetAmount = budget.getBudget();
-                double categorySpent = expenseList.getExpenses().stream()
-                        .filter(expense -> expense.getCategory().equalsIgnoreCase(category))
-                        .mapToDouble(Expense::getAmount)
-                        .sum();
+                double categorySpent = getTotalSpent(category);
                 String remaining = categorySpent > budgetAmount ? "Exceeded" :
                                     String.format("$%.2f", budgetAmount - categorySpent);
                 double percentSpent = (categorySpent / budgetAmount) * 100;
@@ -47,10 +45,7 @@ public class ListBudgetCommand extends Command{
 
         boolean found = false;
         for (String category : expenseList.getCategories()) {
-            double totalSpent = expenseList.getExpenses().stream()
-                    .filter(expense -> expense.getCategory().equalsIgnoreCase(category))
-                    .mapToDouble(Expense::getAmount)
-                    .sum();
+            double totalSpent = getTotalSpent(category);
 
             Budget budgetForCategory = expenseList.getBudgets().stream()
                     .filter(budget -> budget.getCategory().equalsIgnoreCase(category))
@@ -69,4 +64,8 @@ public class ListBudgetCommand extends Command{
         }
         System.out.println(String.join("", java.util.Collections.nCopies(44, "-")));
     }
+
+    private double getTotalSpent(String category) {
+        return Money.toDouble(expenseList.getCategoryTotal(category).getSum(), DefaultCurrency.getDefaultCurrency());
+    }
 }
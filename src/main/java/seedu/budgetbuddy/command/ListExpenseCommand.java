@@ -2,9 +2,13 @@ package seedu.budgetbuddy.command;
 
 import seedu.budgetbuddy.commons.ExpenseList;
 
+import java.time.YearMonth;
+
 public class ListExpenseCommand extends Command {
     private ExpenseList expenses;
     private String filterCategory;
+    private YearMonth fromMonth;
+    private YearMonth toMonth;
 
     /**
      * Creates a ListExpenseCommand object.
@@ -27,11 +31,26 @@ public class ListExpenseCommand extends Command {
         this.filterCategory = filterCategory;
     }
 
+    /**
+     * Creates a ListExpenseCommand object which only lists the expenses added within a range of months.
+     *
+     * @param expenses The list of expenses.
+     * @param filterCategory The category to filter the expenses by, or null to list every category.
+     * @param fromMonth The first month of the expenses to list, or null if there is no first month.
+     * @param toMonth The last month of the expenses to list, or null if there is no last month.
+     */
+    public ListExpenseCommand(ExpenseList expenses, String filterCategory, YearMonth fromMonth, YearMonth toMonth) {
+        this.expenses = expenses;
+        this.filterCategory = filterCategory;
+        this.fromMonth = fromMonth;
+        this.toMonth = toMonth;
+    }
+
     /**
      * Lists all the expenses.
      */
     @Override
     public void execute() {
-        expenses.listExpenses(filterCategory);
+        expenses.listExpenses(filterCategory, fromMonth, toMonth);
     }
 }
@@ -154,6 +154,7 @@ public class RecurringExpenseCommand extends Command{
 
         Expense expenseToAdd = new Expense(category, amount, description);
         expenses.getExpenses().add(expenseToAdd);
+        expenses.markModified();
 
         ui.printDivider();
         System.out.println("Successfully Added Expense to " + expenses.getName());
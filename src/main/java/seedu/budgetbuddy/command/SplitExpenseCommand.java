@@ -37,6 +37,7 @@ public class SplitExpenseCommand extends Command {
                     numberOfPeople + " persons. Description: " + description);
         } catch (BudgetBuddyException e) {
             System.out.println("An error occurred while adding expense.");
+            markFailed();
         }
     }
 }
@@ -0,0 +1,19 @@
+package seedu.budgetbuddy.command;
+
+import seedu.budgetbuddy.commons.DescriptionPool;
+
+/**
+ * Shows how much memory is saved by sharing repeated descriptions, see {@link DescriptionPool}
+ */
+public class StatsCommand extends Command {
+    private static final double BYTES_PER_KILOBYTE = 1024;
+
+    @Override
+    public void execute() {
+        System.out.println("Descriptions loaded or added: " + DescriptionPool.getLookupCount());
+        System.out.println("Distinct descriptions stored: " + DescriptionPool.getDistinctCount());
+        System.out.println("Repeated descriptions shared: " + DescriptionPool.getDuplicateCount());
+        System.out.println("Memory saved: " + String.format("%.1f", DescriptionPool.getBytesSaved()
+                / BYTES_PER_KILOBYTE) + " KB");
+    }
+}
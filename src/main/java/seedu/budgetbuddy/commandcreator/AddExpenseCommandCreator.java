@@ -56,6 +56,7 @@ public class AddExpenseCommandCreator extends CommandCreator {
             if (amountValue <= 0) {
                 throw new BudgetBuddyException(amount + " is not a valid amount.");
             }
+            checkFractionDigits(amount);
         } catch (NumberFormatException e) {
             System.out.println("Invalid amount. Please enter a valid number.");
             return null;
@@ -58,6 +58,7 @@ public class AddSavingCommandCreator extends CommandCreator{
             if (amountValue <= 0) {
                 throw new BudgetBuddyException(amount + " is negative. Please enter a positive amount.");
             }
+            checkFractionDigits(amount);
 
         } catch (NumberFormatException e) {
             System.out.println("Invalid amount. Please enter a valid number.");
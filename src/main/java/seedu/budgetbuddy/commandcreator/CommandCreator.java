@@ -1,10 +1,63 @@
 package seedu.budgetbuddy.commandcreator;
 
 import seedu.budgetbuddy.command.Command;
+import seedu.budgetbuddy.commons.DefaultCurrency;
+import seedu.budgetbuddy.commons.Money;
+import seedu.budgetbuddy.exception.BudgetBuddyException;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.Currency;
 
 public abstract class CommandCreator {
+    protected static final String FROM_MONTH_PREFIX = "from/";
+    protected static final String TO_MONTH_PREFIX = "to/";
 
     public Command createCommand() {
         return null;
     }
+
+    /**
+     * Parses a month of the `from/` and `to/` filters, in the `YYYY-MM` format
+     *
+     * @param month The month to be parsed
+     * @return The parsed month
+     * @throws BudgetBuddyException If the month is not in the `YYYY-MM` format
+     */
+    protected static YearMonth parseMonth(String month) throws BudgetBuddyException {
+        try {
+            return YearMonth.parse(month.trim());
+        } catch (DateTimeParseException e) {
+            throw new BudgetBuddyException("Please input months in the YYYY-MM format, e.g. 2024-03");
+        }
+    }
+
+    /**
+     * Checks that the first month of a range is not after its last month
+     *
+     * @param fromMonth The first month, or null if there is no first month
+     * @param toMonth The last month, or null if there is no last month
+     * @throws BudgetBuddyException If the first month is after the last month
+     */
+    protected static void checkMonthRange(YearMonth fromMonth, YearMonth toMonth) throws BudgetBuddyException {
+        if (fromMonth != null && toMonth != null && fromMonth.isAfter(toMonth)) {
+            throw new BudgetBuddyException("Ensure the from/ month is not after the to/ month");
+        }
+    }
+
+    /**
+     * Checks that an amount entered in the default currency has no more decimal places than the currency has, so
+     * that the amount is stored as entered instead of being rounded, e.g. 10.50 is not stored as 11 yen
+     *
+     * @param amount The amount as entered
+     * @throws BudgetBuddyException If the amount has more decimal places than the default currency
+     */
+    protected static void checkFractionDigits(String amount) throws BudgetBuddyException {
+        Currency currency = DefaultCurrency.getDefaultCurrency();
+        int fractionDigits = Money.getFractionDigits(currency);
+        if (Money.countFractionDigits(amount.trim()) > fractionDigits) {
+            throw new BudgetBuddyException("Invalid amount. Amounts in " + currency.getCurrencyCode()
+                    + " can have at most " + fractionDigits + " decimal places.");
+        }
+    }
 }
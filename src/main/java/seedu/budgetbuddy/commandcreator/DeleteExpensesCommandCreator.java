@@ -0,0 +1,54 @@
+package seedu.budgetbuddy.commandcreator;
+
+import seedu.budgetbuddy.command.Command;
+import seedu.budgetbuddy.command.DeleteExpensesCommand;
+import seedu.budgetbuddy.commons.ExpenseList;
+import seedu.budgetbuddy.exception.BudgetBuddyException;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Creates the command which deletes every expense matching the criteria of a search, which are the same as those
+ * of the find expenses command
+ */
+public class DeleteExpensesCommandCreator extends CommandCreator {
+    private static final Logger LOGGER = Logger.getLogger(Logger.GLOBAL_LOGGER_NAME);
+    private static final String COMMAND_FORMAT = "Command Format : delete expenses where d/DESCRIPTION "
+            + "morethan/MINAMOUNT lessthan/MAXAMOUNT [c/CATEGORY] [from/YYYY-MM] [to/YYYY-MM]";
+
+    private ExpenseList expenses;
+    private String input;
+
+    public DeleteExpensesCommandCreator(String input, ExpenseList expenses) {
+        this.input = input;
+        this.expenses = expenses;
+    }
+
+    /**
+     * Parses the "delete expenses where" command, whose criteria follow `where`
+     *
+     * @param input The full user input string.
+     * @param expenses The ExpenseList to delete from.
+     * @return A Command for deleting the matching expenses, or null if the input is invalid.
+     */
+    private Command handleDeleteExpensesCommand(String input, ExpenseList expenses) {
+        assert input.startsWith("delete expenses where") : "Input must be a delete expenses command";
+
+        LOGGER.log(Level.INFO, "Begin parsing parameters in delete expenses command");
+
+        try {
+            String criteria = input.substring("delete expenses where".length());
+            return new DeleteExpensesCommand(expenses, FindExpensesCommandCreator.parseFilter(criteria));
+        } catch (BudgetBuddyException e) {
+            System.out.println(e.getMessage());
+            System.out.println(COMMAND_FORMAT);
+            return null;
+        }
+    }
+
+    @Override
+    public Command createCommand() {
+        return handleDeleteExpensesCommand(input, expenses);
+    }
+}
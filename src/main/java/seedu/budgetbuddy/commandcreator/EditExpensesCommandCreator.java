@@ -0,0 +1,112 @@
+package seedu.budgetbuddy.commandcreator;
+
+import seedu.budgetbuddy.command.Command;
+import seedu.budgetbuddy.command.EditExpensesCommand;
+import seedu.budgetbuddy.commons.ExpenseFilter;
+import seedu.budgetbuddy.commons.ExpenseList;
+import seedu.budgetbuddy.exception.BudgetBuddyException;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Creates the command which edits every expense matching the criteria of a search, which are the same as those of
+ * the find expenses command. The new values of the fields follow `set`.
+ */
+public class EditExpensesCommandCreator extends CommandCreator {
+    private static final Logger LOGGER = Logger.getLogger(Logger.GLOBAL_LOGGER_NAME);
+    private static final String COMMAND_FORMAT = "Command Format : edit expenses where d/DESCRIPTION "
+            + "morethan/MINAMOUNT lessthan/MAXAMOUNT [c/CATEGORY] [from/YYYY-MM] [to/YYYY-MM] "
+            + "set [c/CATEGORY] [a/AMOUNT] [d/DESCRIPTION]";
+    private static final String SET_KEYWORD = " set ";
+
+    private ExpenseList expenses;
+    private String input;
+
+    public EditExpensesCommandCreator(String input, ExpenseList expenses) {
+        this.input = input;
+        this.expenses = expenses;
+    }
+
+    /**
+     * Returns the value of the provided prefix in the `set` clause, which is the word after it
+     *
+     * @param changes The `set` clause, without the description
+     * @param prefix The prefix of the value
+     * @return The value, or null if the prefix is absent
+     */
+    private static String parseChange(String changes, String prefix) {
+        for (String part : changes.split(" ")) {
+            if (part.startsWith(prefix)) {
+                return part.substring(prefix.length());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Parses the "edit expenses where" command. The criteria follow `where` and end at `set`, after which the
+     * optional `c/`, `a/` and `d/` parameters give the new category, amount and description. The description is
+     * the rest of the input, so it has to be the last parameter.
+     *
+     * @param input The full user input string.
+     * @param expenses The ExpenseList to edit.
+     * @return A Command for editing the matching expenses, or null if the input is invalid.
+     */
+    private Command handleEditExpensesCommand(String input, ExpenseList expenses) {
+        assert input.startsWith("edit expenses where") : "Input must be an edit expenses command";
+
+        LOGGER.log(Level.INFO, "Begin parsing parameters in edit expenses command");
+
+        try {
+            int indexOfSet = input.indexOf(SET_KEYWORD, Math.max(input.indexOf("lessthan/"), 0));
+            if (indexOfSet < 0) {
+                throw new BudgetBuddyException("Please include set, followed by the fields to change.");
+            }
+            String criteria = input.substring("edit expenses where".length(), indexOfSet);
+            String changes = input.substring(indexOfSet + SET_KEYWORD.length()).trim();
+            ExpenseFilter filter = FindExpensesCommandCreator.parseFilter(criteria);
+
+            if (changes.contains("!") || changes.contains("|")) {
+                throw new BudgetBuddyException("Please do not include a ! or | in your input");
+            }
+            String description = null;
+            int indexOfDescription = changes.indexOf("d/");
+            if (indexOfDescription >= 0) {
+                description = changes.substring(indexOfDescription + "d/".length()).trim();
+                changes = changes.substring(0, indexOfDescription);
+                if (description.isEmpty()) {
+                    throw new BudgetBuddyException("Please enter a description after d/");
+                }
+            }
+            for (String prefix : new String[] {"c/", "a/"}) {
+                if (changes.indexOf(prefix) != changes.lastIndexOf(prefix)) {
+                    throw new BudgetBuddyException("Please ensure that you do not have duplicate parameters.");
+                }
+            }
+
+            String category = parseChange(changes, "c/");
+            if (category != null) {
+                EditExpenseCommandCreator.checkForValidCategory(changes);
+            }
+            Double amount = null;
+            if (parseChange(changes, "a/") != null) {
+                EditExpenseCommandCreator.checkForInvalidAmount(changes);
+                amount = Double.parseDouble(parseChange(changes, "a/"));
+            }
+            if (category == null && amount == null && description == null) {
+                throw new BudgetBuddyException("Please include at least one of c/, a/ and d/ after set.");
+            }
+            return new EditExpensesCommand(expenses, filter, category, amount, description);
+        } catch (BudgetBuddyException e) {
+            System.out.println(e.getMessage());
+            System.out.println(COMMAND_FORMAT);
+            return null;
+        }
+    }
+
+    @Override
+    public Command createCommand() {
+        return handleEditExpensesCommand(input, expenses);
+    }
+}
@@ -98,6 +98,7 @@ public class EditSavingsCommandCreator extends CommandCreator {
                     if (amount <= 0) { // Amount must be greater than 0
                         throw new BudgetBuddyException("Invalid Amount. Amount must be greater than 0.");
                     }
+                    checkFractionDigits(part.substring(2));
                     break; // Break after finding the amount to stop checking other parts
                 } catch (NumberFormatException e) {
                     throw new BudgetBuddyException("Invalid Amount. Amount should be a numerical value.");
@@ -1,10 +1,13 @@
 package seedu.budgetbuddy.commandcreator;
 
+import seedu.budgetbuddy.commons.CategoryRegistry;
+import seedu.budgetbuddy.commons.ExpenseFilter;
 import seedu.budgetbuddy.commons.ExpenseList;
 import seedu.budgetbuddy.command.Command;
 import seedu.budgetbuddy.command.FindExpensesCommand;
 import seedu.budgetbuddy.exception.BudgetBuddyException;
 
+import java.time.YearMonth;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.regex.Matcher;
@@ -15,6 +18,7 @@ public class FindExpensesCommandCreator extends CommandCreator {
     private static final String DESCRIPTION_PREFIX = "d/";
     private static final String MINAMOUNT_PREFIX = "morethan/";
     private static final String MAXAMOUNT_PREFIX = "lessthan/";
+    private static final String CATEGORY_PREFIX = "c/";
 
 
     private ExpenseList expenses;
@@ -30,9 +34,10 @@ public class FindExpensesCommandCreator extends CommandCreator {
      * Checks the order of parameters in the provided input.
      *
      * @param input The user input
-     * @throws BudgetBuddyException If the parameters are not in the order of d/, morethan/ , lessthan/.
+     * @throws BudgetBuddyException If the parameters are not in the order of d/, morethan/ , lessthan/, and the
+     *                              optional c/, from/, to/.
      */
-    private void checkForOutOfOrderParameters(String input) throws BudgetBuddyException {
+    private static void checkForOutOfOrderParameters(String input) throws BudgetBuddyException {
         int indexOfDescriptionPrefix = input.indexOf(DESCRIPTION_PREFIX);
         int indexOfMinAmountPrefix = input.indexOf(MINAMOUNT_PREFIX);
         int indexOfMaxAmountPrefix = input.indexOf(MAXAMOUNT_PREFIX);
@@ -45,6 +50,38 @@ public class FindExpensesCommandCreator extends CommandCreator {
             throw new BudgetBuddyException("Please ensure that your parameters are in the right order.");
         }
 
+        int indexOfCategoryPrefix = input.indexOf(CATEGORY_PREFIX, indexOfMaxAmountPrefix);
+        int indexOfFromMonthPrefix = input.indexOf(FROM_MONTH_PREFIX, indexOfMaxAmountPrefix);
+        int indexOfToMonthPrefix = input.indexOf(TO_MONTH_PREFIX, indexOfMaxAmountPrefix);
+        if (indexOfFromMonthPrefix >= 0 && indexOfToMonthPrefix >= 0
+                && indexOfFromMonthPrefix > indexOfToMonthPrefix) {
+            throw new BudgetBuddyException("Please ensure that your parameters are in the right order.");
+        }
+        boolean isCategoryAfterFromMonth = indexOfFromMonthPrefix >= 0
+                && indexOfCategoryPrefix > indexOfFromMonthPrefix;
+        boolean isCategoryAfterToMonth = indexOfToMonthPrefix >= 0 && indexOfCategoryPrefix > indexOfToMonthPrefix;
+        if (indexOfCategoryPrefix >= 0 && (isCategoryAfterFromMonth || isCategoryAfterToMonth)) {
+            throw new BudgetBuddyException("Please ensure that your parameters are in the right order.");
+        }
+    }
+
+    /**
+     * Returns the index at which the value of the parameter starting at the provided index ends, which is the start
+     * of the optional `c/`, `from/` or `to/` parameters after it, or the end of the input
+     *
+     * @param input The user input
+     * @param startIndex The index of the start of the value
+     * @return The index after the end of the value
+     */
+    private static int findEndOfParameter(String input, int startIndex) {
+        int endIndex = input.length();
+        for (String prefix : new String[] {CATEGORY_PREFIX, FROM_MONTH_PREFIX, TO_MONTH_PREFIX}) {
+            int indexOfPrefix = input.indexOf(prefix, startIndex);
+            if (indexOfPrefix >= 0) {
+                endIndex = Math.min(endIndex, indexOfPrefix);
+            }
+        }
+        return endIndex;
     }
 
     /**
@@ -66,11 +103,11 @@ public class FindExpensesCommandCreator extends CommandCreator {
      * @return The extracted maximum amount, or null if amount is not specified
      * @throws NumberFormatException If the maximum amount obtained is not a valid double
      */
-    private Double parseMaxAmount(String input) throws NumberFormatException{
+    private static Double parseMaxAmount(String input) throws NumberFormatException{
         int indexOfMaxAmountPrefix = input.indexOf(MAXAMOUNT_PREFIX);
         int startIndexOfMaxAmount = indexOfMaxAmountPrefix + MAXAMOUNT_PREFIX.length();
 
-        int endIndexOfMaxAmount = input.length();
+        int endIndexOfMaxAmount = findEndOfParameter(input, startIndexOfMaxAmount);
 
         String maxAmountAsString = input.substring(startIndexOfMaxAmount, endIndexOfMaxAmount).trim();
 
@@ -90,7 +127,7 @@ public class FindExpensesCommandCreator extends CommandCreator {
      * @return The extracted minimum amount, or null if amount is not specified
      * @throws NumberFormatException If the minimum amount obtained is not a valid double
      */
-    private Double parseMinAmount(String input) throws NumberFormatException {
+    private static Double parseMinAmount(String input) throws NumberFormatException {
         int indexOfMinAmountPrefix = input.indexOf(MINAMOUNT_PREFIX);
         int startIndexOfMinAmount = indexOfMinAmountPrefix + MINAMOUNT_PREFIX.length();
 
@@ -108,13 +145,59 @@ public class FindExpensesCommandCreator extends CommandCreator {
         return minAmount;
     }
 
+    /**
+     * Parses and returns the month from the optional `from/` or `to/` prefix, which follow `lessthan/`
+     *
+     * @param input The user input
+     * @param prefix The prefix of the month
+     * @return The parsed month, or null if the prefix is absent or the month is not specified
+     * @throws BudgetBuddyException If the month is not in the `YYYY-MM` format
+     */
+    private static YearMonth parseMonthParameter(String input, String prefix) throws BudgetBuddyException {
+        int indexOfPrefix = input.indexOf(prefix, input.indexOf(MAXAMOUNT_PREFIX));
+        if (indexOfPrefix < 0) {
+            return null;
+        }
+        int startIndexOfMonth = indexOfPrefix + prefix.length();
+        String month = input.substring(startIndexOfMonth, findEndOfParameter(input, startIndexOfMonth)).trim();
+        if (month.isEmpty()) {
+            return null;
+        }
+        return parseMonth(month);
+    }
+
+    /**
+     * Parses and returns the category from the optional `c/` prefix, which follows `lessthan/`
+     *
+     * @param input The user input
+     * @return The listed spelling of the category, or null if the prefix is absent or the category is not specified
+     * @throws BudgetBuddyException If the category is not one of the expense categories
+     */
+    private static String parseCategory(String input) throws BudgetBuddyException {
+        int indexOfPrefix = input.indexOf(CATEGORY_PREFIX, input.indexOf(MAXAMOUNT_PREFIX));
+        if (indexOfPrefix < 0) {
+            return null;
+        }
+        int startIndexOfCategory = indexOfPrefix + CATEGORY_PREFIX.length();
+        String category = input.substring(startIndexOfCategory, findEndOfParameter(input, startIndexOfCategory))
+                .trim();
+        if (category.isEmpty()) {
+            return null;
+        }
+        String listedCategory = CategoryRegistry.findExpenseCategory(category);
+        if (listedCategory == null) {
+            throw new BudgetBuddyException("The category '" + category + "' is not listed.");
+        }
+        return listedCategory;
+    }
+
     /**
      * Parses and returns the description from the `d/` prefix in the input string
      *
      * @param input The user input
      * @return The obtained description, or null if the description is empty
      */
-    private String parseDescription(String input) {
+    private static String parseDescription(String input) {
 
         int indexOfDescriptionPrefix = input.indexOf(DESCRIPTION_PREFIX);
         int startIndexOfDescription = indexOfDescriptionPrefix + DESCRIPTION_PREFIX.length();
@@ -174,48 +257,66 @@ public class FindExpensesCommandCreator extends CommandCreator {
     }
 
     /**
-     * Parses the "find expenses" command, allowing for optional and combinable parameters.
+     * Parses the search criteria of a "find expenses" command, which are shared by the bulk delete and bulk edit
+     * commands. `d/`, `morethan/` and `lessthan/` are required but can be empty, and the optional `c/`, `from/`
+     * and `to/` parameters follow `lessthan/`.
      *
-     * @param input The full user input string.
-     * @param expenses The ExpenseList to search within.
-     * @return A Command for executing the search, or null if the input is invalid.
+     * @param input The part of the user input holding the criteria
+     * @return The criteria which the expenses have to match
+     * @throws BudgetBuddyException If the criteria are missing, out of order, repeated or invalid
      */
-    private Command handleFindExpensesCommand(String input, ExpenseList expenses) {
-        assert input != null : "Input cannot be null";
-        assert !input.isEmpty() : "Input cannot be empty";
-        assert input.startsWith("find expenses") : "Input must be a find expenses command";
-
-        LOGGER.log(Level.INFO, "Begin parsing parameters in find expenses command");
-
+    static ExpenseFilter parseFilter(String input) throws BudgetBuddyException {
         try {
             checkForInvalidParameters(input);
             checkForOutOfOrderParameters(input);
             checkForDuplicateParameters(input, "d/");
             checkForDuplicateParameters(input, "morethan/");
             checkForDuplicateParameters(input, "lessthan/");
+            String optionalParameters = input.substring(input.indexOf(MAXAMOUNT_PREFIX));
+            checkForDuplicateParameters(optionalParameters, CATEGORY_PREFIX);
+            checkForDuplicateParameters(optionalParameters, FROM_MONTH_PREFIX);
+            checkForDuplicateParameters(optionalParameters, TO_MONTH_PREFIX);
 
-        } catch (IllegalArgumentException | BudgetBuddyException e) {
-            System.out.println(e.getMessage());
-            return null;
-        }
-
-        try {
             String description = parseDescription(input);
             Double minAmount = parseMinAmount(input);
             Double maxAmount = parseMaxAmount(input);
+            String category = parseCategory(input);
+            YearMonth fromMonth = parseMonthParameter(input, FROM_MONTH_PREFIX);
+            YearMonth toMonth = parseMonthParameter(input, TO_MONTH_PREFIX);
 
             compareMinAndMaxAmount(minAmount, maxAmount);
+            checkMonthRange(fromMonth, toMonth);
 
-            return new FindExpensesCommand(expenses, description, minAmount, maxAmount);
-
+            return new ExpenseFilter(description, minAmount, maxAmount, category, fromMonth, toMonth);
         } catch (NumberFormatException e) {
-            System.out.println("Please input a valid amount.");
-            return null;
+            throw new BudgetBuddyException("Please input a valid amount.");
+        } catch (IllegalArgumentException e) {
+            throw new BudgetBuddyException(e.getMessage());
+        }
+    }
+
+    /**
+     * Parses the "find expenses" command, allowing for optional and combinable parameters. The optional `c/`,
+     * `from/` and `to/` parameters follow `lessthan/`, and limit the search to a category and to the expenses added
+     * within a range of months.
+     *
+     * @param input The full user input string.
+     * @param expenses The ExpenseList to search within.
+     * @return A Command for executing the search, or null if the input is invalid.
+     */
+    private Command handleFindExpensesCommand(String input, ExpenseList expenses) {
+        assert input != null : "Input cannot be null";
+        assert !input.isEmpty() : "Input cannot be empty";
+        assert input.startsWith("find expenses") : "Input must be a find expenses command";
+
+        LOGGER.log(Level.INFO, "Begin parsing parameters in find expenses command");
+
+        try {
+            return new FindExpensesCommand(expenses, parseFilter(input));
         } catch (BudgetBuddyException e) {
             System.out.println(e.getMessage());
             return null;
         }
-
     }
 
     @Override
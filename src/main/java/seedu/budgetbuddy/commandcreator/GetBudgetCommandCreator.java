@@ -1,11 +1,10 @@
 package seedu.budgetbuddy.commandcreator;
 
+import seedu.budgetbuddy.commons.CategoryRegistry;
 import seedu.budgetbuddy.commons.ExpenseList;
 import seedu.budgetbuddy.command.Command;
 import seedu.budgetbuddy.command.GetBudgetCommand;
 
-import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -14,25 +13,17 @@ public class GetBudgetCommandCreator extends CommandCreator {
 
     private ExpenseList expenses;
     private String input;
-    private ArrayList<String> expenseCategories;
 
     public GetBudgetCommandCreator(ExpenseList expenses, String input) {
         this.expenses = expenses;
         this.input = input;
-        this.expenseCategories = new ArrayList<>(Arrays.asList("Housing", "Groceries", "Utility", "Transport",
-                "Entertainment", "Others"));
     }
 
     private boolean isValidExpenseCategory(String category) {
         assert category != null : "Category should not be null";
         assert !category.isEmpty() : "Category should not be empty";
 
-        for (String validCategory : expenseCategories) {
-            if (validCategory.equalsIgnoreCase(category)) {
-                return true;
-            }
-        }
-        return false;
+        return CategoryRegistry.findExpenseCategory(category) != null;
     }
 
     public Command createCommand() {
@@ -1,24 +1,27 @@
 package seedu.budgetbuddy.commandcreator;
 
+import seedu.budgetbuddy.commons.CategoryRegistry;
 import seedu.budgetbuddy.commons.ExpenseList;
 import seedu.budgetbuddy.commons.SavingList;
 import seedu.budgetbuddy.command.Command;
 import seedu.budgetbuddy.command.ListExpenseCommand;
 import seedu.budgetbuddy.command.ListSavingsCommand;
+import seedu.budgetbuddy.exception.BudgetBuddyException;
 
+import java.time.YearMonth;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 public class ListCommandCreator extends CommandCreator {
 
     private static final Logger LOGGER = Logger.getLogger(Logger.GLOBAL_LOGGER_NAME);
-    protected ArrayList<String> expenseCategories;
-    protected ArrayList<String> savingsCategories;
     private ExpenseList expenses;
     private SavingList savings;
     private String input;
+    private YearMonth fromMonth;
+    private YearMonth toMonth;
 
     public ListCommandCreator(ExpenseList expenses, SavingList savings,
                               String input) {
@@ -26,11 +29,6 @@ public class ListCommandCreator extends CommandCreator {
         this.expenses = expenses;
         this.savings = savings;
         this.input = input;
-
-        this.expenseCategories = new ArrayList<>(Arrays.asList("Housing",
-                "Groceries", "Utility", "Transport", "Entertainment", "Others"));
-        this.savingsCategories = new ArrayList<>(Arrays.asList("Salary",
-                "Investments", "Gifts", "Others"));
     }
 
     /**
@@ -44,12 +42,7 @@ public class ListCommandCreator extends CommandCreator {
         assert category != null : "Category should not be null";
         assert !category.isEmpty() : "Category should not be empty";
 
-        for (String validCategory : expenseCategories) {
-            if (validCategory.equalsIgnoreCase(category)) {
-                return true;
-            }
-        }
-        return false;
+        return CategoryRegistry.findExpenseCategory(category) != null;
     }
 
     /**
@@ -63,17 +56,38 @@ public class ListCommandCreator extends CommandCreator {
         assert category != null : "Category should not be null";
         assert !category.isEmpty() : "Category should not be empty";
 
-        for (String validCategory : savingsCategories) {
-            if (validCategory.equalsIgnoreCase(category)) {
-                return true;
+        return CategoryRegistry.findSavingsCategory(category) != null;
+    }
+
+    /**
+     * Removes the optional `from/YYYY-MM` and `to/YYYY-MM` filters from the parts of a list expenses command, and
+     * stores the months they filter by.
+     *
+     * @param parts The parts of the command, split by spaces
+     * @return The parts of the command without the filters
+     * @throws BudgetBuddyException If a filter is repeated, or its month is invalid
+     */
+    private String[] removeMonthFilters(String[] parts) throws BudgetBuddyException {
+        List<String> remainingParts = new ArrayList<>();
+        for (String part : parts) {
+            if (part.startsWith(FROM_MONTH_PREFIX) && fromMonth == null) {
+                fromMonth = parseMonth(part.substring(FROM_MONTH_PREFIX.length()));
+            } else if (part.startsWith(TO_MONTH_PREFIX) && toMonth == null) {
+                toMonth = parseMonth(part.substring(TO_MONTH_PREFIX.length()));
+            } else if (part.startsWith(FROM_MONTH_PREFIX) || part.startsWith(TO_MONTH_PREFIX)) {
+                throw new BudgetBuddyException("The parameters from/ and to/ can only be used once.");
+            } else {
+                remainingParts.add(part);
             }
         }
-        return false;
+        checkMonthRange(fromMonth, toMonth);
+        return remainingParts.toArray(new String[0]);
     }
 
     /**
      * Parses the user input to create a ListCommand for listing expenses or savings.
      * If the input is valid, a ListCommand is returned with the specified list type and optional filter category.
+     * Expenses can also be filtered by the months they were added in, with `from/YYYY-MM` and `to/YYYY-MM`.
      *
      * @author sweijie24
      * @param input        The user input to be parsed.
@@ -87,6 +101,14 @@ public class ListCommandCreator extends CommandCreator {
 
         String[] parts = input.split(" ");
         assert parts.length >= 1 : "At least one part should be present in the input";
+        if (parts.length > 2 && parts[1].equalsIgnoreCase("expenses")) {
+            try {
+                parts = removeMonthFilters(parts);
+            } catch (BudgetBuddyException e) {
+                System.out.println(e.getMessage());
+                return null;
+            }
+        }
 
         String action = parts[0].toLowerCase();
         assert !action.isEmpty() : "Action should not be empty";
@@ -98,7 +120,7 @@ public class ListCommandCreator extends CommandCreator {
                 assert !listType.isEmpty() : "List type should not be empty";
 
                 if (listType.equalsIgnoreCase("expenses")) {
-                    return new ListExpenseCommand(expenseList);
+                    return new ListExpenseCommand(expenseList, null, fromMonth, toMonth);
                 } else if (listType.equalsIgnoreCase("savings")) {
                     return new ListSavingsCommand(savingList, expenseList);
                 }
@@ -116,7 +138,7 @@ public class ListCommandCreator extends CommandCreator {
                 } catch (IllegalArgumentException e) {
                     LOGGER.log(Level.WARNING, "Invalid category inputted: " + filterCategory, e);
                 }
-                return new ListExpenseCommand(expenseList, filterCategory);
+                return new ListExpenseCommand(expenseList, filterCategory, fromMonth, toMonth);
             } else if (parts.length == 3 && parts[1].equalsIgnoreCase("savings")) {
                 String filterCategory = parts[2];
                 try {
@@ -1,13 +1,12 @@
 package seedu.budgetbuddy.commandcreator;
 
+import seedu.budgetbuddy.commons.CategoryRegistry;
 import seedu.budgetbuddy.commons.ExpenseList;
 import seedu.budgetbuddy.commons.RecurringExpenseLists;
 import seedu.budgetbuddy.command.Command;
 import seedu.budgetbuddy.command.RecurringExpenseCommand;
 import seedu.budgetbuddy.exception.BudgetBuddyException;
 
-import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -22,8 +21,6 @@ public class RecurringExpenseCommandCreator extends CommandCreator{
     private RecurringExpenseLists recurringExpenseLists;
     private ExpenseList expenses;
 
-    private ArrayList<String> expenseCategories = new ArrayList<>(Arrays.asList("Housing"
-            , "Groceries", "Utility", "Transport", "Entertainment", "Others"));
 
 
     /**
@@ -167,6 +164,7 @@ public class RecurringExpenseCommandCreator extends CommandCreator{
         }
 
         Double amount = Double.parseDouble(amountAsString);
+        checkFractionDigits(amountAsString);
 
         if(amount > MAX_AMOUNT || amount <= 0 || amount < 0.005) {
             throw new BudgetBuddyException("Please Ensure that Amount is a positive value " +
@@ -184,10 +182,9 @@ public class RecurringExpenseCommandCreator extends CommandCreator{
      * @throws BudgetBuddyException if no matches are found
      */
     private String getCategory(String category) throws BudgetBuddyException{
-        for (String validCategory : expenseCategories) {
-            if (validCategory.equalsIgnoreCase(category)) {
-                return validCategory;
-            }
+        String validCategory = CategoryRegistry.findExpenseCategory(category);
+        if (validCategory != null) {
+            return validCategory;
         }
 
         throw new BudgetBuddyException("Please ensure the category is a valid category\n" +
@@ -3,6 +3,7 @@ package seedu.budgetbuddy.commandcreator;
 import seedu.budgetbuddy.commons.SavingList;
 import seedu.budgetbuddy.command.Command;
 import seedu.budgetbuddy.command.ReduceSavingCommand;
+import seedu.budgetbuddy.exception.BudgetBuddyException;
 
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -39,6 +40,7 @@ public class ReduceSavingCommandCreator extends CommandCreator {
                     System.out.println("Amount must be a positive value.");
                     return null;
                 }
+                checkFractionDigits(amountMatcher.group(1));
 
                 LOGGER.log(Level.INFO, "Successfully processed ReduceSavingCommand!");
                 return new ReduceSavingCommand(savings, categoryToReduce, amountToReduce);
@@ -46,6 +48,10 @@ public class ReduceSavingCommandCreator extends CommandCreator {
                 LOGGER.log(Level.WARNING, "Amount must be a valid number. Please try again.");
                 System.out.println("Amount must be a valid number.");
                 return null;
+            } catch (BudgetBuddyException e) {
+                LOGGER.log(Level.WARNING, e.getMessage());
+                System.out.println(e.getMessage());
+                return null;
             }
         } else {
             LOGGER.log(Level.WARNING, "Invalid command format. Expected format: " +
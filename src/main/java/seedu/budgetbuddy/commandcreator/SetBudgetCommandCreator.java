@@ -1,11 +1,11 @@
 package seedu.budgetbuddy.commandcreator;
 
+import seedu.budgetbuddy.commons.CategoryRegistry;
 import seedu.budgetbuddy.commons.ExpenseList;
 import seedu.budgetbuddy.command.Command;
 import seedu.budgetbuddy.command.SetBudgetCommand;
+import seedu.budgetbuddy.exception.BudgetBuddyException;
 
-import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -14,14 +14,11 @@ public class SetBudgetCommandCreator extends CommandCreator {
 
     public ExpenseList expenses;
     public String input;
-    public ArrayList<String> expenseCategories;
 
 
     public SetBudgetCommandCreator(ExpenseList expenses, String input){
         this.expenses = expenses;
         this.input = input;
-        this.expenseCategories = new ArrayList<>(Arrays.asList("Housing", "Groceries", "Utility", "Transport",
-                                                                "Entertainment", "Others"));
     }
 
     private boolean isValidExpenseCategory(String category) {
@@ -29,12 +26,7 @@ public class SetBudgetCommandCreator extends CommandCreator {
         assert category != null : "Category should not be null";
         assert !category.isEmpty() : "Category should not be empty";
 
-        for (String validCategory : expenseCategories) {
-            if (validCategory.equalsIgnoreCase(category)) {
-                return true;
-            }
-        }
-        return false;
+        return CategoryRegistry.findExpenseCategory(category) != null;
     }
 
     public Command handleSetBudgetCommand(ExpenseList expenses, String input) {
@@ -56,10 +48,15 @@ public class SetBudgetCommandCreator extends CommandCreator {
                         System.out.println("Budget cannot be negative.");
                         return null;
                     }
+                    checkFractionDigits(part.substring(2));
                 } catch (NumberFormatException e) {
                     LOGGER.log(Level.SEVERE, "Invalid budget format. Budget should be a number.", e);
                     System.out.println("Invalid budget format. Budget should be a number");
                     return null;
+                } catch (BudgetBuddyException e) {
+                    LOGGER.log(Level.WARNING, e.getMessage());
+                    System.out.println(e.getMessage());
+                    return null;
                 }
             }
         }
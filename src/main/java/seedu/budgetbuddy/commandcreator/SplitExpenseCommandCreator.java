@@ -41,6 +41,7 @@ public class SplitExpenseCommandCreator extends CommandCreator {
             if (!amount.matches("^\\d+(\\.\\d{1,2})?$")) {
                 throw new BudgetBuddyException("Amount must be a number with up to 2 decimal places.");
             }
+            checkFractionDigits(amount);
         } catch (NumberFormatException | BudgetBuddyException e) {
             System.out.println(e.getMessage());
             return null;
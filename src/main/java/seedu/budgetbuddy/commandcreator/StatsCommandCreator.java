@@ -0,0 +1,12 @@
+package seedu.budgetbuddy.commandcreator;
+
+import seedu.budgetbuddy.command.Command;
+import seedu.budgetbuddy.command.StatsCommand;
+
+public class StatsCommandCreator extends CommandCreator {
+
+    @Override
+    public Command createCommand() {
+        return new StatsCommand();
+    }
+}
@@ -0,0 +1,237 @@
+package seedu.budgetbuddy.commons;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Indexes the expenses of an {@link ExpenseList} by amount, so that the rows, which are positions in the list,
+ * with amounts within a range are found in O(log n + k) time for k matching rows. The amounts are the ones
+ * compared by the filters of the find command, so a range query returns exactly the rows those filters accept.
+ * Rows are kept in parallel primitive arrays sorted by amount and then by row. Rows added after the arrays were
+ * sorted are appended to a small unsorted buffer, which is merged into the sorted arrays once it grows past a
+ * fraction of their size, so that adding an expense does not shift the whole index.
+ */
+public class AmountIndex {
+    private static final int MIN_BUFFER_SIZE = 1024;
+    private static final int BUFFER_FRACTION = 64;
+
+    private double[] amounts;
+    private int[] rows;
+    private int size;
+    private double[] bufferedAmounts = new double[16];
+    private int[] bufferedRows = new int[16];
+    private int bufferSize;
+
+    /**
+     * Constructs an AmountIndex of the provided amounts, where the amount of row i is `amountsByRow[i]`
+     *
+     * @param amountsByRow The amounts of the rows, in row order
+     */
+    public AmountIndex(double[] amountsByRow) {
+        Integer[] sortedRows = new Integer[amountsByRow.length];
+        for (int row = 0; row < sortedRows.length; row++) {
+            sortedRows[row] = row;
+        }
+        // The sort is stable, so rows with the same amount stay in row order
+        Arrays.sort(sortedRows, Comparator.comparingDouble((Integer row) -> amountsByRow[row]));
+        size = sortedRows.length;
+        amounts = new double[Math.max(size, 16)];
+        rows = new int[amounts.length];
+        for (int i = 0; i < size; i++) {
+            rows[i] = sortedRows[i];
+            amounts[i] = amountsByRow[rows[i]];
+        }
+    }
+
+    public int size() {
+        return size + bufferSize;
+    }
+
+    /**
+     * Adds a row to the index
+     *
+     * @param row The position of the expense in its list
+     * @param amount The amount of the expense
+     */
+    public void add(int row, double amount) {
+        if (bufferSize == bufferedRows.length) {
+            bufferedRows = Arrays.copyOf(bufferedRows, bufferSize * 2);
+            bufferedAmounts = Arrays.copyOf(bufferedAmounts, bufferSize * 2);
+        }
+        bufferedRows[bufferSize] = row;
+        bufferedAmounts[bufferSize] = amount;
+        bufferSize++;
+        if (bufferSize > Math.max(MIN_BUFFER_SIZE, size / BUFFER_FRACTION)) {
+            mergeBuffer();
+        }
+    }
+
+    /**
+     * Removes a row from the index
+     *
+     * @param row The position of the expense in its list
+     * @param amount The amount of the expense, as it was added to the index
+     */
+    public void remove(int row, double amount) {
+        for (int i = 0; i < bufferSize; i++) {
+            if (bufferedRows[i] == row) {
+                bufferSize--;
+                bufferedRows[i] = bufferedRows[bufferSize];
+                bufferedAmounts[i] = bufferedAmounts[bufferSize];
+                return;
+            }
+        }
+        int index = find(amount, row);
+        assert index >= 0 : "Removed row should be in the index";
+        if (index >= 0) {
+            System.arraycopy(amounts, index + 1, amounts, index, size - index - 1);
+            System.arraycopy(rows, index + 1, rows, index, size - index - 1);
+            size--;
+        }
+    }
+
+    /**
+     * Returns the number of rows with amounts within the provided range, without collecting them
+     *
+     * @param minAmount The smallest amount in the range, or null if there is no lower bound
+     * @param maxAmount The largest amount in the range, or null if there is no upper bound
+     * @return The number of rows in the range
+     */
+    public int count(Double minAmount, Double maxAmount) {
+        int count = upperBound(maxAmount) - lowerBound(minAmount);
+        for (int i = 0; i < bufferSize; i++) {
+            if (isInRange(bufferedAmounts[i], minAmount, maxAmount)) {
+                count++;
+            }
+        }
+        return Math.max(count, 0);
+    }
+
+    /**
+     * Returns the rows with amounts within the provided range, in ascending order
+     *
+     * @param minAmount The smallest amount in the range, or null if there is no lower bound
+     * @param maxAmount The largest amount in the range, or null if there is no upper bound
+     * @return The rows in the range, sorted in ascending order
+     */
+    public int[] findRows(Double minAmount, Double maxAmount) {
+        int start = lowerBound(minAmount);
+        int end = Math.max(upperBound(maxAmount), start);
+        int[] rowsInRange = new int[end - start + bufferSize];
+        System.arraycopy(rows, start, rowsInRange, 0, end - start);
+        int numberOfRows = end - start;
+        for (int i = 0; i < bufferSize; i++) {
+            if (isInRange(bufferedAmounts[i], minAmount, maxAmount)) {
+                rowsInRange[numberOfRows++] = bufferedRows[i];
+            }
+        }
+        rowsInRange = Arrays.copyOf(rowsInRange, numberOfRows);
+        Arrays.sort(rowsInRange);
+        return rowsInRange;
+    }
+
+    private static boolean isInRange(double amount, Double minAmount, Double maxAmount) {
+        return (minAmount == null || amount >= minAmount) && (maxAmount == null || amount <= maxAmount);
+    }
+
+    /**
+     * Returns the index of the first sorted row whose amount is at least `minAmount`
+     */
+    private int lowerBound(Double minAmount) {
+        if (minAmount == null) {
+            return 0;
+        }
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (amounts[middle] < minAmount) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns the index after the last sorted row whose amount is at most `maxAmount`
+     */
+    private int upperBound(Double maxAmount) {
+        if (maxAmount == null) {
+            return size;
+        }
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (amounts[middle] <= maxAmount) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns the index of the sorted entry with the provided amount and row, or -1 if there is none
+     */
+    private int find(double amount, int row) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            int comparison = compare(amounts[middle], rows[middle], amount, row);
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    private static int compare(double firstAmount, int firstRow, double secondAmount, int secondRow) {
+        int comparison = Double.compare(firstAmount, secondAmount);
+        return comparison != 0 ? comparison : Integer.compare(firstRow, secondRow);
+    }
+
+    /**
+     * Sorts the buffered rows and merges them into the sorted arrays in a single pass
+     */
+    private void mergeBuffer() {
+        Integer[] order = new Integer[bufferSize];
+        for (int i = 0; i < bufferSize; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (first, second) -> compare(bufferedAmounts[first], bufferedRows[first],
+                bufferedAmounts[second], bufferedRows[second]));
+
+        int mergedSize = size + bufferSize;
+        double[] mergedAmounts = new double[Math.max(mergedSize * 3 / 2, 16)];
+        int[] mergedRows = new int[mergedAmounts.length];
+        int sortedIndex = 0;
+        int bufferIndex = 0;
+        for (int i = 0; i < mergedSize; i++) {
+            boolean isFromBuffer = sortedIndex == size || (bufferIndex < bufferSize
+                    && compare(bufferedAmounts[order[bufferIndex]], bufferedRows[order[bufferIndex]],
+                            amounts[sortedIndex], rows[sortedIndex]) < 0);
+            if (isFromBuffer) {
+                mergedAmounts[i] = bufferedAmounts[order[bufferIndex]];
+                mergedRows[i] = bufferedRows[order[bufferIndex]];
+                bufferIndex++;
+            } else {
+                mergedAmounts[i] = amounts[sortedIndex];
+                mergedRows[i] = rows[sortedIndex];
+                sortedIndex++;
+            }
+        }
+        amounts = mergedAmounts;
+        rows = mergedRows;
+        size = mergedSize;
+        bufferSize = 0;
+    }
+}
@@ -1,23 +1,83 @@
 package seedu.budgetbuddy.commons;
 
+import java.util.Currency;
+
 public class Budget {
-    private String category;
-    private double budget;
+    private int categoryId; // See CategoryRegistry
+    private long budget; // In minor units of the currency, see Money
+    private Currency currency;
 
     public Budget(String category, double budget){
-        this.category = category;
+        this.categoryId = CategoryRegistry.getId(category);
+        this.currency = DefaultCurrency.getDefaultCurrency();
+        this.budget = Money.fromDouble(budget, currency);
+    }
+
+    /**
+     * Constructs a Budget with an amount which is already in minor units of the provided currency
+     *
+     * @param category The category of the budget
+     * @param budget The budget in minor units of `currency`
+     * @param currency The currency of the budget
+     */
+    public Budget(String category, long budget, Currency currency) {
+        this.categoryId = CategoryRegistry.getId(category);
         this.budget = budget;
+        this.currency = currency;
     }
 
     public String getCategory(){
-        return category;
+        return CategoryRegistry.getName(categoryId);
     }
 
+    public int getCategoryId() {
+        return categoryId;
+    }
+
+    /**
+     * Returns the budget converted into the default currency, which is the budget shown to the user
+     *
+     * @return The budget in the default currency
+     */
     public double getBudget() {
+        return Money.toDouble(getBudgetInDefaultCurrency(), DefaultCurrency.getDefaultCurrency());
+    }
+
+    /**
+     * Returns the budget converted into minor units of the default currency, which expenses are compared against
+     *
+     * @return The budget in minor units of the default currency
+     */
+    public long getBudgetInDefaultCurrency() {
+        return DefaultCurrency.convert(budget, currency);
+    }
+
+    /**
+     * Returns the budget in minor units of its currency, such as cents
+     *
+     * @return The budget in minor units
+     */
+    public long getBudgetInMinorUnits() {
         return budget;
     }
 
+    public Currency getCurrency() {
+        return currency;
+    }
+
     public void setBudget(double budget){
+        this.currency = DefaultCurrency.getDefaultCurrency();
+        this.budget = Money.fromDouble(budget, currency);
+    }
+
+    /**
+     * Sets the budget and its currency together, as the minor units of an amount depend on its currency
+     *
+     * @param budget The budget in minor units of `currency`
+     * @param currency The currency of the budget
+     */
+    public void setBudget(long budget, Currency currency) {
         this.budget = budget;
+        this.currency = currency;
     }
 }
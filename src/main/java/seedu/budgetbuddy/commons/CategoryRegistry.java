@@ -0,0 +1,121 @@
+package seedu.budgetbuddy.commons;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Canonicalizes category names into small int ids, so that categories are compared with integer equality and
+ * every transaction in a category shares a single name. Categories are matched ignoring case, and the first
+ * spelling registered for a category becomes its canonical name, which is the listed spelling for the expense and
+ * savings categories. Categories outside those lists, such as ones read from an edited data file, are registered
+ * the first time they are seen. Registration is thread-safe, as data files are parsed concurrently.
+ */
+public final class CategoryRegistry {
+    public static final int UNKNOWN_ID = -1;
+    public static final List<String> EXPENSE_CATEGORIES = List.of("Housing", "Groceries", "Utility", "Transport",
+            "Entertainment", "Others");
+    public static final List<String> SAVINGS_CATEGORIES = List.of("Salary", "Investments", "Gifts", "Others");
+
+    private static final Map<String, Integer> IDS_BY_KEY = new ConcurrentHashMap<>();
+    // Looks up categories in their exact spelling, which is the usual case, without lower-casing them
+    private static final Map<String, Integer> IDS_BY_SPELLING = new ConcurrentHashMap<>();
+    private static volatile String[] names = new String[16];
+    private static int size;
+
+    static {
+        EXPENSE_CATEGORIES.forEach(CategoryRegistry::getId);
+        SAVINGS_CATEGORIES.forEach(CategoryRegistry::getId);
+    }
+
+    private CategoryRegistry() {
+    }
+
+    /**
+     * Returns the id of the provided category, registering the category if it has not been seen before
+     *
+     * @param category The category, in any case
+     * @return The id of the category
+     */
+    public static int getId(String category) {
+        Integer id = IDS_BY_SPELLING.get(category);
+        if (id != null) {
+            return id;
+        }
+        id = IDS_BY_KEY.get(toKey(category));
+        return id != null ? id : register(category);
+    }
+
+    /**
+     * Returns the id of the provided category without registering it
+     *
+     * @param category The category, in any case
+     * @return The id of the category, or {@link #UNKNOWN_ID} if it has not been registered
+     */
+    public static int findId(String category) {
+        Integer id = IDS_BY_SPELLING.get(category);
+        return id != null ? id : IDS_BY_KEY.getOrDefault(toKey(category), UNKNOWN_ID);
+    }
+
+    /**
+     * Returns the canonical name of the category with the provided id
+     *
+     * @param id The id of a registered category
+     * @return The canonical name of the category
+     */
+    public static String getName(int id) {
+        return names[id];
+    }
+
+    /**
+     * Returns the canonical name of the provided category if it is one of the listed expense categories
+     *
+     * @param category The category, in any case
+     * @return The canonical name, or null if the category is not an expense category
+     */
+    public static String findExpenseCategory(String category) {
+        int id = findId(category);
+        return id != UNKNOWN_ID && isExpenseCategory(id) ? names[id] : null;
+    }
+
+    /**
+     * Returns the canonical name of the provided category if it is one of the listed savings categories
+     *
+     * @param category The category, in any case
+     * @return The canonical name, or null if the category is not a savings category
+     */
+    public static String findSavingsCategory(String category) {
+        int id = findId(category);
+        return id != UNKNOWN_ID && isSavingsCategory(id) ? names[id] : null;
+    }
+
+    public static boolean isExpenseCategory(int id) {
+        return EXPENSE_CATEGORIES.contains(names[id]);
+    }
+
+    public static boolean isSavingsCategory(int id) {
+        return SAVINGS_CATEGORIES.contains(names[id]);
+    }
+
+    private static synchronized int register(String category) {
+        String key = toKey(category);
+        Integer id = IDS_BY_KEY.get(key);
+        if (id != null) {
+            return id;
+        }
+        if (size == names.length) {
+            names = Arrays.copyOf(names, size * 2);
+        }
+        // The name is published before the id, so that a thread which finds the id also finds the name
+        names[size] = category;
+        IDS_BY_SPELLING.put(category, size);
+        IDS_BY_KEY.put(key, size);
+        return size++;
+    }
+
+    private static String toKey(String category) {
+        return category.toLowerCase(Locale.ROOT);
+    }
+}
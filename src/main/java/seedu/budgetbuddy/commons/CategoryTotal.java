@@ -0,0 +1,107 @@
+package seedu.budgetbuddy.commons;
+
+/**
+ * Represents the running totals of the expenses in one category of an {@link ExpenseList}: their sum, count, and
+ * smallest and largest amounts, all in minor units of the default currency. The sum is kept as a
+ * {@link CurrencyTotal}, and it and the count are updated exactly as expenses are added and removed. Removing the
+ * smallest or largest amount leaves the range stale, and it is recomputed from the expenses the next time it is read.
+ */
+public class CategoryTotal {
+    private final CurrencyTotal sum = new CurrencyTotal();
+    private int count;
+    private long min = Long.MAX_VALUE;
+    private long max = Long.MIN_VALUE;
+    private boolean isRangeStale;
+
+    /**
+     * Returns the sum of the amounts in the category
+     *
+     * @return The sum in minor units of the default currency
+     */
+    public long getSum() {
+        return sum.toDefaultCurrency();
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the smallest amount in the category
+     *
+     * @return The smallest amount in minor units, or 0 if there are no expenses in the category
+     */
+    public long getMin() {
+        assert !isRangeStale : "Range should be recomputed before it is read";
+        return count == 0 ? 0 : min;
+    }
+
+    /**
+     * Returns the largest amount in the category
+     *
+     * @return The largest amount in minor units, or 0 if there are no expenses in the category
+     */
+    public long getMax() {
+        assert !isRangeStale : "Range should be recomputed before it is read";
+        return count == 0 ? 0 : max;
+    }
+
+    boolean isRangeStale() {
+        return isRangeStale;
+    }
+
+    void add(Expense expense) {
+        sum.add(expense.getAmountInMinorUnits(), expense.getCurrency(), expense.getDateAdded());
+        count += 1;
+        if (!isRangeStale) {
+            long amount = expense.getAmountInDefaultCurrency();
+            min = Math.min(min, amount);
+            max = Math.max(max, amount);
+        }
+    }
+
+    /**
+     * Adds an amount read from the columns of the list, which leaves the range stale instead of converting the
+     * amount to update it
+     *
+     * @param amount The amount in minor units of its currency
+     * @param currencyId The id of the currency of the amount
+     * @param epochDay The epoch day the amount was added on
+     */
+    void add(long amount, short currencyId, int epochDay) {
+        sum.add(amount, currencyId, epochDay);
+        count += 1;
+        isRangeStale = true;
+    }
+
+    void remove(Expense expense) {
+        sum.remove(expense.getAmountInMinorUnits(), expense.getCurrency(), expense.getDateAdded());
+        count -= 1;
+        if (!isRangeStale) {
+            long amount = expense.getAmountInDefaultCurrency();
+            isRangeStale = amount == min || amount == max;
+        }
+    }
+
+    /**
+     * Leaves the range stale, after the default currency it is in has changed
+     */
+    void markRangeStale() {
+        isRangeStale = true;
+    }
+
+    /**
+     * Starts recomputing the range, which is done by passing every amount in the category to
+     * {@link #includeInRange(long)}
+     */
+    void resetRange() {
+        min = Long.MAX_VALUE;
+        max = Long.MIN_VALUE;
+        isRangeStale = false;
+    }
+
+    void includeInRange(long amount) {
+        min = Math.min(min, amount);
+        max = Math.max(max, amount);
+    }
+}
@@ -1,22 +1,56 @@
 package seedu.budgetbuddy.commons;
 
-import seedu.budgetbuddy.Ui;
-
+import java.util.Arrays;
 import java.util.Currency;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Logger;
 
 //@author sweijie24
+/**
+ * Converts amounts between currencies. Every currency is given a small id, shared by all converters, and the rates
+ * between every pair of currencies are precomputed into a matrix indexed by those ids whenever a rate changes, so
+ * converting an amount is an array lookup and a multiplication, and many amounts can be converted in a single loop.
+ */
 public class CurrencyConverter {
 
     private static final Logger LOGGER = Logger.getLogger(Logger.GLOBAL_LOGGER_NAME);
-    private Map<Currency, Double> exchangeRates;
-    private Ui ui = new Ui();
+    private static final Map<Currency, Short> CURRENCY_IDS = new ConcurrentHashMap<>();
+    // Indexed by currency id, and replaced by a longer copy when a currency is registered
+    private static volatile Currency[] currencies = new Currency[0];
+
+    // Indexed by currency id, NaN for the currencies without an exchange rate
+    private double[] exchangeRates = new double[0];
+    // crossRates[to][from] converts an amount in `from` into `to`, NaN if either has no exchange rate
+    private double[][] crossRates;
+    // Like crossRates, but converts minor units of `from` into minor units of `to`
+    private double[][] minorUnitsFactors;
 
     public CurrencyConverter() {
-        this.exchangeRates = new HashMap<>();
-        // Initialize exchange rates with default values
+        this(getDefaultExchangeRates());
+    }
+
+    /**
+     * Constructs a CurrencyConverter with the provided exchange rates
+     *
+     * @param exchangeRates The amount of each currency worth 1 SGD
+     * @throws IllegalArgumentException If an exchange rate is not a positive number.
+     */
+    public CurrencyConverter(Map<Currency, Double> exchangeRates) {
+        for (Map.Entry<Currency, Double> exchangeRate : exchangeRates.entrySet()) {
+            putExchangeRate(exchangeRate.getKey(), exchangeRate.getValue());
+        }
+        buildCrossRates();
+    }
+
+    /**
+     * Returns the built-in exchange rates, which are used when no other rates are provided
+     *
+     * @return The amount of each currency worth 1 SGD, in a new map
+     */
+    public static Map<Currency, Double> getDefaultExchangeRates() {
+        Map<Currency, Double> exchangeRates = new LinkedHashMap<>();
         exchangeRates.put(Currency.getInstance("SGD"), 1.0);
         exchangeRates.put(Currency.getInstance("USD"), 0.75);
         exchangeRates.put(Currency.getInstance("EUR"), 0.68);
@@ -25,218 +59,193 @@ public class CurrencyConverter {
         exchangeRates.put(Currency.getInstance("MYR"), 3.51);
         exchangeRates.put(Currency.getInstance("CNY"), 5.36);
         exchangeRates.put(Currency.getInstance("HKD"), 5.80);
+        return exchangeRates;
     }
 
-
     /**
-     * Converts an amount from one currency to another using exchange rates.
+     * Returns the id of the provided currency, assigning it the next id if it has not been seen before
      *
-     * @author sweijie24
-     * @param amount      The amount to be converted.
-     * @param fromCurrency The currency of the original amount.
-     * @param toCurrency  The currency to which the amount is to be converted.
-     * @return The converted amount in the target currency.
-     * @throws IllegalArgumentException If exchange rates are not available for one or both currencies,
-     *                                  or if exchange rates are not positive numbers.
+     * @param currency The currency
+     * @return The id of the currency, which is the same for every converter
      */
-    public double convertAmount(double amount, Currency fromCurrency, Currency toCurrency) {
-        if (!exchangeRates.containsKey(fromCurrency) || !exchangeRates.containsKey(toCurrency)) {
-            LOGGER.warning("Exchange rates not available for one or more currencies");
-            throw new IllegalArgumentException("Exchange rates not available for one or more currencies");
-        }
-        assert exchangeRates.containsKey(fromCurrency) : "Exchange rates not available for fromCurrency: "
-                + fromCurrency;
-        assert exchangeRates.containsKey(toCurrency) : "Exchange rates not available for toCurrency: " + toCurrency;
-
+    public static short getCurrencyId(Currency currency) {
+        Short id = CURRENCY_IDS.get(currency);
+        return id != null ? id : register(currency);
+    }
 
-        double fromRate = exchangeRates.get(fromCurrency);
-        double toRate = exchangeRates.get(toCurrency);
+    /**
+     * Returns the currency with the provided id
+     *
+     * @param id An id returned by {@link #getCurrencyId(Currency)}
+     * @return The currency with the id
+     */
+    public static Currency getCurrency(short id) {
+        return currencies[id];
+    }
 
-        if (fromRate <= 0 || toRate <= 0) {
-            LOGGER.warning("Exchange rates must be positive numbers");
-            throw new IllegalArgumentException("Exchange rates must be positive numbers");
-        }
-        assert fromRate > 0 : "Exchange rate for fromCurrency must be a positive number: " + fromRate;
-        assert toRate > 0 : "Exchange rate for toCurrency must be a positive number: " + toRate;
-
-        LOGGER.info("Converting " + amount + " " + fromCurrency + " to " + toCurrency);
-
-        if (!fromCurrency.equals(toCurrency)) {
-            double amountInSGD = amount / fromRate;
-            double convertedAmount = amountInSGD * toRate;
-            LOGGER.info("Conversion successful. Result: " + convertedAmount + " " + toCurrency);
-            return convertedAmount;
-        } else {
-            LOGGER.info("Same currency. No conversion needed.");
-            return amount;
+    private static synchronized short register(Currency currency) {
+        Short id = CURRENCY_IDS.get(currency);
+        if (id == null) {
+            id = (short) currencies.length;
+            Currency[] newCurrencies = Arrays.copyOf(currencies, id + 1);
+            newCurrencies[id] = currency;
+            currencies = newCurrencies;
+            CURRENCY_IDS.put(currency, id);
         }
+        return id;
     }
 
     /**
-     * Converts the currency of expenses in the given ExpenseList to the specified new currency.
-     * No conversion necessary if trying to convert to the same currency.
+     * Sets the exchange rate of a currency, which is the amount of the currency worth 1 SGD, and recomputes the
+     * rates between every pair of currencies
      *
-     * @author sweijie24
-     * @param newCurrency The new currency to convert expenses to.
-     * @param expenses    The ExpenseList containing the expenses to be converted.
-     * @throws IllegalArgumentException If the ExpenseList is null.
+     * @param currency The currency
+     * @param rate The exchange rate of the currency
+     * @throws IllegalArgumentException If the exchange rate is not a positive number.
      */
-    public void convertExpenseCurrency(Currency newCurrency, ExpenseList expenses) {
-        if (expenses == null) {
-            throw new IllegalArgumentException("ExpenseList cannot be null");
-        }
-        assert expenses != null : "ExpenseList cannot be null";
-
-        if (DefaultCurrency.getDefaultCurrency() == newCurrency) {
-            System.out.println("Same currency for Expenses. No conversion needed");
-        } else {
-            for (Expense expense : expenses.getExpenses()) {
-                if (expense == null) {
-                    LOGGER.warning("Skipping null expense");
-                    System.out.println("Skipping null expense");
-                    continue;
-                }
-
-                try {
-                    double convertedAmount = convertAmount(expense.getAmount(), expense.getCurrency(), newCurrency);
-                    expense.setAmount(convertedAmount);
-                    expense.setCurrency(newCurrency);
-                } catch (IllegalArgumentException e) {
-                    LOGGER.severe("Error converting amount for expense: " + e.getMessage());
-                    System.out.println("Error converting amount for expense: " + e.getMessage());
-                }
-            }
-            System.out.println("Default currency for Expenses changed to " + newCurrency);
-        }
+    public void setExchangeRate(Currency currency, double rate) {
+        putExchangeRate(currency, rate);
+        buildCrossRates();
     }
 
-    public void convertSplitExpenseCurrency(Currency newCurrency, SplitExpenseList splitExpenses) {
-        if (splitExpenses == null) {
-            throw new IllegalArgumentException("SplitExpenseList cannot be null");
+    private void putExchangeRate(Currency currency, double rate) {
+        if (!(rate > 0) || Double.isInfinite(rate)) {
+            LOGGER.warning("Exchange rates must be positive numbers");
+            throw new IllegalArgumentException("Exchange rates must be positive numbers");
+        }
+        int id = getCurrencyId(currency);
+        if (id >= exchangeRates.length) {
+            int oldLength = exchangeRates.length;
+            exchangeRates = Arrays.copyOf(exchangeRates, id + 1);
+            Arrays.fill(exchangeRates, oldLength, exchangeRates.length, Double.NaN);
         }
+        exchangeRates[id] = rate;
+    }
 
-        assert splitExpenses != null : "SplitExpenseList cannot be null";
-
-        if (DefaultCurrency.getDefaultCurrency() == newCurrency) {
-            System.out.println("Same currency for Split Expenses. No Conversion needed");
-            return;
-        } else { // Convert the currency of each split expense in the SplitExpenseList
-            for (SplitExpense splitExpense : splitExpenses.getSplitExpenses()) {
-                if (splitExpense == null) {
-                    LOGGER.warning("Skipping null split expense");
-                    System.out.println("Skipping null split expense");
-                    continue;
-                }
-
-                try {
-                    double convertedAmount = convertAmount(splitExpense.getAmount(), splitExpense.getCurrency(), 
-                        newCurrency);
-                    splitExpense.setAmount(convertedAmount);
-                    splitExpense.setCurrency(newCurrency);
-                } catch (IllegalArgumentException e) {
-                    LOGGER.severe("Error converting amount for split expense: " + e.getMessage());
-                    System.out.println("Error converting amount for split expense: " + e.getMessage());
-                }
+    private void buildCrossRates() {
+        int size = exchangeRates.length;
+        crossRates = new double[size][size];
+        minorUnitsFactors = new double[size][size];
+        for (int to = 0; to < size; to++) {
+            int toDigits = Money.getFractionDigits(getCurrency((short) to));
+            for (int from = 0; from < size; from++) {
+                int fromDigits = Money.getFractionDigits(getCurrency((short) from));
+                // NaN rates propagate to mark the pairs without a rate
+                crossRates[to][from] = exchangeRates[to] / exchangeRates[from];
+                minorUnitsFactors[to][from] = crossRates[to][from] * Math.pow(10, toDigits - fromDigits);
             }
-            System.out.println("Default currency for Split Expenses changed to " + newCurrency);
         }
     }
 
     /**
-     * Converts the currency of savings in the given SavingList to the specified new currency.
-     * No conversion necessary if trying to convert to the same currency.
+     * Returns true if exchange rates are available for the provided currency
      *
-     * @author sweijie24
-     * @param newCurrency The new currency to convert savings to.
-     * @param savings     The SavingList containing the savings to be converted.
-     * @throws IllegalArgumentException If the SavingList is null.
+     * @param currency The currency to check
+     * @return true if amounts can be converted to and from the currency, else false
      */
-    public void convertSavingCurrency(Currency newCurrency, SavingList savings) {
-        if (savings == null) {
-            throw new IllegalArgumentException("SavingList cannot be null");
-        }
-        assert savings != null : "SavingList cannot be null";
-
-        if (DefaultCurrency.getDefaultCurrency() == newCurrency) {
-            System.out.println("Same currency for Savings. No conversion needed");
-        } else {
-            for (Saving saving : savings.getSavings()) {
-                if (saving == null) {
-                    LOGGER.warning("Skipping null saving");
-                    System.out.println("Skipping null saving");
-                    continue;
-                }
-
-                try {
-                    double convertedAmount = convertAmount(saving.getAmount(), saving.getCurrency(), newCurrency);
-                    saving.setAmount(convertedAmount);
-                    saving.setCurrency(newCurrency);
-                } catch (IllegalArgumentException e) {
-                    LOGGER.severe("Error converting amount for saving: " + e.getMessage());
-                    System.out.println("Error converting amount for saving: " + e.getMessage());
-                }
-            }
-            System.out.println("Default currency for Savings changed to " + newCurrency);
-        }
+    public boolean isSupported(Currency currency) {
+        int id = getCurrencyId(currency);
+        return id < exchangeRates.length && !Double.isNaN(exchangeRates[id]);
     }
 
-    // @@author itsmejr257
-    public void convertRecurringExpensesCurrency(Currency newCurrency, RecurringExpenseLists recurringExpenseLists) {
-        assert recurringExpenseLists != null : "RecurringExpenseLists cannot be null";
+    /**
+     * Converts an amount from one currency to another using exchange rates.
+     *
+     * @author sweijie24
+     * @param amount      The amount to be converted.
+     * @param fromCurrency The currency of the original amount.
+     * @param toCurrency  The currency to which the amount is to be converted.
+     * @return The converted amount in the target currency.
+     * @throws IllegalArgumentException If exchange rates are not available for one or both currencies.
+     */
+    public double convertAmount(double amount, Currency fromCurrency, Currency toCurrency) {
+        return amount * getRate(crossRates, fromCurrency, toCurrency);
+    }
 
-        if (DefaultCurrency.getDefaultCurrency() == newCurrency) {
-            System.out.println("Same currency for Recurring Expenses. No Conversion needed");
-            return;
+    /**
+     * Converts an amount in minor units from one currency to another, rounding the result half up to the minor
+     * units of the target currency.
+     *
+     * @param amount The amount to be converted, in minor units of `fromCurrency`.
+     * @param fromCurrency The currency of the original amount.
+     * @param toCurrency The currency to which the amount is to be converted.
+     * @return The converted amount in minor units of the target currency.
+     * @throws IllegalArgumentException If exchange rates are not available for one or both currencies.
+     */
+    public long convertAmountInMinorUnits(long amount, Currency fromCurrency, Currency toCurrency) {
+        if (fromCurrency.equals(toCurrency)) {
+            return amount;
         }
+        return Math.round(amount * getMinorUnitsFactor(fromCurrency, toCurrency));
+    }
 
-        int numberOfExpenseList = recurringExpenseLists.getSize();
-
-        ui.printDivider();
-        System.out.println("Conversion for expenses in Recurring Expenses : ");
+    /**
+     * Returns the factor which converts an amount in minor units of one currency into minor units of another,
+     * so that converting many amounts between the same currencies takes one multiplication each.
+     *
+     * @param fromCurrency The currency of the original amounts.
+     * @param toCurrency The currency to which the amounts are to be converted.
+     * @return The number of minor units of `toCurrency` per minor unit of `fromCurrency`.
+     * @throws IllegalArgumentException If exchange rates are not available for one or both currencies.
+     */
+    public double getMinorUnitsFactor(Currency fromCurrency, Currency toCurrency) {
+        return getRate(minorUnitsFactors, fromCurrency, toCurrency);
+    }
 
-        for (int i = 0; i < numberOfExpenseList; i++) {
-            int arrayIndexAsListNumber = i + 1;
-            ExpenseList reccuringExpenseList = recurringExpenseLists.getExpenseListAtListNumber(arrayIndexAsListNumber);
-            System.out.print("Changing the default currency for " + reccuringExpenseList.getName() + ": ");
-            convertExpenseCurrency(newCurrency, reccuringExpenseList);
+    /**
+     * Converts amounts in minor units of their currencies into minor units of the target currency in place,
+     * rounding each half up. The amounts are converted in a single loop over the arrays, without allocating.
+     *
+     * @param amounts The amounts in minor units, which are replaced by the converted amounts
+     * @param currencyIds The id of the currency of each amount, see {@link #getCurrencyId(Currency)}
+     * @param toCurrency The currency to which the amounts are to be converted.
+     * @throws IllegalArgumentException If exchange rates are not available for a currency, in which case the
+     *                                  amounts before it have already been converted.
+     */
+    public void convertAll(long[] amounts, short[] currencyIds, Currency toCurrency) {
+        assert amounts.length <= currencyIds.length : "Every amount should have a currency";
+        int toId = getCurrencyId(toCurrency);
+        double[] factors = toId < minorUnitsFactors.length ? minorUnitsFactors[toId] : new double[0];
+        for (int i = 0; i < amounts.length; i++) {
+            int fromId = currencyIds[i];
+            if (fromId == toId) {
+                continue;
+            }
+            double factor = fromId < factors.length ? factors[fromId] : Double.NaN;
+            if (Double.isNaN(factor)) {
+                throw createUnavailableRateException();
+            }
+            amounts[i] = Math.round(amounts[i] * factor);
         }
-
-        System.out.println("Default currency for Recurring Expenses changed to " + newCurrency);
-        ui.printDivider();
     }
-    // @@author
-
 
-    public void convertBudgetCurrency(Currency newCurrency, ExpenseList expenseList) {
-        if (expenseList == null) {
-            throw new IllegalArgumentException("ExpenseList cannot be null");
+    /**
+     * Converts an amount in minor units between the currencies with the provided ids, rounding half up
+     */
+    long convertAmountInMinorUnits(long amount, int fromId, int toId) {
+        if (fromId == toId) {
+            return amount;
         }
-
-        // Check if the new currency is the same as the default currency to avoid unnecessary conversion
-        if (DefaultCurrency.getDefaultCurrency().equals(newCurrency)) {
-            System.out.println("Same currency. No conversion needed for budgets.");
-            return;
+        double factor = fromId < minorUnitsFactors.length && toId < minorUnitsFactors.length
+                ? minorUnitsFactors[toId][fromId] : Double.NaN;
+        if (Double.isNaN(factor)) {
+            throw createUnavailableRateException();
         }
+        return Math.round(amount * factor);
+    }
 
-        // Iterate over each budget in the ExpenseList and convert its currency
-        for (Budget budget : expenseList.getBudgets()) {
-            // Assuming the budget amount is in the default currency
-            Currency defaultCurrency = DefaultCurrency.getDefaultCurrency();
-            try {
-                // Convert the budget amount from the default currency to the new currency
-                double convertedBudgetAmount = convertAmount(budget.getBudget(), defaultCurrency, newCurrency);
-                // Update the budget amount with the converted value
-                budget.setBudget(convertedBudgetAmount);
-            } catch (IllegalArgumentException e) {
-                // Handle any IllegalArgumentException thrown during conversion
-                LOGGER.severe("Error converting budget amount for category: " + budget.getCategory()
-                                    + "; " + e.getMessage());
-                System.out.println("Error converting budget amount for category: " + budget.getCategory()
-                                    + "; " + e.getMessage());
-            }
+    private double getRate(double[][] rates, Currency fromCurrency, Currency toCurrency) {
+        int fromId = getCurrencyId(fromCurrency);
+        int toId = getCurrencyId(toCurrency);
+        double rate = fromId < rates.length && toId < rates.length ? rates[toId][fromId] : Double.NaN;
+        if (Double.isNaN(rate)) {
+            throw createUnavailableRateException();
         }
-
-        System.out.println("Budgets successfully converted to " + newCurrency.getCurrencyCode());
+        return rate;
     }
 
+    private static IllegalArgumentException createUnavailableRateException() {
+        LOGGER.warning("Exchange rates not available for one or more currencies");
+        return new IllegalArgumentException("Exchange rates not available for one or more currencies");
+    }
 }
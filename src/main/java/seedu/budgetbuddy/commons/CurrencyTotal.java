@@ -0,0 +1,110 @@
+package seedu.budgetbuddy.commons;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Currency;
+
+/**
+ * Represents a total of amounts in several currencies. The amounts are kept as exact partial sums in minor units of
+ * their own currencies, one for each currency and exchange rate snapshot of the {@link ExchangeRateTable} which
+ * converts them, and each partial sum is converted into the default currency once when the total is read. Reading a
+ * total therefore takes one conversion per currency and snapshot instead of one per amount, and the partial sums do
+ * not change when the default currency does.
+ */
+public class CurrencyTotal {
+    private final ExchangeRateTable exchangeRates;
+    // sums[snapshot][currencyId], null for the snapshots without amounts
+    private final long[][] sums;
+    // The snapshot found last is in effect from startDay, inclusive, until endDay, exclusive
+    private int snapshot;
+    private int startDay;
+    private int endDay;
+
+    /**
+     * Constructs an empty CurrencyTotal, which converts its amounts at the exchange rates of {@link DefaultCurrency}
+     */
+    public CurrencyTotal() {
+        this.exchangeRates = DefaultCurrency.getExchangeRates();
+        this.sums = new long[exchangeRates.size()][];
+    }
+
+    /**
+     * Adds an amount to the total
+     *
+     * @param amount The amount in minor units of `currency`
+     * @param currency The currency of the amount
+     * @param date The date whose exchange rates convert the amount, or null for the latest rates
+     */
+    public void add(long amount, Currency currency, LocalDate date) {
+        int snapshot = date == null ? sums.length - 1 : findSnapshot((int) date.toEpochDay());
+        addToSnapshot(amount, CurrencyConverter.getCurrencyId(currency), snapshot);
+    }
+
+    /**
+     * Adds an amount to the total, which is converted at the exchange rates in effect on the provided day
+     *
+     * @param amount The amount in minor units of its currency
+     * @param currencyId The id of the currency of the amount, see {@link CurrencyConverter#getCurrencyId}
+     * @param epochDay The epoch day whose exchange rates convert the amount
+     */
+    public void add(long amount, short currencyId, int epochDay) {
+        addToSnapshot(amount, currencyId, findSnapshot(epochDay));
+    }
+
+    /**
+     * Removes an amount which was added to the total
+     *
+     * @param amount The amount in minor units of `currency`
+     * @param currency The currency of the amount
+     * @param date The date the amount was added with, or null if it was added without one
+     */
+    public void remove(long amount, Currency currency, LocalDate date) {
+        add(-amount, currency, date);
+    }
+
+    /**
+     * Returns the total converted into minor units of the default currency
+     *
+     * @return The total in minor units of the default currency
+     * @throws IllegalArgumentException If exchange rates are not available for a currency
+     */
+    public long toDefaultCurrency() {
+        int toId = CurrencyConverter.getCurrencyId(DefaultCurrency.getDefaultCurrency());
+        long total = 0;
+        for (int snapshot = 0; snapshot < sums.length; snapshot++) {
+            if (sums[snapshot] == null) {
+                continue;
+            }
+            CurrencyConverter converter = exchangeRates.getSnapshotConverter(snapshot);
+            for (int currencyId = 0; currencyId < sums[snapshot].length; currencyId++) {
+                if (sums[snapshot][currencyId] != 0) {
+                    total += converter.convertAmountInMinorUnits(sums[snapshot][currencyId], currencyId, toId);
+                }
+            }
+        }
+        return total;
+    }
+
+    private void addToSnapshot(long amount, int currencyId, int snapshot) {
+        long[] sumsByCurrency = sums[snapshot];
+        if (sumsByCurrency == null || currencyId >= sumsByCurrency.length) {
+            sumsByCurrency = sumsByCurrency == null ? new long[currencyId + 1]
+                    : Arrays.copyOf(sumsByCurrency, currencyId + 1);
+            sums[snapshot] = sumsByCurrency;
+        }
+        sumsByCurrency[currencyId] += amount;
+    }
+
+    /**
+     * Returns the snapshot in effect on the provided day, without searching for it again if it is the same
+     * snapshot as for the previous amount, which is usual as expenses are added in date order
+     */
+    private int findSnapshot(int epochDay) {
+        if (epochDay < startDay || epochDay >= endDay) {
+            snapshot = exchangeRates.findSnapshot(epochDay);
+            startDay = exchangeRates.getEffectiveDay(snapshot);
+            endDay = snapshot + 1 < sums.length ? exchangeRates.getEffectiveDay(snapshot + 1) : Integer.MAX_VALUE;
+        }
+        return snapshot;
+    }
+}
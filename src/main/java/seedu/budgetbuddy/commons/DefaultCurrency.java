@@ -1,11 +1,21 @@
 package seedu.budgetbuddy.commons;
 
+import java.time.LocalDate;
 import java.util.Currency;
 
 //@author sweijie24
+/**
+ * Holds the default currency, which every amount is shown and totalled in. Amounts are stored in the currency they
+ * were added in, and are converted into the default currency when they are read, so that changing the default
+ * currency does not rewrite them. Amounts with a date are converted at the rates in effect on that date, from an
+ * {@link ExchangeRateTable} loaded once and shared by every command, and amounts without one at the latest rates.
+ * The base currency is the currency of stored amounts which do not name their currency.
+ */
 public class DefaultCurrency {
 
+    private static ExchangeRateTable exchangeRates = new ExchangeRateTable();
     private static Currency defaultCurrency = Currency.getInstance("SGD");
+    private static Currency baseCurrency = defaultCurrency;
 
     public static Currency getDefaultCurrency() {
         return defaultCurrency;
@@ -13,4 +23,81 @@ public class DefaultCurrency {
     public static void setDefaultCurrency(Currency currency) {
         defaultCurrency = currency;
     }
+
+    public static Currency getBaseCurrency() {
+        return baseCurrency;
+    }
+
+    public static void setBaseCurrency(Currency currency) {
+        baseCurrency = currency;
+    }
+
+    public static ExchangeRateTable getExchangeRates() {
+        return exchangeRates;
+    }
+
+    public static void setExchangeRates(ExchangeRateTable exchangeRates) {
+        DefaultCurrency.exchangeRates = exchangeRates;
+    }
+
+    /**
+     * Returns the converter of the latest exchange rates, which is shared instead of constructing a new one
+     *
+     * @return The converter of the latest rates
+     */
+    public static CurrencyConverter getCurrencyConverter() {
+        return exchangeRates.getLatestConverter();
+    }
+
+    /**
+     * Returns true if amounts in the provided currency can be converted into the default currency
+     *
+     * @param currency The currency to check
+     * @return true if exchange rates are available for the currency, else false
+     */
+    public static boolean isSupported(Currency currency) {
+        return exchangeRates.isSupported(currency);
+    }
+
+    /**
+     * Converts an amount into minor units of the default currency at the latest rates, rounding half up
+     *
+     * @param amount The amount in minor units of `currency`
+     * @param currency The currency of the amount
+     * @return The amount in minor units of the default currency
+     * @throws IllegalArgumentException If exchange rates are not available for the currency
+     */
+    public static long convert(long amount, Currency currency) {
+        return convert(amount, currency, null);
+    }
+
+    /**
+     * Converts an amount into minor units of the default currency at the rates in effect on the provided date,
+     * rounding half up
+     *
+     * @param amount The amount in minor units of `currency`
+     * @param currency The currency of the amount
+     * @param date The date of the amount, or null to use the latest rates
+     * @return The amount in minor units of the default currency
+     * @throws IllegalArgumentException If exchange rates are not available for the currency
+     */
+    public static long convert(long amount, Currency currency, LocalDate date) {
+        if (currency == defaultCurrency) {
+            return amount;
+        }
+        return exchangeRates.getConverter(date).convertAmountInMinorUnits(amount, currency, defaultCurrency);
+    }
+
+    /**
+     * Converts amounts into minor units of the default currency in place, each at the rates in effect on its day,
+     * rounding half up
+     *
+     * @param amounts The amounts in minor units, which are replaced by the converted amounts
+     * @param currencyIds The id of the currency of each amount, see {@link CurrencyConverter#getCurrencyId}
+     * @param epochDays The epoch day of each amount
+     * @throws IllegalArgumentException If exchange rates are not available for a currency
+     */
+    public static void convertAll(long[] amounts, short[] currencyIds, int[] epochDays) {
+        exchangeRates.convertAll(amounts, currencyIds, epochDays, defaultCurrency);
+    }
 }
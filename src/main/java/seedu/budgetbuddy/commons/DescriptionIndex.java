@@ -0,0 +1,174 @@
+package seedu.budgetbuddy.commons;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Indexes the descriptions of the expenses in an {@link ExpenseList} by their trigrams, the runs of three
+ * characters in their lower case form. Each trigram has a posting list of the rows, which are positions in the
+ * list, whose description contains it. A lower case query of at least three characters can only be contained in
+ * descriptions which have all of its trigrams, so intersecting their posting lists gives every matching row, along
+ * with rows which have the trigrams in a different order. The candidates still have to be checked with
+ * {@link String#contains(CharSequence)}, which keeps the results exactly the same as a scan.
+ */
+public class DescriptionIndex {
+    public static final int GRAM_LENGTH = 3;
+
+    private final Map<Long, Postings> postingsByGram = new HashMap<>();
+
+    /**
+     * Holds the rows containing a trigram as a sorted array of row positions
+     */
+    private static class Postings {
+        private int[] rows = new int[2];
+        private int size;
+
+        private void add(int row) {
+            if (size > 0 && rows[size - 1] >= row) {
+                insert(row);
+                return;
+            }
+            if (size == rows.length) {
+                rows = Arrays.copyOf(rows, size * 2);
+            }
+            rows[size++] = row;
+        }
+
+        private void insert(int row) {
+            int index = Arrays.binarySearch(rows, 0, size, row);
+            if (index >= 0) {
+                return; // The trigram occurs more than once in the description
+            }
+            int insertionPoint = -index - 1;
+            if (size == rows.length) {
+                rows = Arrays.copyOf(rows, size * 2);
+            }
+            System.arraycopy(rows, insertionPoint, rows, insertionPoint + 1, size - insertionPoint);
+            rows[insertionPoint] = row;
+            size++;
+        }
+
+        private void remove(int row) {
+            int index = Arrays.binarySearch(rows, 0, size, row);
+            if (index >= 0) {
+                System.arraycopy(rows, index + 1, rows, index, size - index - 1);
+                size--;
+            }
+        }
+
+        private boolean contains(int row) {
+            return Arrays.binarySearch(rows, 0, size, row) >= 0;
+        }
+    }
+
+    /**
+     * Returns true if the provided query is long enough to be answered by the index
+     *
+     * @param lowerCaseQuery The query, in lower case
+     * @return true if the query has at least one trigram, else false
+     */
+    public static boolean canSearch(String lowerCaseQuery) {
+        return lowerCaseQuery.length() >= GRAM_LENGTH;
+    }
+
+    /**
+     * Adds the description of the expense at the provided row to the index
+     *
+     * @param row The position of the expense in its list
+     * @param description The description of the expense
+     */
+    public void add(int row, String description) {
+        String lowerCaseDescription = description.toLowerCase();
+        for (int i = 0; i + GRAM_LENGTH <= lowerCaseDescription.length(); i++) {
+            postingsByGram.computeIfAbsent(toGram(lowerCaseDescription, i), gram -> new Postings()).add(row);
+        }
+    }
+
+    /**
+     * Removes the description of the expense at the provided row from the index
+     *
+     * @param row The position of the expense in its list
+     * @param description The description of the expense, as it was added to the index
+     */
+    public void remove(int row, String description) {
+        String lowerCaseDescription = description.toLowerCase();
+        for (int i = 0; i + GRAM_LENGTH <= lowerCaseDescription.length(); i++) {
+            Long gram = toGram(lowerCaseDescription, i);
+            Postings postings = postingsByGram.get(gram);
+            if (postings == null) {
+                continue;
+            }
+            postings.remove(row);
+            if (postings.size == 0) {
+                postingsByGram.remove(gram);
+            }
+        }
+    }
+
+    /**
+     * Returns an upper bound on the number of rows returned by {@link #findCandidates(String)} for the provided
+     * query, without intersecting any posting lists
+     *
+     * @param lowerCaseQuery The query, in lower case, which is at least {@link #GRAM_LENGTH} characters long
+     * @return The length of the shortest posting list of the trigrams of the query
+     */
+    public int estimateCandidates(String lowerCaseQuery) {
+        assert canSearch(lowerCaseQuery) : "Query should have at least one trigram";
+        int estimate = Integer.MAX_VALUE;
+        for (int i = 0; i + GRAM_LENGTH <= lowerCaseQuery.length(); i++) {
+            Postings postings = postingsByGram.get(toGram(lowerCaseQuery, i));
+            if (postings == null) {
+                return 0;
+            }
+            estimate = Math.min(estimate, postings.size);
+        }
+        return estimate;
+    }
+
+    /**
+     * Returns the rows whose descriptions contain every trigram of the provided query, in ascending order. Every
+     * row whose description contains the query is included.
+     *
+     * @param lowerCaseQuery The query, in lower case, which is at least {@link #GRAM_LENGTH} characters long
+     * @return The candidate rows, sorted in ascending order
+     */
+    public int[] findCandidates(String lowerCaseQuery) {
+        assert canSearch(lowerCaseQuery) : "Query should have at least one trigram";
+        int numberOfGrams = lowerCaseQuery.length() - GRAM_LENGTH + 1;
+        Postings[] postingsOfQuery = new Postings[numberOfGrams];
+        for (int i = 0; i < numberOfGrams; i++) {
+            Postings postings = postingsByGram.get(toGram(lowerCaseQuery, i));
+            if (postings == null) {
+                return new int[0];
+            }
+            postingsOfQuery[i] = postings;
+        }
+        // Checking the rows of the shortest posting list against the others keeps the work proportional to it
+        Arrays.sort(postingsOfQuery, (first, second) -> Integer.compare(first.size, second.size));
+
+        Postings shortest = postingsOfQuery[0];
+        int[] candidates = new int[shortest.size];
+        int numberOfCandidates = 0;
+        for (int i = 0; i < shortest.size; i++) {
+            int row = shortest.rows[i];
+            if (isInAll(postingsOfQuery, row)) {
+                candidates[numberOfCandidates++] = row;
+            }
+        }
+        return Arrays.copyOf(candidates, numberOfCandidates);
+    }
+
+    private static boolean isInAll(Postings[] postingsOfQuery, int row) {
+        for (int i = 1; i < postingsOfQuery.length; i++) {
+            if (!postingsOfQuery[i].contains(row)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Long toGram(String text, int start) {
+        return ((long) text.charAt(start) << 32) | ((long) text.charAt(start + 1) << 16) | text.charAt(start + 2);
+    }
+}
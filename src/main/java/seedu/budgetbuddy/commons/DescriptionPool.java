@@ -0,0 +1,107 @@
+package seedu.budgetbuddy.commons;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Deduplicates the descriptions of expenses, split expenses and recurring expenses, so that a description which is
+ * repeated across many expenses, such as a merchant or "rent", is held in memory once. The first string seen with
+ * a description is kept and returned for every later equal description, and the duplicates are left to be
+ * collected. The pool holds at most {@link #MAX_DESCRIPTIONS} descriptions, after which new descriptions are not
+ * pooled, so that a history of mostly unique descriptions does not grow it without bound. Pooling is thread-safe,
+ * as data files are parsed concurrently.
+ */
+public final class DescriptionPool {
+    public static final int MAX_DESCRIPTIONS = 1 << 16;
+    // The object header, hash and array reference of a String, and the header and length of its array
+    private static final int STRING_OVERHEAD_BYTES = 24 + 16;
+
+    private static final Map<String, String> DESCRIPTIONS = new ConcurrentHashMap<>();
+    private static final LongAdder LOOKUPS = new LongAdder();
+    private static final LongAdder HITS = new LongAdder();
+    private static final LongAdder BYTES_SAVED = new LongAdder();
+
+    private DescriptionPool() {
+    }
+
+    /**
+     * Returns the pooled string equal to the provided description, pooling the description if it has not been
+     * seen before and the pool is not full
+     *
+     * @param description The description, which may be null
+     * @return The pooled description, or the provided description if it is not pooled
+     */
+    public static String intern(String description) {
+        if (description == null) {
+            return null;
+        }
+        LOOKUPS.increment();
+        String pooled = DESCRIPTIONS.get(description);
+        if (pooled == null) {
+            if (DESCRIPTIONS.size() >= MAX_DESCRIPTIONS) {
+                return description;
+            }
+            pooled = DESCRIPTIONS.putIfAbsent(description, description);
+            if (pooled == null) {
+                return description;
+            }
+        }
+        if (pooled != description) {
+            HITS.increment();
+            BYTES_SAVED.add(estimateSize(description));
+        }
+        return pooled;
+    }
+
+    /**
+     * Returns the number of distinct descriptions in the pool
+     *
+     * @return The number of pooled descriptions
+     */
+    public static int getDistinctCount() {
+        return DESCRIPTIONS.size();
+    }
+
+    /**
+     * Returns the number of descriptions passed to {@link #intern(String)}
+     *
+     * @return The number of descriptions looked up
+     */
+    public static long getLookupCount() {
+        return LOOKUPS.sum();
+    }
+
+    /**
+     * Returns the number of descriptions which were replaced by an equal pooled string
+     *
+     * @return The number of duplicates
+     */
+    public static long getDuplicateCount() {
+        return HITS.sum();
+    }
+
+    /**
+     * Returns an estimate of the memory taken by the duplicates, which is saved once they are collected
+     *
+     * @return The estimated number of bytes saved
+     */
+    public static long getBytesSaved() {
+        return BYTES_SAVED.sum();
+    }
+
+    /**
+     * Estimates the size of a string, which stores one byte per character if every character fits in a byte
+     */
+    private static long estimateSize(String string) {
+        int bytesPerCharacter = 1;
+        for (int i = 0; i < string.length(); i++) {
+            if (string.charAt(i) > 0xFF) {
+                bytesPerCharacter = 2;
+                break;
+            }
+        }
+        long size = STRING_OVERHEAD_BYTES + (long) string.length() * bytesPerCharacter;
+        return (size + 7) & ~7L; // Objects are aligned to 8 bytes
+    }
+}
@@ -0,0 +1,154 @@
+package seedu.budgetbuddy.commons;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Currency;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Holds dated snapshots of exchange rates, so that an amount is converted at the rates in effect on the date it was
+ * added. A snapshot takes effect on its date and lasts until the next one, and the built-in rates of
+ * {@link CurrencyConverter} are in effect before the first. The days the snapshots take effect on are kept sorted in
+ * an array, parallel to the converters holding their rates, so the snapshot of a date is found by a binary search.
+ */
+public class ExchangeRateTable {
+    // effectiveDays[i] is the epoch day snapshot i takes effect on, the built-in rates take effect before any date
+    private final int[] effectiveDays;
+    private final CurrencyConverter[] converters;
+
+    /**
+     * Constructs an ExchangeRateTable which only holds the built-in rates
+     */
+    public ExchangeRateTable() {
+        this(new TreeMap<>());
+    }
+
+    /**
+     * Constructs an ExchangeRateTable from the rates which change on each date. A currency keeps its rate until a
+     * later date changes it, and a currency without a built-in rate takes its first rate before its first date,
+     * so every snapshot can convert every currency.
+     *
+     * @param ratesByDate The amount of each currency worth 1 SGD, by the date the rates take effect on
+     * @throws IllegalArgumentException If an exchange rate is not a positive number.
+     */
+    public ExchangeRateTable(SortedMap<LocalDate, Map<Currency, Double>> ratesByDate) {
+        Map<Currency, Double> exchangeRates = CurrencyConverter.getDefaultExchangeRates();
+        for (Map<Currency, Double> changedRates : ratesByDate.values()) {
+            changedRates.forEach(exchangeRates::putIfAbsent);
+        }
+        effectiveDays = new int[ratesByDate.size() + 1];
+        converters = new CurrencyConverter[effectiveDays.length];
+        effectiveDays[0] = Integer.MIN_VALUE;
+        converters[0] = new CurrencyConverter(exchangeRates);
+
+        int snapshot = 1;
+        for (Map.Entry<LocalDate, Map<Currency, Double>> changedRates : ratesByDate.entrySet()) {
+            exchangeRates = new LinkedHashMap<>(exchangeRates);
+            exchangeRates.putAll(changedRates.getValue());
+            effectiveDays[snapshot] = (int) changedRates.getKey().toEpochDay();
+            converters[snapshot] = new CurrencyConverter(exchangeRates);
+            snapshot++;
+        }
+    }
+
+    /**
+     * Returns the number of snapshots, including the built-in rates
+     *
+     * @return The number of snapshots
+     */
+    public int size() {
+        return converters.length;
+    }
+
+    /**
+     * Returns the converter of the latest rates, which convert amounts without a date
+     *
+     * @return The converter of the latest snapshot
+     */
+    public CurrencyConverter getLatestConverter() {
+        return converters[converters.length - 1];
+    }
+
+    /**
+     * Returns the converter of the rates in effect on the provided date
+     *
+     * @param date The date, or null for the latest rates
+     * @return The converter of the snapshot in effect on the date
+     */
+    public CurrencyConverter getConverter(LocalDate date) {
+        return date == null ? getLatestConverter() : converters[findSnapshot((int) date.toEpochDay())];
+    }
+
+    /**
+     * Returns the converter of the snapshot with the provided index
+     *
+     * @param snapshot The index of the snapshot, see {@link #findSnapshot(int)}
+     * @return The converter of the snapshot
+     */
+    CurrencyConverter getSnapshotConverter(int snapshot) {
+        return converters[snapshot];
+    }
+
+    /**
+     * Returns the epoch day the snapshot with the provided index takes effect on
+     *
+     * @param snapshot The index of the snapshot, see {@link #findSnapshot(int)}
+     * @return The epoch day, or {@link Integer#MIN_VALUE} for the built-in rates
+     */
+    int getEffectiveDay(int snapshot) {
+        return effectiveDays[snapshot];
+    }
+
+    public boolean isSupported(Currency currency) {
+        return getLatestConverter().isSupported(currency);
+    }
+
+    /**
+     * Converts amounts in minor units of their currencies into minor units of the target currency in place, each
+     * at the rates in effect on its day, rounding half up. Consecutive amounts from the same snapshot, which is
+     * usual as expenses are added in date order, are converted without searching for it again.
+     *
+     * @param amounts The amounts in minor units, which are replaced by the converted amounts
+     * @param currencyIds The id of the currency of each amount, see {@link CurrencyConverter#getCurrencyId}
+     * @param epochDays The epoch day of each amount
+     * @param toCurrency The currency to which the amounts are to be converted
+     * @throws IllegalArgumentException If exchange rates are not available for a currency
+     */
+    public void convertAll(long[] amounts, short[] currencyIds, int[] epochDays, Currency toCurrency) {
+        if (converters.length == 1) {
+            converters[0].convertAll(amounts, currencyIds, toCurrency);
+            return;
+        }
+        assert amounts.length <= epochDays.length : "Every amount should have a day";
+        int toId = CurrencyConverter.getCurrencyId(toCurrency);
+        CurrencyConverter converter = converters[0];
+        // The snapshot found last is in effect from startDay, inclusive, until endDay, exclusive
+        int startDay = 0;
+        int endDay = 0;
+        for (int i = 0; i < amounts.length; i++) {
+            if (currencyIds[i] == toId) {
+                continue;
+            }
+            int day = epochDays[i];
+            if (day < startDay || day >= endDay) {
+                int snapshot = findSnapshot(day);
+                converter = converters[snapshot];
+                startDay = effectiveDays[snapshot];
+                endDay = snapshot + 1 < effectiveDays.length ? effectiveDays[snapshot + 1] : Integer.MAX_VALUE;
+            }
+            amounts[i] = converter.convertAmountInMinorUnits(amounts[i], currencyIds[i], toId);
+        }
+    }
+
+    /**
+     * Returns the index of the snapshot in effect on the provided day, which is the last one taking effect on or
+     * before it
+     */
+    int findSnapshot(int epochDay) {
+        int index = Arrays.binarySearch(effectiveDays, epochDay);
+        return index >= 0 ? index : -index - 2;
+    }
+}
@@ -1,6 +1,7 @@
 package seedu.budgetbuddy.commons;
 
 import java.time.LocalDate;
+import java.util.Currency;
 
 //@author sweijie24
 public class Expense extends Transaction{
@@ -10,27 +11,40 @@ public class Expense extends Transaction{
     public Expense(LocalDate dateAdded, String category, double amount, String description) {
         super(category, amount);
         this.dateAdded = dateAdded;
-        this.description = description;
+        this.description = DescriptionPool.intern(description);
+    }
+    public Expense(LocalDate dateAdded, String category, long amount, Currency currency, String description) {
+        super(category, amount, currency);
+        this.dateAdded = dateAdded;
+        this.description = DescriptionPool.intern(description);
     }
     public Expense(String category, double amount, String description) {
         super(category, amount);
-        this.description = description;
+        this.description = DescriptionPool.intern(description);
         this.dateAdded = LocalDate.now();
     }
     public LocalDate getDateAdded() {
         return dateAdded;
     }
 
+    /**
+     * Returns the date the expense was added, so that it is converted at the rates in effect on that date
+     */
+    @Override
+    protected LocalDate getExchangeRateDate() {
+        return dateAdded;
+    }
+
     public String getDescription(){
         return description;
     }
 
     public void setDescription(String description){
-        this.description = description;
+        this.description = DescriptionPool.intern(description);
     }
 
     @Override
     public String toString() {
-        return "Category: " + category + " Amount: " + amount + " Description: " + description;
+        return "Category: " + getCategory() + " Amount: " + getAmount() + " Description: " + description;
     }
 }
@@ -0,0 +1,104 @@
+package seedu.budgetbuddy.commons;
+
+import java.time.LocalDate;
+import java.util.Currency;
+
+/**
+ * Represents a single change made to an ExpenseList, which can be appended to the expense journal instead of
+ * rewriting the whole expense file. The details of the expense are copied when the change is made, so a change
+ * is not affected by later edits to the same expense.
+ */
+public class ExpenseChange {
+
+    /**
+     * The kinds of changes that can be made to an ExpenseList
+     */
+    public enum Type {
+        ADD, EDIT, DELETE
+    }
+
+    private final Type type;
+    private final int index;
+    private final LocalDate dateAdded;
+    private final String category;
+    private final long amount;
+    private final Currency currency;
+    private final String description;
+
+    private ExpenseChange(Type type, int index, LocalDate dateAdded, String category, long amount,
+                          Currency currency, String description) {
+        this.type = type;
+        this.index = index;
+        this.dateAdded = dateAdded;
+        this.category = category;
+        this.amount = amount;
+        this.currency = currency;
+        this.description = description;
+    }
+
+    /**
+     * Creates a change representing the provided expense being added to the end of the list
+     *
+     * @param expense The expense that was added
+     * @return The ADD change
+     */
+    public static ExpenseChange createAdd(Expense expense) {
+        return new ExpenseChange(Type.ADD, -1, expense.getDateAdded(), expense.getCategory(),
+                expense.getAmountInMinorUnits(), expense.getCurrency(), expense.getDescription());
+    }
+
+    /**
+     * Creates a change representing the expense at the provided index being edited to the details of `expense`
+     *
+     * @param index The 0-based index of the edited expense
+     * @param expense The expense after it was edited
+     * @return The EDIT change
+     */
+    public static ExpenseChange createEdit(int index, Expense expense) {
+        return new ExpenseChange(Type.EDIT, index, expense.getDateAdded(), expense.getCategory(),
+                expense.getAmountInMinorUnits(), expense.getCurrency(), expense.getDescription());
+    }
+
+    /**
+     * Creates a change representing the expense at the provided index being deleted
+     *
+     * @param index The 0-based index of the deleted expense
+     * @return The DELETE change
+     */
+    public static ExpenseChange createDelete(int index) {
+        return new ExpenseChange(Type.DELETE, index, null, null, 0, null, null);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public LocalDate getDateAdded() {
+        return dateAdded;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    /**
+     * Returns the amount of the expense after the change, in minor units of its currency
+     *
+     * @return The amount in minor units
+     */
+    public long getAmountInMinorUnits() {
+        return amount;
+    }
+
+    public Currency getCurrency() {
+        return currency;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
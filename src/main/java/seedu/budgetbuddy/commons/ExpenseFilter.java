@@ -0,0 +1,100 @@
+package seedu.budgetbuddy.commons;
+
+import java.time.YearMonth;
+
+/**
+ * Represents the criteria which the expenses found by a search have to match, which are shared by the find,
+ * bulk delete and bulk edit commands. Every criterion is optional, and an expense matches if it meets all of the
+ * criteria which are given.
+ */
+public class ExpenseFilter {
+    private final String description;
+    private final Double minAmount;
+    private final Double maxAmount;
+    private final String category;
+    private final YearMonth fromMonth;
+    private final YearMonth toMonth;
+    private final String descriptionInLowerCase;
+    private final int categoryId;
+
+    /**
+     * Constructs an ExpenseFilter with the provided criteria
+     *
+     * @param description The text the description has to contain, ignoring case, or null or empty for any
+     * @param minAmount The minimum amount, or null if there is no minimum
+     * @param maxAmount The maximum amount, or null if there is no maximum
+     * @param category The category, or null for any category
+     * @param fromMonth The first month the expense can be added in, or null if there is no first month
+     * @param toMonth The last month the expense can be added in, or null if there is no last month
+     */
+    public ExpenseFilter(String description, Double minAmount, Double maxAmount, String category,
+                         YearMonth fromMonth, YearMonth toMonth) {
+        assert minAmount == null || maxAmount == null || minAmount <= maxAmount
+                : "Minimum Amount must be smaller than or equals to Max Amount if both are not null";
+        assert fromMonth == null || toMonth == null || !fromMonth.isAfter(toMonth)
+                : "First month must not be after the last month if both are not null";
+        this.description = description == null ? "" : description;
+        this.minAmount = minAmount;
+        this.maxAmount = maxAmount;
+        this.category = category;
+        this.fromMonth = fromMonth;
+        this.toMonth = toMonth;
+        this.descriptionInLowerCase = this.description.toLowerCase();
+        this.categoryId = category == null ? CategoryRegistry.UNKNOWN_ID : CategoryRegistry.findId(category);
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public Double getMinAmount() {
+        return minAmount;
+    }
+
+    public Double getMaxAmount() {
+        return maxAmount;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    /**
+     * Returns the id of the category in the {@link CategoryRegistry}
+     *
+     * @return The id of the category, or {@link CategoryRegistry#UNKNOWN_ID} if there is no category
+     */
+    public int getCategoryId() {
+        return categoryId;
+    }
+
+    public YearMonth getFromMonth() {
+        return fromMonth;
+    }
+
+    public YearMonth getToMonth() {
+        return toMonth;
+    }
+
+    /**
+     * Returns true if the provided expense meets every criterion of this filter
+     *
+     * @param expense The expense to check
+     * @return true if the expense matches, else false
+     */
+    public boolean matches(Expense expense) {
+        return expense.getDescription().toLowerCase().contains(descriptionInLowerCase)
+                && (minAmount == null || expense.getAmount() >= minAmount)
+                && (maxAmount == null || expense.getAmount() <= maxAmount)
+                && (category == null || expense.getCategoryId() == categoryId)
+                && isInMonths(expense);
+    }
+
+    private boolean isInMonths(Expense expense) {
+        if (fromMonth == null && toMonth == null) {
+            return true;
+        }
+        YearMonth month = YearMonth.from(expense.getDateAdded());
+        return (fromMonth == null || !month.isBefore(fromMonth)) && (toMonth == null || !month.isAfter(toMonth));
+    }
+}
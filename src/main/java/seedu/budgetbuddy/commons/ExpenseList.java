@@ -2,27 +2,48 @@ package seedu.budgetbuddy.commons;
 
 import seedu.budgetbuddy.Ui;
 import seedu.budgetbuddy.exception.BudgetBuddyException;
-import java.util.Arrays;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Currency;
 
 import java.util.List;
 import java.util.ArrayList;
-import java.util.stream.Collectors;
+import java.util.Arrays;
 import java.util.logging.Level;
 import java.util.logging.Logger;
-import java.util.Map;
-import java.util.HashMap;
-import java.util.Collections;
+import java.util.regex.Pattern;
 import java.util.Comparator;
 
 
 public class ExpenseList {
     private static final Logger LOGGER = Logger.getLogger(Logger.GLOBAL_LOGGER_NAME);
     private static final double MAX_AMOUNT = 1_000_000_000_000.00; 
+    private static final int MAX_PENDING_CHANGES = 500;
+    // The list is compacted once more than 1 in this many of its rows are deleted
+    private static final int COMPACTION_FRACTION = 4;
+    private static final Pattern AMOUNT_PATTERN = Pattern.compile("^\\d+(\\.\\d{1,2})?$");
     protected ArrayList<Expense> expenses;
-    protected ArrayList<String> categories = new ArrayList<>(Arrays.asList("Housing",
-            "Groceries", "Utility", "Transport", "Entertainment", "Others"));
+    protected List<String> categories = CategoryRegistry.EXPENSE_CATEGORIES;
     protected List<Budget> budgets;
-    
+    protected boolean isModified;
+    protected boolean isBudgetsModified;
+    protected List<ExpenseChange> pendingChanges = new ArrayList<>();
+    // Indexed by category id, null until first read, see getCategoryTotal
+    private List<CategoryTotal> categoryTotals;
+    // Null until the first search by description, see filterExpenses
+    private DescriptionIndex descriptionIndex;
+    // Null until the first search by amount, see filterExpenses
+    private AmountIndex amountIndex;
+    // The default currency the ranges of the category totals and the amount index were built in, and the exchange
+    // rates the category totals were built with, see discardIfCurrencyChanged
+    private Currency indexedCurrency;
+    private ExchangeRateTable indexedExchangeRates;
+    // Null until the first search by month, see filterExpenses
+    private MonthIndex monthIndex;
+    // Null until the first aggregation, see getColumns
+    private ExpenseColumns columns;
+    // Null while no expense has been deleted since the list was last compacted, see deleteExpense
+    private Tombstones tombstones;
 
     Ui ui = new Ui();
 
@@ -37,10 +58,17 @@ public class ExpenseList {
     }
 
     public int size() {
-        return expenses.size();
+        return tombstones == null ? expenses.size() : expenses.size() - tombstones.getDeletedCount();
     }
 
+    /**
+     * Returns the expenses in this list. Deleted expenses which are still kept in the list are removed first, so
+     * that the expenses returned are exactly the ones shown to the user.
+     *
+     * @return The expenses in this list
+     */
     public ArrayList<Expense> getExpenses() {
+        compact();
         return expenses;
     }
 
@@ -52,12 +80,431 @@ public class ExpenseList {
         return this.budgets;
     }
 
+    /**
+     * Returns true if the expenses in this list have changed since they were last saved.
+     *
+     * @return true if the expenses need to be written to storage, else false
+     */
+    public boolean isModified() {
+        return isModified || !pendingChanges.isEmpty();
+    }
+
+    /**
+     * Returns true if the expenses in this list have changed in a way that cannot be described by the pending
+     * changes alone, such that the whole expense file has to be rewritten.
+     *
+     * @return true if the whole list has to be written to storage, else false
+     */
+    public boolean requiresFullSave() {
+        return isModified;
+    }
+
+    /**
+     * Returns the changes made to this list since it was last saved, in the order they were made.
+     *
+     * @return The list of pending changes
+     */
+    public List<ExpenseChange> getPendingChanges() {
+        return pendingChanges;
+    }
+
+    /**
+     * Flags the expenses in this list as changed, so that the next save rewrites the whole list to storage.
+     * The expenses may have been changed directly through {@link #getExpenses()}, so the category totals and the
+     * search indexes are rebuilt the next time they are used.
+     */
+    public void markModified() {
+        this.isModified = true;
+        resetIndexes();
+    }
+
+    /**
+     * Discards the category totals and the search indexes, so that they are rebuilt from the expenses the next
+     * time they are used. Call this after changing the expenses directly through {@link #getExpenses()}.
+     */
+    public void resetIndexes() {
+        this.categoryTotals = null;
+        this.descriptionIndex = null;
+        this.amountIndex = null;
+        this.monthIndex = null;
+        this.columns = null;
+    }
+
+    private DescriptionIndex getDescriptionIndex() {
+        if (descriptionIndex == null) {
+            descriptionIndex = new DescriptionIndex();
+            for (int row = 0; row < expenses.size(); row++) {
+                descriptionIndex.add(row, expenses.get(row).getDescription());
+            }
+        }
+        return descriptionIndex;
+    }
+
+    private AmountIndex getAmountIndex() {
+        discardIfCurrencyChanged();
+        if (amountIndex == null) {
+            long[] amountsInMinorUnits = getColumns().getAmountsInDefaultCurrency();
+            double[] amountsByRow = new double[amountsInMinorUnits.length];
+            for (int row = 0; row < amountsByRow.length; row++) {
+                amountsByRow[row] = Money.toDouble(amountsInMinorUnits[row], DefaultCurrency.getDefaultCurrency());
+            }
+            amountIndex = new AmountIndex(amountsByRow);
+        }
+        return amountIndex;
+    }
+
+    private MonthIndex getMonthIndex() {
+        if (monthIndex == null) {
+            monthIndex = new MonthIndex();
+            for (int row = 0; row < expenses.size(); row++) {
+                monthIndex.add(row, expenses.get(row).getDateAdded());
+            }
+        }
+        return monthIndex;
+    }
+
+    private boolean isDeleted(int row) {
+        return tombstones != null && tombstones.isDeleted(row);
+    }
+
+    private int nextDeletedRow(int fromRow) {
+        return tombstones == null ? -1 : tombstones.nextDeletedRow(fromRow);
+    }
+
+    /**
+     * Returns the row in the list of the expense shown at the provided 0-based position
+     */
+    private int toRow(int position) {
+        return tombstones == null ? position : tombstones.toRow(position);
+    }
+
+    /**
+     * Returns the 0-based position the expense at the provided row in the list is shown at
+     */
+    private int toPosition(int row) {
+        return tombstones == null ? row : tombstones.toPosition(row);
+    }
+
+    /**
+     * Removes the deleted expenses from the list in a single pass, which moves the rows after them up. The search
+     * indexes and the columns refer to the rows, so they are rebuilt when next used. The category totals do not
+     * include the deleted expenses, so they are kept.
+     */
+    private void compact() {
+        if (tombstones == null) {
+            return;
+        }
+        LOGGER.log(Level.INFO, "Compacting " + tombstones.getDeletedCount() + " deleted expenses");
+        int keptCount = 0;
+        for (int row = 0; row < expenses.size(); row++) {
+            if (!tombstones.isDeleted(row)) {
+                expenses.set(keptCount++, expenses.get(row));
+            }
+        }
+        expenses.subList(keptCount, expenses.size()).clear();
+        tombstones = null;
+        descriptionIndex = null;
+        amountIndex = null;
+        monthIndex = null;
+        columns = null;
+    }
+
+    /**
+     * Returns the columns of the expenses, which the totals of the list are computed from
+     */
+    private ExpenseColumns getColumns() {
+        if (columns == null) {
+            columns = new ExpenseColumns(expenses);
+            for (int row = nextDeletedRow(0); row >= 0; row = nextDeletedRow(row + 1)) {
+                columns.markDeleted(row);
+            }
+        }
+        return columns;
+    }
+
+    /**
+     * Adds an expense which was just appended to the list to the category totals and the search indexes
+     */
+    private void addToIndexes(Expense expense) {
+        addToCategoryTotals(expense);
+        int row = expenses.size() - 1;
+        if (columns != null) {
+            columns.add(expense);
+        }
+        if (descriptionIndex != null) {
+            descriptionIndex.add(row, expense.getDescription());
+        }
+        if (amountIndex != null) {
+            amountIndex.add(row, expense.getAmount());
+        }
+        if (monthIndex != null) {
+            monthIndex.add(row, expense.getDateAdded());
+        }
+    }
+
+    /**
+     * Removes the expense at the provided row from the category totals and the search indexes, before it is edited
+     */
+    private void removeFromIndexes(int row, Expense expense) {
+        removeFromCategoryTotals(expense);
+        if (descriptionIndex != null) {
+            descriptionIndex.remove(row, expense.getDescription());
+        }
+        if (amountIndex != null) {
+            amountIndex.remove(row, expense.getAmount());
+        }
+    }
+
+    /**
+     * Adds the expense at the provided row back to the category totals and the search indexes, after it is edited
+     */
+    private void addBackToIndexes(int row, Expense expense) {
+        addToCategoryTotals(expense);
+        if (columns != null) {
+            columns.set(row, expense);
+        }
+        if (descriptionIndex != null) {
+            descriptionIndex.add(row, expense.getDescription());
+        }
+        if (amountIndex != null) {
+            amountIndex.add(row, expense.getAmount());
+        }
+    }
+
+    /**
+     * Returns the rows which can match the filters of a search, in ascending order. The description index, the
+     * amount index, the month index and the category column each narrow the search down to the rows which can
+     * match their own filter. When more than one can be used, the one with the fewest candidate rows is chosen,
+     * as estimated from the shortest posting list of the description, and the exact counts of the amounts, months
+     * and category. The other filters are then checked on those candidates only.
+     *
+     * @param filter The filters of the search
+     * @return The candidate rows, which still have to be checked against every filter, or null if every row is a
+     *         candidate
+     */
+    private int[] findCandidateRows(ExpenseFilter filter) {
+        String descriptionInLowerCase = filter.getDescription().toLowerCase();
+        Double minAmount = filter.getMinAmount();
+        Double maxAmount = filter.getMaxAmount();
+        YearMonth fromMonth = filter.getFromMonth();
+        YearMonth toMonth = filter.getToMonth();
+        int descriptionEstimate = DescriptionIndex.canSearch(descriptionInLowerCase)
+                ? getDescriptionIndex().estimateCandidates(descriptionInLowerCase) : Integer.MAX_VALUE;
+        int amountCount = minAmount != null || maxAmount != null
+                ? getAmountIndex().count(minAmount, maxAmount) : Integer.MAX_VALUE;
+        int monthCount = fromMonth != null || toMonth != null
+                ? getMonthIndex().count(fromMonth, toMonth) : Integer.MAX_VALUE;
+        int categoryCount = filter.getCategory() != null
+                ? getCategoryTotal(filter.getCategoryId()).getCount() : Integer.MAX_VALUE;
+        LOGGER.log(Level.FINE, "Planning search with " + descriptionEstimate + " description candidates, "
+                + amountCount + " amount candidates, " + monthCount + " month candidates and " + categoryCount
+                + " category candidates");
+
+        int fewestCandidates = Math.min(Math.min(descriptionEstimate, categoryCount),
+                Math.min(amountCount, monthCount));
+        if (fewestCandidates == Integer.MAX_VALUE) {
+            return null;
+        } else if (fewestCandidates == categoryCount) {
+            return getColumns().findRowsInCategory(filter.getCategoryId());
+        } else if (fewestCandidates == descriptionEstimate) {
+            return getDescriptionIndex().findCandidates(descriptionInLowerCase);
+        } else if (fewestCandidates == amountCount) {
+            return getAmountIndex().findRows(minAmount, maxAmount);
+        } else {
+            return getMonthIndex().findRows(fromMonth, toMonth);
+        }
+    }
+
+    /**
+     * Returns the running totals of the expenses in the provided category, which is matched ignoring case
+     *
+     * @param category The category of the expenses
+     * @return The totals of the category, which are all 0 if there are no expenses in it
+     */
+    public CategoryTotal getCategoryTotal(String category) {
+        return getCategoryTotal(CategoryRegistry.findId(category));
+    }
+
+    /**
+     * Returns the running totals of the expenses in the category with the provided id
+     *
+     * @param categoryId The id of the category in the {@link CategoryRegistry}
+     * @return The totals of the category, which are all 0 if there are no expenses in it
+     */
+    public CategoryTotal getCategoryTotal(int categoryId) {
+        List<CategoryTotal> totals = getCategoryTotals();
+        CategoryTotal categoryTotal = categoryId >= 0 && categoryId < totals.size() ? totals.get(categoryId) : null;
+        if (categoryTotal == null) {
+            return new CategoryTotal();
+        }
+        if (categoryTotal.isRangeStale()) {
+            categoryTotal.resetRange();
+            ExpenseColumns columns = getColumns();
+            for (int row = 0; row < columns.size(); row++) {
+                if (columns.getCategoryId(row) == categoryId) {
+                    categoryTotal.includeInRange(columns.getAmountInDefaultCurrency(row));
+                }
+            }
+        }
+        return categoryTotal;
+    }
+
+    private List<CategoryTotal> getCategoryTotals() {
+        discardIfCurrencyChanged();
+        if (categoryTotals == null) {
+            categoryTotals = new ArrayList<>();
+            ExpenseColumns columns = getColumns();
+            for (int row = 0; row < columns.size(); row++) {
+                if (columns.getCategoryId(row) != ExpenseColumns.DELETED_ID) {
+                    getOrCreateCategoryTotal(columns.getCategoryId(row)).add(columns.getAmountInMinorUnits(row),
+                            columns.getCurrencyId(row), columns.getEpochDay(row));
+                }
+            }
+        }
+        return categoryTotals;
+    }
+
+    /**
+     * Discards what the category totals and the amount index hold in an outdated default currency. The sums of the
+     * category totals are kept by currency, so only their ranges and the amount index hold amounts converted into
+     * the default currency, and those are recomputed after it changes. The sums are grouped by exchange rate
+     * snapshot, so the category totals are discarded if the exchange rates are replaced. Every update of the amount
+     * index first updates the category totals, so checking before reading or updating the category totals keeps
+     * both up to date.
+     */
+    private void discardIfCurrencyChanged() {
+        if (indexedExchangeRates != DefaultCurrency.getExchangeRates()) {
+            categoryTotals = null;
+            amountIndex = null;
+            indexedExchangeRates = DefaultCurrency.getExchangeRates();
+        }
+        if (indexedCurrency != DefaultCurrency.getDefaultCurrency()) {
+            if (categoryTotals != null) {
+                for (CategoryTotal categoryTotal : categoryTotals) {
+                    if (categoryTotal != null) {
+                        categoryTotal.markRangeStale();
+                    }
+                }
+            }
+            amountIndex = null;
+            indexedCurrency = DefaultCurrency.getDefaultCurrency();
+        }
+    }
+
+    private CategoryTotal getOrCreateCategoryTotal(int categoryId) {
+        while (categoryTotals.size() <= categoryId) {
+            categoryTotals.add(null);
+        }
+        CategoryTotal categoryTotal = categoryTotals.get(categoryId);
+        if (categoryTotal == null) {
+            categoryTotal = new CategoryTotal();
+            categoryTotals.set(categoryId, categoryTotal);
+        }
+        return categoryTotal;
+    }
+
+    /**
+     * Returns the sum of the expenses in the category with the provided id, without recomputing the range of its
+     * total
+     *
+     * @param categoryId The id of the category in the {@link CategoryRegistry}
+     * @return The sum in minor units of the default currency
+     */
+    private long getCategorySum(int categoryId) {
+        List<CategoryTotal> totals = getCategoryTotals();
+        CategoryTotal categoryTotal = categoryId >= 0 && categoryId < totals.size() ? totals.get(categoryId) : null;
+        return categoryTotal == null ? 0 : categoryTotal.getSum();
+    }
+
+    private Budget findBudget(int categoryId) {
+        for (Budget budget : budgets) {
+            if (budget.getCategoryId() == categoryId) {
+                return budget;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Adds an expense to the category totals. Totals which have not been computed yet are left to be computed
+     * from the list, which already includes the expense.
+     */
+    private void addToCategoryTotals(Expense expense) {
+        discardIfCurrencyChanged();
+        if (categoryTotals == null) {
+            return;
+        }
+        getOrCreateCategoryTotal(expense.getCategoryId()).add(expense);
+    }
+
+    private void removeFromCategoryTotals(Expense expense) {
+        discardIfCurrencyChanged();
+        if (categoryTotals == null) {
+            return;
+        }
+        CategoryTotal categoryTotal = categoryTotals.get(expense.getCategoryId());
+        assert categoryTotal != null : "Category of an expense in the list should have a total";
+        categoryTotal.remove(expense);
+    }
+
+    /**
+     * Records a single change made to this list, so that the next save only has to append the change
+     * to the expense journal.
+     *
+     * @param change The change made to this list
+     */
+    protected void recordChange(ExpenseChange change) {
+        if (isModified) {
+            return; // The whole list is rewritten anyway
+        }
+        if (pendingChanges.size() >= MAX_PENDING_CHANGES) {
+            // Rewriting the list once is cheaper than journaling this many changes and then compacting the journal
+            isModified = true;
+            pendingChanges = new ArrayList<>();
+            return;
+        }
+        pendingChanges.add(change);
+    }
+
+    /**
+     * Clears the changed flag and the pending changes of the expenses, after they have been written to storage.
+     */
+    public void clearModified() {
+        this.isModified = false;
+        this.pendingChanges = new ArrayList<>();
+    }
+
+    /**
+     * Returns true if the budgets in this list have changed since they were last saved.
+     *
+     * @return true if the budgets need to be written to storage, else false
+     */
+    public boolean isBudgetsModified() {
+        return isBudgetsModified;
+    }
+
+    /**
+     * Flags the budgets in this list as changed, so that the next save writes them to storage.
+     */
+    public void markBudgetsModified() {
+        this.isBudgetsModified = true;
+    }
+
+    /**
+     * Clears the changed flag of the budgets, after they have been written to storage.
+     */
+    public void clearBudgetsModified() {
+        this.isBudgetsModified = false;
+    }
+
 
     // @@author itsmejr257
     /**
      * Filters this.expenses based on the provided description, minimum amount and maximum amount.
-     * This method uses Java streams to perform a case-insensitive search for the description
+     * This method performs a case-insensitive search for the description
      * , and filters expenses to include the range specified by the minAmount and maxAmount.
+     * The expenses which can match are first looked up in the {@link DescriptionIndex}, the {@link AmountIndex}
+     * or the {@link MonthIndex}, so that only those expenses are checked.
      *
      * @param description The description to match against the description of the Expense object
      * @param minAmount The minimum amount value of the Expense object
@@ -67,25 +514,72 @@ public class ExpenseList {
      *         Expense which match the provided parameters provided
      */
     public ArrayList<Expense> filterExpenses(String description, Double minAmount, Double maxAmount) {
-        assert minAmount == null || maxAmount == null || minAmount <= maxAmount
-                : "Minimum Amount must be smaller than or equals to Max Amount if both are not null";
+        return filterExpenses(description, minAmount, maxAmount, null, null);
+    }
 
-        LOGGER.log(Level.INFO, "Start Filtering expenses based on description : " + description + " minAmount : "
-                + minAmount + " maxAmount : " + maxAmount);
+    /**
+     * Filters this.expenses based on the provided description, amounts and months, in the same way as
+     * {@link #filterExpenses(String, Double, Double)}. Only the expenses added from the start of `fromMonth` to the
+     * end of `toMonth` are included.
+     *
+     * @param description The description to match against the description of the Expense object
+     * @param minAmount The minimum amount value of the Expense object
+     * @param maxAmount The minimum amount value of the Expense object
+     * @param fromMonth The first month the Expense object can be added in, or null if there is no first month
+     * @param toMonth The last month the Expense object can be added in, or null if there is no last month
+     * @return An ArrayList of Expense object containing all filtered Expense which match the provided parameters
+     */
+    public ArrayList<Expense> filterExpenses(String description, Double minAmount, Double maxAmount,
+                                             YearMonth fromMonth, YearMonth toMonth) {
+        return filterExpenses(new ExpenseFilter(description, minAmount, maxAmount, null, fromMonth, toMonth));
+    }
+    // @@author
 
-        String descriptionInLowerCase = description.toLowerCase();
-        ArrayList<Expense> filteredExpenses = new ArrayList<>(this.expenses.stream()
-                .filter(expense -> (expense.getDescription()
-                .toLowerCase().contains(descriptionInLowerCase)))
-                .filter(expense -> (minAmount == null || expense.getAmount() >= minAmount))
-                .filter(expense -> (maxAmount == null || expense.getAmount() <= maxAmount))
-                .collect(Collectors.toList()));
+    /**
+     * Filters this.expenses with the provided filter, in the same way as
+     * {@link #filterExpenses(String, Double, Double)}, which also allows a category to be matched.
+     *
+     * @param filter The criteria which the expenses have to match
+     * @return An ArrayList of Expense object containing all filtered Expense which match the filter, in list order
+     */
+    public ArrayList<Expense> filterExpenses(ExpenseFilter filter) {
+        LOGGER.log(Level.INFO, "Start Filtering expenses based on description : " + filter.getDescription()
+                + " minAmount : " + filter.getMinAmount() + " maxAmount : " + filter.getMaxAmount()
+                + " category : " + filter.getCategory() + " fromMonth : " + filter.getFromMonth()
+                + " toMonth : " + filter.getToMonth());
+
+        ArrayList<Expense> filteredExpenses = new ArrayList<>(getExpensesAt(findMatchingRows(filter)));
 
         LOGGER.log(Level.INFO, "Ending filtering and returning filtered expenses");
         return filteredExpenses;
+    }
 
+    /**
+     * Returns the rows of the expenses which match the provided filter and have not been deleted, in ascending order
+     */
+    private int[] findMatchingRows(ExpenseFilter filter) {
+        int[] candidates = findCandidateRows(filter);
+        int numberOfCandidates = candidates == null ? expenses.size() : candidates.length;
+        int[] rows = new int[numberOfCandidates];
+        int numberOfRows = 0;
+        for (int i = 0; i < numberOfCandidates; i++) {
+            int row = candidates == null ? i : candidates[i];
+            if (!isDeleted(row) && filter.matches(expenses.get(row))) {
+                rows[numberOfRows++] = row;
+            }
+        }
+        return Arrays.copyOf(rows, numberOfRows);
+    }
+
+    private List<Expense> getExpensesAt(int[] rows) {
+        List<Expense> expensesAtRows = new ArrayList<>(rows.length);
+        for (int row : rows) {
+            if (!isDeleted(row)) {
+                expensesAtRows.add(expenses.get(row));
+            }
+        }
+        return expensesAtRows;
     }
-    // @@author
 
     /**
      * Lists expenses based on the provided filter category.
@@ -95,14 +589,36 @@ public class ExpenseList {
      * @param filterCategory the category by which to filter the expenses (optional)
      */
     public void listExpenses(String filterCategory) {
+        listExpenses(filterCategory, null, null);
+    }
+
+    /**
+     * Lists expenses based on the provided filter category, which were added within the provided range of months.
+     * Only the months within the range are visited, see {@link MonthIndex}. The overall total of all expenses is
+     * shown at the end, as when filtering by category.
+     *
+     * @param filterCategory the category by which to filter the expenses (optional)
+     * @param fromMonth the first month of the expenses to list (optional)
+     * @param toMonth the last month of the expenses to list (optional)
+     */
+    public void listExpenses(String filterCategory, YearMonth fromMonth, YearMonth toMonth) {
         LOGGER.info("Listing expenses...");
 
         try {
             System.out.println(String.format("Current Currency: %s\n", DefaultCurrency.getDefaultCurrency()));
+            int filterCategoryId = filterCategory == null ? CategoryRegistry.UNKNOWN_ID
+                    : CategoryRegistry.findId(filterCategory);
+            int[] rows = fromMonth == null && toMonth == null ? null : getMonthIndex().findRows(fromMonth, toMonth);
+            int numberOfRows = rows == null ? expenses.size() : rows.length;
 
             System.out.println("Expenses:");
-            for (int i = 0; i < expenses.size(); i++) {
-                Expense expense = expenses.get(i);
+            for (int j = 0; j < numberOfRows; j++) {
+                int row = rows == null ? j : rows[j];
+                if (isDeleted(row)) {
+                    continue;
+                }
+                int i = toPosition(row);
+                Expense expense = expenses.get(row);
 
                 // Checks for null expenses
                 if (expense == null) {
@@ -110,7 +626,7 @@ public class ExpenseList {
                     continue;
                 }
 
-                if (filterCategory == null || expense.getCategory().equalsIgnoreCase(filterCategory)) {
+                if (filterCategory == null || expense.getCategoryId() == filterCategoryId) {
                     System.out.print(i+1 + " | ");
                     System.out.print("Date: " + expense.getDateAdded() + " | ");
                     System.out.print("Category: " + expense.getCategory() + " | ");
@@ -138,14 +654,31 @@ public class ExpenseList {
      * @throws IllegalArgumentException If any expense amount is negative.
      */
     public double calculateTotalExpenses() {
-        double totalExpenses = 0;
+        return Money.toDouble(calculateTotalExpensesInMinorUnits(), DefaultCurrency.getDefaultCurrency());
+    }
+
+    /**
+     * Calculates the total expenses in minor units of the default currency. The amounts are summed exactly by
+     * currency and exchange rate snapshot first, and each partial sum is converted once.
+     * Negative expense amounts are considered invalid.
+     *
+     * @return The total expenses in minor units.
+     */
+    public long calculateTotalExpensesInMinorUnits() {
+        CurrencyTotal amounts = new CurrencyTotal();
+        long totalExpenses = 0;
         try {
-            for (Expense expense: expenses) {
-                if (expense.getAmount() < 0) {
+            ExpenseColumns columns = getColumns();
+            for (int row = 0; row < columns.size(); row++) {
+                long amount = columns.getAmountInMinorUnits(row);
+                if (amount < 0) {
                     throw new IllegalArgumentException("Expenses should not be negative");
                 }
-                totalExpenses += expense.getAmount();
+                if (columns.getCategoryId(row) != ExpenseColumns.DELETED_ID) {
+                    amounts.add(amount, columns.getCurrencyId(row), columns.getEpochDay(row));
+                }
             }
+            totalExpenses = amounts.toDefaultCurrency();
         } catch (IllegalArgumentException e) {
             LOGGER.log(Level.WARNING, "Negative expense amount detected", e);
         }
@@ -156,18 +689,13 @@ public class ExpenseList {
         return totalExpenses;
     }
 
-    private boolean checkBudgetBeforeAddingExpense(String category, double amountAsDouble) {
-        Budget budgetForCategory = budgets.stream()
-                .filter(budget -> budget.getCategory().equalsIgnoreCase(category))
-                .findFirst()
-                .orElse(null);
+    private boolean checkBudgetBeforeAddingExpense(String category, long amount) {
+        int categoryId = CategoryRegistry.findId(category);
+        Budget budgetForCategory = findBudget(categoryId);
 
         if (budgetForCategory != null) {
-            double totalSpent = expenses.stream()
-                    .filter(expense -> expense.getCategory().equalsIgnoreCase(category))
-                    .mapToDouble(Expense::getAmount)
-                    .sum();
-            return totalSpent + amountAsDouble > budgetForCategory.getBudget();
+            long totalSpent = getCategorySum(categoryId);
+            return totalSpent + amount > budgetForCategory.getBudgetInDefaultCurrency();
         }
         return false;
     }
@@ -188,7 +716,8 @@ public class ExpenseList {
         assert amount != null : "Amount should not be null";
         assert description != null : "Description should not be null";
 
-        boolean budgetExceeded = checkBudgetBeforeAddingExpense(category, amount);
+        boolean budgetExceeded = checkBudgetBeforeAddingExpense(category,
+                Money.fromDouble(amount, DefaultCurrency.getDefaultCurrency()));
         if (budgetExceeded) {
             System.out.println("Warning: Adding this expense will exceed your budget for " + category);
             boolean userConfirmation = ui.getUserConfirmation();
@@ -200,6 +729,8 @@ public class ExpenseList {
 
         Expense expense = new Expense(category, amount, description);
         expenses.add(expense);
+        addToIndexes(expense);
+        recordChange(ExpenseChange.createAdd(expense));
 
         System.out.println("Expense added: " + category + " of $" + String.format("%.2f", amount)
                 + " Description: " + description);
@@ -212,28 +743,29 @@ public class ExpenseList {
         assert amount != null : "Amount should not be null";
         assert description != null : "Description should not be null";
 
-        String matchedCategory = categories.stream()
-                .filter(existingCategory -> existingCategory.equalsIgnoreCase(category))
-                .findFirst()
-                .orElseThrow(() -> new BudgetBuddyException("The category '" + category + "' is not listed."));
+        String matchedCategory = CategoryRegistry.findExpenseCategory(category);
+        if (matchedCategory == null) {
+            throw new BudgetBuddyException("The category '" + category + "' is not listed.");
+        }
 
-        if (!amount.matches("^\\d+(\\.\\d{1,2})?$")) {
+        if (!AMOUNT_PATTERN.matcher(amount).matches()) {
             throw new BudgetBuddyException("Invalid amount format. Amount should be a positive number with up" +
                     " to maximum two decimal places.");
         }
 
-        double amountAsDouble;
+        Currency currency = DefaultCurrency.getDefaultCurrency();
+        long amountInMinorUnits;
         try {
-            amountAsDouble = Double.parseDouble(amount);
+            amountInMinorUnits = Money.parse(amount, currency);
         } catch (NumberFormatException e) {
             throw new BudgetBuddyException("Invalid amount format. Amount should be a number.");
         }
 
-        if (amountAsDouble < 0) {
+        if (amountInMinorUnits < 0) {
             throw new BudgetBuddyException("Expenses should not be negative.");
         }
 
-        boolean budgetExceeded = checkBudgetBeforeAddingExpense(category, amountAsDouble);
+        boolean budgetExceeded = checkBudgetBeforeAddingExpense(category, amountInMinorUnits);
         if (budgetExceeded) {
             System.out.println("Warning: Adding this expense will exceed your budget for " + category);
             boolean userConfirmation = ui.getUserConfirmation();
@@ -242,15 +774,17 @@ public class ExpenseList {
                 return;
             }
 
-            if (amountAsDouble > MAX_AMOUNT) {
+            if (Money.toDouble(amountInMinorUnits, currency) > MAX_AMOUNT) {
                 throw new BudgetBuddyException("Amount exceeds the maximum allowed limit of " + MAX_AMOUNT);
             }
         }
 
-        Expense expense = new Expense(matchedCategory, amountAsDouble, description);
+        Expense expense = new Expense(LocalDate.now(), matchedCategory, amountInMinorUnits, currency, description);
         expenses.add(expense);
+        addToIndexes(expense);
+        recordChange(ExpenseChange.createAdd(expense));
 
-        System.out.println("Expense added: " + matchedCategory + " of $" + String.format("%.2f", amountAsDouble)
+        System.out.println("Expense added: " + matchedCategory + " of $" + Money.format(amountInMinorUnits, currency)
                 + " Description: " + description);
     }
     
@@ -272,22 +806,21 @@ public class ExpenseList {
         // Assert that the provided category is not null or empty
         assert category != null && !category.isEmpty() : "Category cannot be null or empty";
         // Assert that the index is within the valid bounds of the expenses list
-        assert index > 0 && index <= expenses.size() : "Index is out of bounds";
+        assert index > 0 && index <= size() : "Index is out of bounds";
         // Assert that the amount is non-negative
         assert amount >= 0 : "Amount cannot be negative";
         // Assert that the description is not null.
         assert description != null : "Description cannot be null";
 
         // Check if the category exists in the list of categories
-        int categoryIndex = categories.indexOf(category);
-        if (categoryIndex == -1) {
+        if (!categories.contains(category)) {
             LOGGER.warning("Invalid category: " + category);
             System.out.println("Invalid category.");
             return;
         }
 
         // Check if the index is within valid bounds
-        if (index <= 0 || index > expenses.size()) {
+        if (index <= 0 || index > size()) {
             LOGGER.warning("Invalid index: " + index);
             System.out.println("Invalid index. Enter \"List Expenses\" to view the index.");
             return;
@@ -295,12 +828,16 @@ public class ExpenseList {
 
         try {
             // Retrieve the expense to edit
-            Expense expenseToEdit = expenses.get(index - 1);
+            int row = toRow(index - 1);
+            Expense expenseToEdit = expenses.get(row);
 
             // Update the expense details
+            removeFromIndexes(row, expenseToEdit);
             expenseToEdit.setCategory(category);
             expenseToEdit.setAmount(amount);
             expenseToEdit.setDescription(description);
+            addBackToIndexes(row, expenseToEdit);
+            recordChange(ExpenseChange.createEdit(index - 1, expenseToEdit));
 
             LOGGER.info("Expense at index " + index + " edited successfully. New details: " +
                     expenseToEdit.toString());
@@ -310,31 +847,126 @@ public class ExpenseList {
         }
     }
 
+    /**
+     * Deletes the expense shown at the provided 0-based index. The expense is only marked as deleted, so that the
+     * rows after it, which the search indexes refer to, do not move. The search indexes leave out deleted rows
+     * when they are searched, and the list is compacted once enough of it has been deleted.
+     *
+     * @param index The 0-based index of the expense, as shown by listExpenses
+     */
     public void deleteExpense(int index){
-        if (index >= 0 && index < expenses.size()){
-            expenses.remove(index);
+        if (index >= 0 && index < size()){
+            markDeleted(toRow(index));
+            compactIfNeeded();
+            recordChange(ExpenseChange.createDelete(index));
             System.out.println("Expense deleted successfully!");
         } else {
             System.out.println("Invalid expense index.");
         }
     }
 
+    /**
+     * Deletes every expense which matches the provided filter in a single pass. The expenses are marked as deleted
+     * from the last to the first, so that the position recorded for each delete is still its position when the
+     * deletes before it are replayed from the journal. The list is compacted at most once, at the end.
+     *
+     * @param filter The criteria which the expenses to delete have to match
+     * @return The number of expenses deleted
+     */
+    public int deleteExpenses(ExpenseFilter filter) {
+        int[] rows = findMatchingRows(filter);
+        LOGGER.log(Level.INFO, "Deleting " + rows.length + " matching expenses");
+        for (int i = rows.length - 1; i >= 0; i--) {
+            int position = toPosition(rows[i]);
+            markDeleted(rows[i]);
+            recordChange(ExpenseChange.createDelete(position));
+        }
+        compactIfNeeded();
+        return rows.length;
+    }
+
+    /**
+     * Edits every expense which matches the provided filter in a single pass, and then warns once for every
+     * budget which the edited expenses have exceeded.
+     *
+     * @param filter The criteria which the expenses to edit have to match
+     * @param category The new category of the expenses, or null to keep their categories
+     * @param amount The new amount of the expenses, or null to keep their amounts
+     * @param description The new description of the expenses, or null to keep their descriptions
+     * @return The number of expenses edited
+     */
+    public int editExpenses(ExpenseFilter filter, String category, Double amount, String description) {
+        assert category == null || categories.contains(category) : "Category should be an expense category";
+        assert amount == null || amount >= 0 : "Amount cannot be negative";
+
+        int[] rows = findMatchingRows(filter);
+        LOGGER.log(Level.INFO, "Editing " + rows.length + " matching expenses");
+        for (int row : rows) {
+            Expense expenseToEdit = expenses.get(row);
+            removeFromIndexes(row, expenseToEdit);
+            if (category != null) {
+                expenseToEdit.setCategory(category);
+            }
+            if (amount != null) {
+                expenseToEdit.setAmount(amount);
+            }
+            if (description != null) {
+                expenseToEdit.setDescription(description);
+            }
+            addBackToIndexes(row, expenseToEdit);
+            recordChange(ExpenseChange.createEdit(toPosition(row), expenseToEdit));
+        }
+        if (rows.length > 0) {
+            warnExceededBudgets();
+        }
+        return rows.length;
+    }
+
+    private void warnExceededBudgets() {
+        for (Budget budget : budgets) {
+            if (getCategorySum(budget.getCategoryId()) > budget.getBudgetInDefaultCurrency()) {
+                System.out.println("Warning: You have exceeded your budget for " + budget.getCategory());
+            }
+        }
+    }
+
+    /**
+     * Marks the expense at the provided row as deleted, and takes it out of the category totals and the columns
+     */
+    private void markDeleted(int row) {
+        removeFromCategoryTotals(expenses.get(row));
+        if (columns != null) {
+            columns.markDeleted(row);
+        }
+        if (tombstones == null) {
+            tombstones = new Tombstones();
+        }
+        tombstones.markDeleted(row);
+    }
+
+    private void compactIfNeeded() {
+        if (tombstones != null && tombstones.getDeletedCount() * COMPACTION_FRACTION > expenses.size()) {
+            compact();
+        }
+    }
+
     public String getName() {
         return "placeholder";
     }
 
     public void setBudget(String category, double budget) {
         LOGGER.info("Setting budget - Category: " + category + ", Budget: $" + budget);
-        for (Budget b : budgets) {
-            if (b.getCategory().equalsIgnoreCase(category)) {
-                LOGGER.info("Updating budget for category: " + category);
-                b.setBudget(budget);
-                System.out.println("Updated budget for " + category + " to $" + budget);
-                return;
-            }
+        Budget existingBudget = findBudget(CategoryRegistry.findId(category));
+        if (existingBudget != null) {
+            LOGGER.info("Updating budget for category: " + category);
+            existingBudget.setBudget(budget);
+            markBudgetsModified();
+            System.out.println("Updated budget for " + category + " to $" + budget);
+            return;
         }
         LOGGER.info("Creating new budget for category: " + category);
         budgets.add(new Budget(category, budget));
+        markBudgetsModified();
         System.out.println("New budget set for " + category + ": $" + budget);
     }
 
@@ -346,10 +978,8 @@ public class ExpenseList {
      * @param category The category for which to retrieve and print the budget and expenses.
      */
     public void getBudgetAndListExpensesForCategory(String category) {
-        Budget budgetForCategory = budgets.stream()
-                .filter(budget -> budget.getCategory().equalsIgnoreCase(category))
-                .findFirst()
-                .orElse(null);
+        int categoryId = CategoryRegistry.findId(category);
+        Budget budgetForCategory = findBudget(categoryId);
 
         if (budgetForCategory == null) {
             System.out.println("No budget set for " + category);
@@ -359,16 +989,15 @@ public class ExpenseList {
         double budgetAmount = budgetForCategory.getBudget();
         System.out.println("Budget for " + category + ": $" + budgetAmount);
 
-        List<Expense> expensesForCategory = expenses.stream()
-                .filter(expense -> expense.getCategory().equalsIgnoreCase(category))
-                .sorted(Comparator.comparingDouble(Expense::getAmount).reversed())
-                .collect(Collectors.toList());
-
-        if (expensesForCategory.isEmpty()) {
+        int numberOfExpenses = getCategoryTotal(categoryId).getCount();
+        if (numberOfExpenses == 0) {
             System.out.println("No expenses recorded for " + category);
             return;
         }
 
+        List<Expense> expensesForCategory = getExpensesAt(getColumns().findRowsInCategory(categoryId));
+        expensesForCategory.sort(Comparator.comparingLong(Expense::getAmountInDefaultCurrency).reversed());
+
         System.out.printf("%-20s | %-15s | %-15s%n", "Expense", "Amount", "% of Budget");
         ui.printDivider();
 
@@ -385,52 +1014,51 @@ public class ExpenseList {
      * Calculates and prints a distribution of expenses in various categories as a horizontal bar graph.
      * It also identifies and prints the categories with the highest and lowest expenses,
      * as well as categories where no expenses have been added.
+     * The sums are read from the category totals, which are kept up to date as expenses are added, edited and
+     * deleted, so the insights take a few passes over the categories instead of over the expenses.
      */
     public void getExpenseInsights() {
-        double totalExpenses = calculateTotalExpenses();
+        long[] sums = getCategorySums();
+        long totalInMinorUnits = 0;
+        long highestSum = 0;
+        for (long sum : sums) {
+            totalInMinorUnits += sum;
+            highestSum = Math.max(highestSum, sum);
+        }
+        double totalExpenses = Money.toDouble(totalInMinorUnits, DefaultCurrency.getDefaultCurrency());
         if (totalExpenses == 0) {
             System.out.println("No expenses to display.");
             return;
         }
 
-        Map<String, Double> sumsByCategory = new HashMap<>();
-        for (Expense expense : expenses) {
-            sumsByCategory.merge(expense.getCategory(), expense.getAmount(), Double::sum);
+        // Calculate the lowest expense amount excluding the highest, as the highest may be the only value
+        long lowestSum = Long.MAX_VALUE;
+        for (long sum : sums) {
+            if (sum > 0 && sum != highestSum) {
+                lowestSum = Math.min(lowestSum, sum);
+            }
         }
 
-        // Calculate the highest expense amount
-        double highestExpense = Collections.max(sumsByCategory.values());
-
-        // Identify the categories with the highest expenses
-        List<String> highestCategories = sumsByCategory.entrySet().stream()
-                .filter(entry -> entry.getValue().equals(highestExpense))
-                .map(Map.Entry::getKey)
-                .collect(Collectors.toList());
-
-        // Calculate the lowest expense amount excluding the highest if it's the only value
-        double lowestExpense = sumsByCategory.entrySet().stream()
-                .filter(entry -> entry.getValue() > 0 && !highestCategories.contains(entry.getKey()))
-                .mapToDouble(Map.Entry::getValue)
-                .min().orElse(Double.MAX_VALUE);
-
-        // Identify the categories with the lowest expenses
-        List<String> lowestCategories = sumsByCategory.entrySet().stream()
-                .filter(entry -> entry.getValue() > 0 && entry.getValue().equals(lowestExpense))
-                .map(Map.Entry::getKey)
-                .collect(Collectors.toList());
-
-        // If lowestExpense is Double.MAX_VALUE, then this list should be empty
-        if (lowestExpense == Double.MAX_VALUE) {
-            lowestCategories.clear();
+        List<String> highestCategories = new ArrayList<>();
+        List<String> lowestCategories = new ArrayList<>();
+        for (int categoryId = 0; categoryId < sums.length; categoryId++) {
+            if (sums[categoryId] == highestSum) {
+                highestCategories.add(CategoryRegistry.getName(categoryId));
+            } else if (sums[categoryId] == lowestSum) {
+                lowestCategories.add(CategoryRegistry.getName(categoryId));
+            }
         }
 
         // Identify categories with no expenses
-        List<String> noExpenseCategories = categories.stream()
-                .filter(category -> !sumsByCategory.containsKey(category) || sumsByCategory.get(category) == 0)
-                .collect(Collectors.toList());
+        List<String> noExpenseCategories = new ArrayList<>();
+        for (String category : categories) {
+            if (getSum(sums, category) == 0) {
+                noExpenseCategories.add(category);
+            }
+        }
 
         ui.printDivider();
-        printExpensesDistribution(sumsByCategory, totalExpenses);
+        printExpensesDistribution(sums, highestSum, totalExpenses);
         ui.printDivider();
 
         System.out.println("Highest Expense Category: " + formatCategoryList(highestCategories));
@@ -439,23 +1067,42 @@ public class ExpenseList {
         ui.printDivider();
     }
 
+    /**
+     * Returns the sum of the expenses in each category from the category totals
+     *
+     * @return The sums in minor units of the default currency, indexed by category id
+     */
+    private long[] getCategorySums() {
+        List<CategoryTotal> totals = getCategoryTotals();
+        long[] sums = new long[totals.size()];
+        for (int categoryId = 0; categoryId < sums.length; categoryId++) {
+            CategoryTotal categoryTotal = totals.get(categoryId);
+            sums[categoryId] = categoryTotal == null ? 0 : categoryTotal.getSum();
+        }
+        return sums;
+    }
+
+    private static long getSum(long[] sums, String category) {
+        int categoryId = CategoryRegistry.findId(category);
+        return categoryId >= 0 && categoryId < sums.length ? sums[categoryId] : 0;
+    }
+
     /**
      * Prints the distribution of expenses in a bar graph format.
      * Each category's expenses are represented by a percentage and a visual bar made of hashes ('#').
      *
-     * @param sumsByCategory A map containing the sum of expenses for each category.
+     * @param sums The sum of expenses in minor units, indexed by category id.
+     * @param highestSum The highest sum, used to scale the bars.
      * @param totalExpenses  The total amount of expenses, used to calculate the percentage for each category.
      */
-    private void printExpensesDistribution(Map<String, Double> sumsByCategory, double totalExpenses) {
+    private void printExpensesDistribution(long[] sums, long highestSum, double totalExpenses) {
+        Currency currency = DefaultCurrency.getDefaultCurrency();
         // Find the maximum percentage to scale the bars
-        double maxPercentage = sumsByCategory.values().stream()
-                .mapToDouble(amount -> (amount / totalExpenses) * 100)
-                .max()
-                .orElse(100);
+        double maxPercentage = (Money.toDouble(highestSum, currency) / totalExpenses) * 100;
 
         // Calculate percentages and build bars
         for (String category : categories) {
-            Double sum = sumsByCategory.getOrDefault(category, 0.0);
+            double sum = Money.toDouble(getSum(sums, category), currency);
             double percentage = (sum / totalExpenses) * 100;
             int barLength = (int) (percentage / (maxPercentage / 50));
             String bar = "[" + "#".repeat(Math.max(0, barLength)) + "]";
@@ -0,0 +1,162 @@
+package seedu.budgetbuddy.commons;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+
+/**
+ * Represents monetary amounts as a primitive `long` number of minor units of their currency, such as cents for SGD
+ * or yen for JPY, so that amounts are summed and compared exactly and without allocating. The number of minor units
+ * in a unit is given by {@link Currency#getDefaultFractionDigits()}.
+ */
+public final class Money {
+    private static final int MAX_FAST_PATH_DIGITS = 15;
+    private static final int DISPLAYED_FRACTION_DIGITS = 2;
+    private static final long[] POWERS_OF_TEN = {
+        1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L, 1_000_000_000L
+    };
+
+    private Money() {
+    }
+
+    /**
+     * Returns the number of digits after the decimal point of amounts in the provided currency
+     *
+     * @param currency The currency of the amounts
+     * @return The number of fraction digits, which is 0 for currencies without minor units
+     */
+    public static int getFractionDigits(Currency currency) {
+        return Math.max(currency.getDefaultFractionDigits(), 0);
+    }
+
+    /**
+     * Returns the number of digits after the decimal point of an amount as it was entered, such as 2 for "10.50"
+     *
+     * @param amount The amount as entered
+     * @return The number of fraction digits, which is 0 if there is no decimal point
+     */
+    public static int countFractionDigits(String amount) {
+        int decimalPointIndex = amount.indexOf('.');
+        if (decimalPointIndex < 0) {
+            return 0;
+        }
+        int end = decimalPointIndex + 1;
+        while (end < amount.length() && Character.isDigit(amount.charAt(end))) {
+            end++;
+        }
+        return end - decimalPointIndex - 1;
+    }
+
+    /**
+     * Parses a decimal amount, such as "12.34", into minor units of the provided currency. Amounts with more
+     * fraction digits than the currency has are rounded half up.
+     *
+     * @param amount The amount to parse, without a sign
+     * @param currency The currency of the amount
+     * @return The amount in minor units
+     * @throws NumberFormatException If the amount is not a number
+     */
+    public static long parse(String amount, Currency currency) throws NumberFormatException {
+        int fractionDigits = getFractionDigits(currency);
+        long value = 0;
+        int digitCount = 0;
+        int decimalPointIndex = -1;
+        int length = amount.length();
+        for (int i = 0; i < length; i++) {
+            char c = amount.charAt(i);
+            if (c >= '0' && c <= '9') {
+                value = value * 10 + (c - '0');
+                digitCount += 1;
+            } else if (c == '.' && decimalPointIndex < 0) {
+                decimalPointIndex = i;
+            } else {
+                return parseSlowly(amount, fractionDigits);
+            }
+        }
+        int parsedFractionDigits = decimalPointIndex < 0 ? 0 : length - decimalPointIndex - 1;
+        if (digitCount == 0 || digitCount > MAX_FAST_PATH_DIGITS || parsedFractionDigits > fractionDigits) {
+            return parseSlowly(amount, fractionDigits);
+        }
+        return value * POWERS_OF_TEN[fractionDigits - parsedFractionDigits];
+    }
+
+    private static long parseSlowly(String amount, int fractionDigits) throws NumberFormatException {
+        try {
+            return new BigDecimal(amount.trim()).setScale(fractionDigits, RoundingMode.HALF_UP)
+                    .unscaledValue().longValueExact();
+        } catch (ArithmeticException e) {
+            throw new NumberFormatException("Amount is too large: " + amount);
+        }
+    }
+
+    /**
+     * Converts an amount into minor units of the provided currency, rounding it half up the same way as the
+     * `%.2f` format rounds amounts for display.
+     *
+     * @param amount The amount to convert
+     * @param currency The currency of the amount
+     * @return The amount in minor units
+     */
+    public static long fromDouble(double amount, Currency currency) {
+        return BigDecimal.valueOf(amount).setScale(getFractionDigits(currency), RoundingMode.HALF_UP)
+                .unscaledValue().longValueExact();
+    }
+
+    /**
+     * Converts an amount in minor units of the provided currency into a double. The result is the double closest
+     * to the exact amount.
+     *
+     * @param minorUnits The amount in minor units
+     * @param currency The currency of the amount
+     * @return The amount as a double
+     */
+    public static double toDouble(long minorUnits, Currency currency) {
+        return (double) minorUnits / POWERS_OF_TEN[getFractionDigits(currency)];
+    }
+
+    /**
+     * Converts an amount in minor units of one currency into minor units of a currency with a different number of
+     * fraction digits, rounding half up if digits are dropped
+     *
+     * @param minorUnits The amount in minor units of `fromCurrency`
+     * @param fromCurrency The currency the amount is in
+     * @param toCurrency The currency whose minor units are returned
+     * @return The same amount in minor units of `toCurrency`
+     */
+    public static long rescale(long minorUnits, Currency fromCurrency, Currency toCurrency) {
+        int fromDigits = getFractionDigits(fromCurrency);
+        int toDigits = getFractionDigits(toCurrency);
+        if (toDigits >= fromDigits) {
+            return Math.multiplyExact(minorUnits, POWERS_OF_TEN[toDigits - fromDigits]);
+        }
+        return BigDecimal.valueOf(minorUnits, fromDigits).setScale(toDigits, RoundingMode.HALF_UP)
+                .unscaledValue().longValueExact();
+    }
+
+    /**
+     * Formats an amount with two decimal places like the `%.2f` format, e.g. "1234.50". Currencies with more than
+     * two fraction digits are formatted with all of their digits.
+     *
+     * @param minorUnits The amount in minor units
+     * @param currency The currency of the amount
+     * @return The formatted amount
+     */
+    public static String format(long minorUnits, Currency currency) {
+        int fractionDigits = getFractionDigits(currency);
+        int displayedDigits = Math.max(fractionDigits, DISPLAYED_FRACTION_DIGITS);
+        long unsignedMinorUnits = Math.abs(minorUnits);
+        long units = unsignedMinorUnits / POWERS_OF_TEN[fractionDigits];
+        long fraction = unsignedMinorUnits % POWERS_OF_TEN[fractionDigits];
+
+        StringBuilder formatted = new StringBuilder(24);
+        if (minorUnits < 0) {
+            formatted.append('-');
+        }
+        formatted.append(units).append('.');
+        String fractionText = Long.toString(fraction * POWERS_OF_TEN[displayedDigits - fractionDigits]);
+        for (int i = fractionText.length(); i < displayedDigits; i++) {
+            formatted.append('0');
+        }
+        return formatted.append(fractionText).toString();
+    }
+}
@@ -0,0 +1,93 @@
+package seedu.budgetbuddy.commons;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Partitions the rows of an {@link ExpenseList}, which are positions in the list, by the month their expenses were
+ * added in, so that a query for a range of months only visits the partitions of those months. Each partition holds
+ * its rows in ascending order. Expenses are added in date order, so the partitions of a range are usually already
+ * in row order when they are concatenated.
+ */
+public class MonthIndex {
+    private final NavigableMap<YearMonth, Partition> partitionsByMonth = new TreeMap<>();
+
+    /**
+     * Holds the rows of the expenses added in a month, in ascending order
+     */
+    private static class Partition {
+        private int[] rows = new int[4];
+        private int size;
+
+        private void add(int row) {
+            assert size == 0 || rows[size - 1] < row : "Rows should be added in ascending order";
+            if (size == rows.length) {
+                rows = Arrays.copyOf(rows, size * 2);
+            }
+            rows[size++] = row;
+        }
+    }
+
+    /**
+     * Adds a row to the partition of its month. Rows have to be added in ascending order.
+     *
+     * @param row The position of the expense in its list
+     * @param dateAdded The date the expense was added
+     */
+    public void add(int row, LocalDate dateAdded) {
+        partitionsByMonth.computeIfAbsent(YearMonth.from(dateAdded), month -> new Partition()).add(row);
+    }
+
+    /**
+     * Returns the number of rows added within the provided range of months
+     *
+     * @param fromMonth The first month of the range, or null if there is no first month
+     * @param toMonth The last month of the range, or null if there is no last month
+     * @return The number of rows in the range
+     */
+    public int count(YearMonth fromMonth, YearMonth toMonth) {
+        int count = 0;
+        for (Partition partition : getPartitions(fromMonth, toMonth).values()) {
+            count += partition.size;
+        }
+        return count;
+    }
+
+    /**
+     * Returns the rows added within the provided range of months, in ascending order
+     *
+     * @param fromMonth The first month of the range, or null if there is no first month
+     * @param toMonth The last month of the range, or null if there is no last month
+     * @return The rows in the range, sorted in ascending order
+     */
+    public int[] findRows(YearMonth fromMonth, YearMonth toMonth) {
+        int[] rows = new int[count(fromMonth, toMonth)];
+        int numberOfRows = 0;
+        boolean isSorted = true;
+        for (Partition partition : getPartitions(fromMonth, toMonth).values()) {
+            if (numberOfRows > 0 && partition.size > 0 && rows[numberOfRows - 1] > partition.rows[0]) {
+                isSorted = false;
+            }
+            System.arraycopy(partition.rows, 0, rows, numberOfRows, partition.size);
+            numberOfRows += partition.size;
+        }
+        if (!isSorted) {
+            Arrays.sort(rows);
+        }
+        return rows;
+    }
+
+    private NavigableMap<YearMonth, Partition> getPartitions(YearMonth fromMonth, YearMonth toMonth) {
+        NavigableMap<YearMonth, Partition> partitions = partitionsByMonth;
+        if (fromMonth != null) {
+            partitions = partitions.tailMap(fromMonth, true);
+        }
+        if (toMonth != null) {
+            partitions = partitions.headMap(toMonth, true);
+        }
+        return partitions;
+    }
+}
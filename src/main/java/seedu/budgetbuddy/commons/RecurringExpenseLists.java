@@ -12,6 +12,7 @@ import java.util.ArrayList;
  */
 public class RecurringExpenseLists {
     protected ArrayList<ExpenseList> recurringExpenses;
+    protected boolean isModified;
 
     Ui ui = new Ui();
 
@@ -38,6 +39,7 @@ public class RecurringExpenseLists {
         ExpenseList expenses = new RecurringExpenseList(listName, new ArrayList<>());
 
         recurringExpenses.add(expenses);
+        isModified = true;
 
         ui.printDivider();
         System.out.println("New List Created with name : " + expenses.getName());
@@ -52,6 +54,7 @@ public class RecurringExpenseLists {
     public void removeList(int listNumber) {
         int listNumberAsArrayPosition = listNumber - 1;
         recurringExpenses.remove(listNumberAsArrayPosition);
+        isModified = true;
 
         ui.printDivider();
         System.out.println("List Successfully Removed");
@@ -110,4 +113,40 @@ public class RecurringExpenseLists {
         int listNumberAsArrayPosition = listNumber - 1;
         return recurringExpenses.get(listNumberAsArrayPosition);
     }
+
+    /**
+     * Returns true if a recurring expense list was added or removed, or if any of the recurring expense lists
+     * have changed since they were last saved.
+     *
+     * @return true if the recurring expenses need to be written to storage, else false
+     */
+    public boolean isModified() {
+        if (isModified) {
+            return true;
+        }
+        for (ExpenseList expenses : recurringExpenses) {
+            if (expenses.isModified()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Flags the recurring expenses as changed, so that the next save writes them to storage.
+     */
+    public void markModified() {
+        this.isModified = true;
+    }
+
+    /**
+     * Clears the changed flag of this object and of every recurring expense list, after they have been
+     * written to storage.
+     */
+    public void clearModified() {
+        this.isModified = false;
+        for (ExpenseList expenses : recurringExpenses) {
+            expenses.clearModified();
+        }
+    }
 }
@@ -1,5 +1,7 @@
 package seedu.budgetbuddy.commons;
 
+import java.util.Currency;
+
 //@author sweijie24
 public class Saving extends Transaction{
 
@@ -7,13 +9,13 @@ public class Saving extends Transaction{
         super(category, amount);
     }
 
-    @Override
-    public String toString() {
-        return "Category: " + category + " Amount: " + amount;
+    public Saving(String category, long amount, Currency currency) {
+        super(category, amount, currency);
     }
 
-    public double getAmount() {
-        return amount;
+    @Override
+    public String toString() {
+        return "Category: " + getCategory() + " Amount: " + getAmount();
     }
 
 }
@@ -1,32 +1,36 @@
 package seedu.budgetbuddy.commons;
 
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Currency;
 import java.util.List;
-import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
-import java.util.Collections;
 
 import seedu.budgetbuddy.Ui;
 import seedu.budgetbuddy.exception.BudgetBuddyException;
 
 public class SavingList {
     private static final Logger LOGGER = Logger.getLogger(Logger.GLOBAL_LOGGER_NAME);
+    private static final Pattern AMOUNT_PATTERN = Pattern.compile("^\\d+(\\.\\d{1,2})?$");
     private static final double MAX_AMOUNT = 1_000_000_000_000.0;
 
     protected ArrayList<Saving> savings;
-    protected ArrayList<String> categories;
+    protected List<String> categories;
     protected double initialAmount;
+    protected boolean isModified;
+    // The sum of the savings in each category indexed by category id, null until first read, see getCategoryTotals
+    private List<CurrencyTotal> categoryTotals;
+    // The exchange rates the category totals were built with
+    private ExchangeRateTable totalledExchangeRates;
     Ui ui = new Ui();
 
 
 
     public SavingList() {
         this.savings = new ArrayList<>();
-        this.categories = new ArrayList<>(Arrays.asList("Salary",
-                "Investments", "Gifts", "Others"));
+        this.categories = CategoryRegistry.SAVINGS_CATEGORIES;
         this.initialAmount = 0;
     }
 
@@ -40,7 +44,104 @@ public class SavingList {
     }
 
     /**
-     * Calculates the total savings amount by summing up the amounts of all savings.
+     * Returns true if the savings in this list have changed since they were last saved.
+     *
+     * @return true if the savings need to be written to storage, else false
+     */
+    public boolean isModified() {
+        return isModified;
+    }
+
+    /**
+     * Flags the savings in this list as changed, so that the next save writes them to storage.
+     */
+    public void markModified() {
+        this.isModified = true;
+    }
+
+    /**
+     * Clears the changed flag of the savings, after they have been written to storage.
+     */
+    public void clearModified() {
+        this.isModified = false;
+    }
+
+    /**
+     * Discards the category totals, so that they are rebuilt from the savings the next time they are read. Call this
+     * after changing the savings directly through {@link #getSavings()}.
+     */
+    public void resetTotals() {
+        this.categoryTotals = null;
+    }
+
+    private List<CurrencyTotal> getCategoryTotals() {
+        if (totalledExchangeRates != DefaultCurrency.getExchangeRates()) {
+            categoryTotals = null;
+            totalledExchangeRates = DefaultCurrency.getExchangeRates();
+        }
+        if (categoryTotals == null) {
+            categoryTotals = new ArrayList<>();
+            for (Saving saving : savings) {
+                addToCategoryTotals(saving);
+            }
+        }
+        return categoryTotals;
+    }
+
+    /**
+     * Adds a saving to the category totals. Totals which have not been computed yet are left to be computed from
+     * the list, which already includes the saving.
+     */
+    private void addToCategoryTotals(Saving saving) {
+        if (categoryTotals == null) {
+            return;
+        }
+        int categoryId = saving.getCategoryId();
+        while (categoryTotals.size() <= categoryId) {
+            categoryTotals.add(null);
+        }
+        if (categoryTotals.get(categoryId) == null) {
+            categoryTotals.set(categoryId, new CurrencyTotal());
+        }
+        categoryTotals.get(categoryId).add(saving.getAmountInMinorUnits(), saving.getCurrency(), null);
+    }
+
+    /**
+     * Removes a saving from the category totals, before its amount is changed
+     */
+    private void removeFromCategoryTotals(Saving saving) {
+        if (categoryTotals == null) {
+            return;
+        }
+        CurrencyTotal categoryTotal = categoryTotals.get(saving.getCategoryId());
+        assert categoryTotal != null : "Category of a saving in the list should have a total";
+        categoryTotal.remove(saving.getAmountInMinorUnits(), saving.getCurrency(), null);
+    }
+
+    /**
+     * Returns the sum of the savings in each category from the category totals, which are kept up to date as
+     * savings are added, edited and reduced
+     *
+     * @return The sums in minor units of the default currency, indexed by category id
+     */
+    private long[] getCategorySums() {
+        List<CurrencyTotal> totals = getCategoryTotals();
+        long[] sums = new long[totals.size()];
+        for (int categoryId = 0; categoryId < sums.length; categoryId++) {
+            CurrencyTotal categoryTotal = totals.get(categoryId);
+            sums[categoryId] = categoryTotal == null ? 0 : categoryTotal.toDefaultCurrency();
+        }
+        return sums;
+    }
+
+    private static long getSum(long[] sums, String category) {
+        int categoryId = CategoryRegistry.findId(category);
+        return categoryId >= 0 && categoryId < sums.length ? sums[categoryId] : 0;
+    }
+
+    /**
+     * Calculates the total savings amount by summing up the amounts of all savings by currency, and converting
+     * the sum in each currency once.
      * Sets the initial amount to the calculated total savings.
      * Logs a severe error if an AssertionError occurs during the calculation.
      */
@@ -48,14 +149,15 @@ public class SavingList {
         try {
             assert savings != null : "Savings list should not be null";
 
-            double totalSavings = 0;
+            CurrencyTotal totalSavings = new CurrencyTotal();
             for (int i = 0; i < savings.size(); i++) {
                 Saving saving = savings.get(i);
                 assert saving != null : "Saving object at index " + i + " is null";
-                totalSavings += saving.getAmount();
+                totalSavings.add(saving.getAmountInMinorUnits(), saving.getCurrency(), null);
             }
 
-            this.initialAmount = totalSavings;
+            this.initialAmount = Money.toDouble(totalSavings.toDefaultCurrency(),
+                    DefaultCurrency.getDefaultCurrency());
         } catch (AssertionError e) {
             LOGGER.log(Level.SEVERE, "Error occurred while calculating total savings", e);
         }
@@ -77,9 +179,11 @@ public class SavingList {
         try {
             System.out.println(String.format("Current Currency: %s", DefaultCurrency.getDefaultCurrency()));
             System.out.println("Savings:");
+            int filterCategoryId = filterCategory == null ? CategoryRegistry.UNKNOWN_ID
+                    : CategoryRegistry.findId(filterCategory);
             for (int i = 0; i < savings.size(); i++) {
                 Saving saving = savings.get(i);
-                if (filterCategory == null || saving.getCategory().equalsIgnoreCase(filterCategory)) {
+                if (filterCategory == null || saving.getCategoryId() == filterCategoryId) {
                     System.out.print(i + 1 + " | ");
                     System.out.print("Category: " + saving.getCategory() + " | ");
                     System.out.println("Amount: $" + String.format("%.2f", saving.getAmount()) + " | ");
@@ -89,16 +193,14 @@ public class SavingList {
             System.out.println("Initial Savings Amount: $" + String.format("%.2f", initialAmount));
             System.out.println("Expenses Deducted: ");
 
-            double totalExpenses = 0;
             for (Expense expense : expenseList.getExpenses()) {
-                totalExpenses += expense.getAmount();
                 System.out.println("$" + String.format("%.2f", expense.getAmount()) +
                         " spent on " + expense.getDescription() +
                         " on " + expense.getDateAdded());
             }
             ui.printDivider();
 
-            double remainingAmount = calculateRemainingSavings(initialAmount, totalExpenses);
+            double remainingAmount = calculateRemainingSavings(initialAmount, expenseList.calculateTotalExpenses());
             if (remainingAmount < 0) {
                 remainingAmount *= -1;
                 System.out.println("You are currently short on savings by: $" + String.format("%.2f", remainingAmount));
@@ -136,48 +238,53 @@ public class SavingList {
         assert amount != null : "Amount should not be null";
         LOGGER.info("Adding saving...");
     
-        if (categories.stream().noneMatch(existingCategory -> existingCategory.equalsIgnoreCase(category))) {
+        String matchedCategory = CategoryRegistry.findSavingsCategory(category);
+        if (matchedCategory == null) {
             throw new BudgetBuddyException("The category '" + category + "' is not listed.");
         }
         
     
-        if (!amount.matches("^\\d+(\\.\\d{1,2})?$")) {
+        if (!AMOUNT_PATTERN.matcher(amount).matches()) {
             throw new BudgetBuddyException("Invalid amount format. Amount should be a positive number with up" +
                                             " to maximum two decimal places.");
         }
     
-        double amountDouble;
+        Currency currency = DefaultCurrency.getDefaultCurrency();
+        long amountInMinorUnits;
         try {
-            amountDouble = Double.parseDouble(amount);
+            amountInMinorUnits = Money.parse(amount, currency);
         } catch (NumberFormatException e) {
             throw new BudgetBuddyException("Invalid amount format. Amount should be a number.");
         }
         
-        if (amountDouble < 0) {
+        if (amountInMinorUnits < 0) {
             throw new BudgetBuddyException("Savings should not be negative.");
         }
     
-        if (amountDouble > MAX_AMOUNT) {
+        if (Money.toDouble(amountInMinorUnits, currency) > MAX_AMOUNT) {
             throw new BudgetBuddyException("Amount exceeds the maximum allowed limit of " + MAX_AMOUNT);
         }
 
+        int categoryId = CategoryRegistry.getId(matchedCategory);
         boolean found = false;
         for (Saving saving : savings) {
-            if (saving.getCategory().equalsIgnoreCase(category)) {
-                saving.setAmount(saving.getAmount() + amountDouble);
+            if (saving.getCategoryId() == categoryId) {
+                // The saving is kept in the default currency from now on, as the amount added is in it
+                removeFromCategoryTotals(saving);
+                saving.setAmount(saving.getAmountInDefaultCurrency() + amountInMinorUnits, currency);
+                addToCategoryTotals(saving);
+                markModified();
                 found = true;
                 LOGGER.info("Updated existing saving for category: " + category);
                 break;
             }
         }
         if (!found) {
-            String matchedcateogry = categories.stream()
-                    .filter(existingCategory -> existingCategory.equalsIgnoreCase(category))
-                    .findFirst()
-                    .orElse(null);
-            Saving saving = new Saving(matchedcateogry, amountDouble);
+            Saving saving = new Saving(matchedCategory, amountInMinorUnits, currency);
             savings.add(saving);
-            System.out.println("Savings Added to: " + matchedcateogry + " of $" + amount);
+            addToCategoryTotals(saving);
+            markModified();
+            System.out.println("Savings Added to: " + matchedCategory + " of $" + amount);
         }
     }
     
@@ -185,8 +292,9 @@ public class SavingList {
     
 
     public void reduceSavingsByCategory(String category, double amount) {
+        int categoryId = CategoryRegistry.findId(category);
         List<Saving> matchedSavings = savings.stream()
-                .filter(s -> s.getCategory().equalsIgnoreCase(category))
+                .filter(s -> s.getCategoryId() == categoryId)
                 .collect(Collectors.toList());
 
         if (matchedSavings.isEmpty()) {
@@ -196,8 +304,13 @@ public class SavingList {
 
         boolean allReductionsSuccessful = true;
         for (Saving saving : matchedSavings) {
-            if (saving.getAmount() >= amount) {
-                saving.setAmount(saving.getAmount() - amount);
+            Currency currency = DefaultCurrency.getDefaultCurrency();
+            long amountInMinorUnits = Money.fromDouble(amount, currency);
+            if (saving.getAmountInDefaultCurrency() >= amountInMinorUnits) {
+                removeFromCategoryTotals(saving);
+                saving.setAmount(saving.getAmountInDefaultCurrency() - amountInMinorUnits, currency);
+                addToCategoryTotals(saving);
+                markModified();
             } else {
                 System.out.println("Insufficient amount in " + category + " to reduce by $" + amount);
                 allReductionsSuccessful = false;
@@ -221,12 +334,12 @@ public class SavingList {
     public void editSaving(String category, double amount) {
         LOGGER.info(String.format("Attempting to edit savings with category '%s' and amount %.2f", category, amount));
 
-        // Convert category to lower case for case insensitive comparison
-        String lowerCaseCategory = category.toLowerCase();
-
         // Assert that the provided category is not null or empty
         assert category != null && !category.isEmpty() : "Category cannot be null or empty";
 
+        // Categories are compared by their ids, which ignore case
+        int categoryId = CategoryRegistry.findId(category);
+
         // Assert that the amount is non-negative
         assert amount >= 0 : "Amount cannot be negative";
 
@@ -234,8 +347,11 @@ public class SavingList {
         boolean isEdited = false;
 
         for (Saving saving : savings) {
-            if (saving.getCategory().toLowerCase().equals(lowerCaseCategory)) {
+            if (saving.getCategoryId() == categoryId) {
+                removeFromCategoryTotals(saving);
                 saving.setAmount(amount);
+                addToCategoryTotals(saving);
+                markModified();
                 LOGGER.info("Updated saving: " + saving.toString());
                 isEdited = true;
             }
@@ -254,106 +370,102 @@ public class SavingList {
 
 
     public double calculateTotalSavings() {
-        double totalSavings = 0;
+        CurrencyTotal amounts = new CurrencyTotal();
+        long totalSavings = 0;
         try {
             for (Saving saving : savings) {
-                if (saving.getAmount() < 0) {
+                if (saving.getAmountInMinorUnits() < 0) {
                     throw new IllegalArgumentException("Savings should not be negative");
                 }
-                totalSavings += saving.getAmount();
+                amounts.add(saving.getAmountInMinorUnits(), saving.getCurrency(), null);
             }
+            totalSavings = amounts.toDefaultCurrency();
         } catch (IllegalArgumentException e) {
             LOGGER.log(Level.WARNING, "Negative savings amount detected", e);
         }
 
         assert totalSavings >= 0 : "Total savings should be non-negative";
 
-        return totalSavings;
+        return Money.toDouble(totalSavings, DefaultCurrency.getDefaultCurrency());
     }
 
     /**
      * Analyzes and displays insights into the saved amounts across different categories.
      * It prints out the highest and lowest savings categories and lists categories with no savings.
      * A bar graph representing the distribution of savings is also displayed.
+     * The sums are read from the category totals, which are kept up to date as savings change, so the insights
+     * take a few passes over the categories instead of over the savings.
      */
     public void getSavingsInsights() {
-        double totalSavings = calculateTotalSavings();
+        long[] sums = getCategorySums();
+        long totalInMinorUnits = 0;
+        long highestSum = 0;
+        long lowestSum = Long.MAX_VALUE;
+        for (long sum : sums) {
+            totalInMinorUnits += sum;
+            highestSum = Math.max(highestSum, sum);
+            if (sum > 0) {
+                lowestSum = Math.min(lowestSum, sum);
+            }
+        }
+        double totalSavings = Money.toDouble(totalInMinorUnits, DefaultCurrency.getDefaultCurrency());
         if (totalSavings == 0) {
             System.out.println("No savings to display.");
             return;
         }
 
-        Map<String, Double> sumsByCategory = calculateSumsByCategory();
-
-        // Calculate the highest savings
-        double highestSavings = Collections.max(sumsByCategory.values());
-        // Calculate the lowest savings
-        double lowestSavings = sumsByCategory.values().stream()
-                .filter(amount -> amount > 0)
-                .min(Double::compare)
-                .orElse(0.0);
-
-        List<String> highestCategories = getSavingsCategoriesByAmount(sumsByCategory, highestSavings);
-        List<String> lowestCategories = getSavingsCategoriesByAmount(sumsByCategory, lowestSavings);
+        List<String> highestCategories = getSavingsCategoriesBySum(sums, highestSum);
+        List<String> lowestCategories = getSavingsCategoriesBySum(sums, lowestSum);
 
         // Print the distribution graph
         ui.printDivider();
-        printSavingsDistribution(sumsByCategory, totalSavings);
+        printSavingsDistribution(sums, highestSum, totalSavings);
         ui.printDivider();
 
         // Print insights
         System.out.println("Highest Savings Category: " + formatCategoryList(highestCategories));
         System.out.println("Lowest Savings Category: " + formatCategoryList(lowestCategories));
         System.out.println("Categories with no savings added: " +
-                formatCategoryList(getNoSavingsCategories(sumsByCategory)));
+                formatCategoryList(getNoSavingsCategories(sums)));
         ui.printDivider();
     }
 
-    private List<String> getSavingsCategoriesByAmount(Map<String, Double> sumsByCategory, double amount) {
-        return sumsByCategory.entrySet().stream()
-                .filter(entry -> entry.getValue() == amount)
-                .map(Map.Entry::getKey)
-                .collect(Collectors.toList());
+    private List<String> getSavingsCategoriesBySum(long[] sums, long sum) {
+        List<String> matchedCategories = new ArrayList<>();
+        for (int categoryId = 0; categoryId < sums.length; categoryId++) {
+            if (sums[categoryId] == sum) {
+                matchedCategories.add(CategoryRegistry.getName(categoryId));
+            }
+        }
+        return matchedCategories;
     }
 
-    private List<String> getNoSavingsCategories(Map<String, Double> sumsByCategory) {
-        return categories.stream()
-                .filter(category -> !sumsByCategory.containsKey(category) || sumsByCategory.get(category) == 0)
-                .collect(Collectors.toList());
+    private List<String> getNoSavingsCategories(long[] sums) {
+        List<String> noSavingsCategories = new ArrayList<>();
+        for (String category : categories) {
+            if (getSum(sums, category) == 0) {
+                noSavingsCategories.add(category);
+            }
+        }
+        return noSavingsCategories;
     }
 
     /**
      * Prints a distribution of savings as a horizontal bar graph.
      * Each category's bar length is proportional to its percentage of the total savings.
      */
-    private void printSavingsDistribution(Map<String, Double> sumsByCategory, double totalSavings) {
-        double maxPercentage = sumsByCategory.values().stream()
-                .mapToDouble(amount -> (amount / totalSavings) * 100)
-                .max()
-                .orElse(100);
+    private void printSavingsDistribution(long[] sums, long highestSum, double totalSavings) {
+        Currency currency = DefaultCurrency.getDefaultCurrency();
+        double maxPercentage = (Money.toDouble(highestSum, currency) / totalSavings) * 100;
 
         for (String category : categories) {
-            double percentage = (sumsByCategory.getOrDefault(category, 0.0) / totalSavings) * 100;
+            double percentage = (Money.toDouble(getSum(sums, category), currency) / totalSavings) * 100;
             int barLength = (int) (percentage / (maxPercentage / 50));
             String bar = "[" + "#".repeat(Math.max(0, barLength)) + "]";
             System.out.println(String.format("%-15s: %6.2f%% %s", category, percentage, bar));
         }
     }
 
-    /**
-     * Calculates the sum of savings for each category.
-     *
-     * @return A map with the category as the key and the sum of savings in that category as the value.
-     */
-    private Map<String, Double> calculateSumsByCategory() {
-        return savings.stream().collect(
-                Collectors.groupingBy(
-                        Saving::getCategory,
-                        Collectors.summingDouble(Saving::getAmount)
-                )
-        );
-    }
-
     /**
      * Formats a list of category names into a human-readable string with categories separated by commas.
      * The word "and" is inserted before the last category if there are two or more.
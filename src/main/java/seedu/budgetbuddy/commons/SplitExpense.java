@@ -1,8 +1,7 @@
 package seedu.budgetbuddy.commons;
 
 import java.time.LocalDate;
-import java.math.BigDecimal;
-import java.math.RoundingMode;
+import java.util.Currency;
 
 public class SplitExpense extends Transaction {
     protected String description;
@@ -10,22 +9,41 @@ public class SplitExpense extends Transaction {
     private LocalDate dateAdded;
 
     public SplitExpense(LocalDate dateAdded, double totalAmount, int numberOfPeople, String description) {
-        super("Shared Bill", calculateAmountPerPerson(totalAmount, numberOfPeople));
-        this.dateAdded = dateAdded;
-        this.numberOfPeople = numberOfPeople;
-        this.description = description;
+        this(dateAdded, Money.fromDouble(totalAmount, DefaultCurrency.getDefaultCurrency()),
+                DefaultCurrency.getDefaultCurrency(), numberOfPeople, description);
     }
 
     public SplitExpense(double totalAmount, int numberOfPeople, String description) {
-        super("Shared Bill", calculateAmountPerPerson(totalAmount, numberOfPeople));
+        this(LocalDate.now(), totalAmount, numberOfPeople, description);
+    }
+
+    /**
+     * Constructs a SplitExpense from a total amount which is already in minor units of the provided currency
+     *
+     * @param dateAdded The date the bill was added
+     * @param totalAmount The total amount of the bill in minor units of `currency`
+     * @param currency The currency of the amount
+     * @param numberOfPeople The number of people sharing the bill
+     * @param description The description of the bill
+     */
+    public SplitExpense(LocalDate dateAdded, long totalAmount, Currency currency, int numberOfPeople,
+                        String description) {
+        super("Shared Bill", calculateAmountPerPerson(totalAmount, numberOfPeople), currency);
+        this.dateAdded = dateAdded;
         this.numberOfPeople = numberOfPeople;
-        this.description = description;
-        this.dateAdded = LocalDate.now();
+        this.description = DescriptionPool.intern(description);
     }
 
-    private static double calculateAmountPerPerson(double totalAmount, int numberOfPeople) {
-        BigDecimal amount = BigDecimal.valueOf(totalAmount);
-        return amount.divide(BigDecimal.valueOf(numberOfPeople), 2, RoundingMode.HALF_UP).doubleValue();
+    /**
+     * Divides a total amount in minor units between the provided number of people, rounding half up
+     */
+    private static long calculateAmountPerPerson(long totalAmount, int numberOfPeople) {
+        long amountPerPerson = totalAmount / numberOfPeople;
+        long remainder = Math.abs(totalAmount % numberOfPeople);
+        if (remainder * 2 >= numberOfPeople) {
+            amountPerPerson += totalAmount < 0 ? -1 : 1;
+        }
+        return amountPerPerson;
     }
 
     public int getNumberOfPeople() {
@@ -39,23 +57,28 @@ public class SplitExpense extends Transaction {
     public LocalDate getDateAdded() {
         return dateAdded;
     }
+
+    /**
+     * Returns the date the bill was added, so that it is converted at the rates in effect on that date
+     */
+    @Override
+    protected LocalDate getExchangeRateDate() {
+        return dateAdded;
+    }
     
     public Boolean isExpenseSettled() {
         return false;
     }
 
-    public double getAmount() {
-        return amount;
-    }
-
     @Override
     public String toString() {
-        return "Number of People: " + numberOfPeople + " Amount per person: " + amount + " Description: " +
+        return "Number of People: " + numberOfPeople + " Amount per person: " + getAmount() + " Description: " +
                 description + " Total Amount: " + getTotalAmount();
     }
     
     public double getTotalAmount() {
-        return amount * numberOfPeople;
+        return Money.toDouble(DefaultCurrency.convert(amount * numberOfPeople, currency, dateAdded),
+                DefaultCurrency.getDefaultCurrency());
     }
 
 }
@@ -1,7 +1,9 @@
 package seedu.budgetbuddy.commons;
 
 
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Currency;
 import java.util.List;
 
 import seedu.budgetbuddy.Ui;
@@ -13,7 +15,8 @@ import java.util.logging.Logger;
 public class SplitExpenseList {
     private static final Logger LOGGER = Logger.getLogger(Logger.GLOBAL_LOGGER_NAME);
     protected ArrayList <SplitExpense> splitexpenses;
-    
+    protected boolean isModified;
+
     Ui ui = new Ui();
 
     public SplitExpenseList(ArrayList<SplitExpense> splitexpenses){
@@ -32,6 +35,29 @@ public class SplitExpenseList {
         return splitexpenses;
     }
 
+    /**
+     * Returns true if the split expenses in this list have changed since they were last saved.
+     *
+     * @return true if the split expenses need to be written to storage, else false
+     */
+    public boolean isModified() {
+        return isModified;
+    }
+
+    /**
+     * Flags the split expenses in this list as changed, so that the next save writes them to storage.
+     */
+    public void markModified() {
+        this.isModified = true;
+    }
+
+    /**
+     * Clears the changed flag of the split expenses, after they have been written to storage.
+     */
+    public void clearModified() {
+        this.isModified = false;
+    }
+
     public SplitExpense getSplitExpenseListAtListNumber(int listNumber) {
         int listNumberAsArrayPosition = listNumber - 1;
         return splitexpenses.get(listNumberAsArrayPosition);
@@ -73,15 +99,16 @@ public class SplitExpenseList {
         assert description != null : "Description should not be null";
         LOGGER.info("Adding split expense...");
 
-        double amountDouble;
+        Currency currency = DefaultCurrency.getDefaultCurrency();
+        long amountInMinorUnits;
         int numberOfPeopleInt;
         try{
-            amountDouble = Double.parseDouble(amount);
+            amountInMinorUnits = Money.parse(amount, currency);
         } catch (NumberFormatException e) {
             throw new BudgetBuddyException("Invalid amount format. Amount should be a number.");
         }
 
-        if (amountDouble < 0){
+        if (amountInMinorUnits < 0){
             throw new BudgetBuddyException("Expenses should not be negative.");
         }
 
@@ -94,8 +121,10 @@ public class SplitExpenseList {
             throw new BudgetBuddyException("Number of people should be a number");
         }
 
-        SplitExpense splitexpense = new SplitExpense(amountDouble, numberOfPeopleInt, description);
+        SplitExpense splitexpense = new SplitExpense(LocalDate.now(), amountInMinorUnits, currency,
+                numberOfPeopleInt, description);
         splitexpenses.add(splitexpense);
+        markModified();
     }
 
     public void settleSplitExpenses(int index) {
@@ -104,5 +133,6 @@ public class SplitExpenseList {
         assert index < splitexpenses.size() : "Index should be within the range of the list";
 
         splitexpenses.remove(index);
+        markModified();
     }
 }
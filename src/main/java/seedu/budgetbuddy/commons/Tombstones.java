@@ -0,0 +1,120 @@
+package seedu.budgetbuddy.commons;
+
+import java.util.BitSet;
+
+/**
+ * Marks the rows of an {@link ExpenseList} which have been deleted but not yet removed from the list, so that
+ * deleting an expense does not shift the rows after it. Rows are positions in the underlying list, and stay the
+ * same until the list is compacted. Positions are the numbers shown to the user, which count only the rows which
+ * have not been deleted. A Fenwick tree of the deleted rows converts between the two in O(log n) time.
+ * The tree only covers the rows up to the last deleted one, as the rows after it are all kept, so appending rows
+ * does not change it.
+ */
+public class Tombstones {
+    private final BitSet deletedRows = new BitSet();
+    // 1-based Fenwick tree, where tree[i] counts the deleted rows in (i - lowestOneBit(i), i]
+    private int[] tree = new int[1];
+    private int deletedCount;
+
+    public int getDeletedCount() {
+        return deletedCount;
+    }
+
+    public boolean isDeleted(int row) {
+        return deletedRows.get(row);
+    }
+
+    /**
+     * Returns the first deleted row at or after the provided row
+     *
+     * @param fromRow The row to start from
+     * @return The deleted row, or -1 if there is none
+     */
+    public int nextDeletedRow(int fromRow) {
+        return deletedRows.nextSetBit(fromRow);
+    }
+
+    /**
+     * Marks the provided row as deleted
+     *
+     * @param row The row of the deleted expense, which has not been deleted before
+     */
+    public void markDeleted(int row) {
+        assert !isDeleted(row) : "Row should not be deleted twice";
+        if (row >= getCapacity()) {
+            grow(row + 1);
+        }
+        deletedRows.set(row);
+        deletedCount++;
+        for (int i = row + 1; i < tree.length; i += Integer.lowestOneBit(i)) {
+            tree[i]++;
+        }
+    }
+
+    /**
+     * Returns the row of the expense shown at the provided position
+     *
+     * @param position The 0-based position of the expense among the expenses which are kept
+     * @return The row of the expense
+     */
+    public int toRow(int position) {
+        int keptInTree = getCapacity() - deletedCount;
+        if (position >= keptInTree) {
+            return getCapacity() + position - keptInTree;
+        }
+        // Finds the longest prefix of rows which keeps at most `position` rows, the row after it is the one shown
+        int prefix = 0;
+        int keptInPrefix = 0;
+        for (int step = Integer.highestOneBit(getCapacity()); step > 0; step >>= 1) {
+            int next = prefix + step;
+            if (next < tree.length && keptInPrefix + step - tree[next] <= position) {
+                prefix = next;
+                keptInPrefix += step - tree[next];
+            }
+        }
+        return prefix;
+    }
+
+    /**
+     * Returns the position the expense at the provided row is shown at
+     *
+     * @param row A row which has not been deleted
+     * @return The 0-based position of the expense among the expenses which are kept
+     */
+    public int toPosition(int row) {
+        return row - countDeletedBefore(row);
+    }
+
+    private int countDeletedBefore(int row) {
+        int count = 0;
+        for (int i = Math.min(row, getCapacity()); i > 0; i -= Integer.lowestOneBit(i)) {
+            count += tree[i];
+        }
+        return count;
+    }
+
+    private int getCapacity() {
+        return tree.length - 1;
+    }
+
+    /**
+     * Rebuilds the tree to cover at least the provided number of rows, with a power of two as its capacity
+     */
+    private void grow(int minCapacity) {
+        int capacity = Integer.highestOneBit(minCapacity);
+        if (capacity < minCapacity) {
+            capacity <<= 1;
+        }
+        tree = new int[capacity + 1];
+        for (int row = deletedRows.nextSetBit(0); row >= 0; row = deletedRows.nextSetBit(row + 1)) {
+            tree[row + 1]++;
+        }
+        // Adds every node into its parent, which builds the tree in O(n) time
+        for (int i = 1; i <= capacity; i++) {
+            int parent = i + Integer.lowestOneBit(i);
+            if (parent <= capacity) {
+                tree[parent] += tree[i];
+            }
+        }
+    }
+}
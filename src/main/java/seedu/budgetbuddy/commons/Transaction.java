@@ -1,39 +1,107 @@
 package seedu.budgetbuddy.commons;
 
+import java.time.LocalDate;
 import java.util.Currency;
 
 public abstract class Transaction {
-    String category;
-    double amount;
+    int categoryId; // See CategoryRegistry
+    long amount; // In minor units of the currency, see Money
     Currency currency;
 
     public Transaction(String category, double amount) {
-        this.category = category;
-        this.amount = amount;
+        this.categoryId = CategoryRegistry.getId(category);
         this.currency = DefaultCurrency.getDefaultCurrency();
+        this.amount = Money.fromDouble(amount, currency);
+    }
 
+    /**
+     * Constructs a Transaction with an amount which is already in minor units of the provided currency
+     *
+     * @param category The category of the transaction
+     * @param amount The amount in minor units of `currency`
+     * @param currency The currency of the amount
+     */
+    public Transaction(String category, long amount, Currency currency) {
+        this.categoryId = CategoryRegistry.getId(category);
+        this.amount = amount;
+        this.currency = currency;
     }
 
     public String getCategory() {
-        return category;
+        return CategoryRegistry.getName(categoryId);
+    }
+
+    /**
+     * Returns the id of the category of this transaction in the {@link CategoryRegistry}
+     *
+     * @return The id of the category
+     */
+    public int getCategoryId() {
+        return categoryId;
     }
+
+    /**
+     * Returns the amount converted into the default currency, which is the amount shown to the user
+     *
+     * @return The amount in the default currency
+     */
     public double getAmount() {
+        return Money.toDouble(getAmountInDefaultCurrency(), DefaultCurrency.getDefaultCurrency());
+    }
+
+    /**
+     * Returns the amount converted into minor units of the default currency, which is the amount totalled
+     *
+     * @return The amount in minor units of the default currency
+     */
+    public long getAmountInDefaultCurrency() {
+        return DefaultCurrency.convert(amount, currency, getExchangeRateDate());
+    }
+
+    /**
+     * Returns the date whose exchange rates convert the amount, which are the latest rates by default
+     *
+     * @return The date of the rates, or null for the latest rates
+     */
+    protected LocalDate getExchangeRateDate() {
+        return null;
+    }
+
+    /**
+     * Returns the amount in minor units of its currency, such as cents
+     *
+     * @return The amount in minor units
+     */
+    public long getAmountInMinorUnits() {
         return amount;
     }
 
     public void setCategory(String category) {
-        this.category = category;
+        this.categoryId = CategoryRegistry.getId(category);
     }
 
+    /**
+     * Sets the amount to one entered by the user, which is in the default currency
+     *
+     * @param amount The amount in the default currency
+     */
     public void setAmount(double amount){
+        this.currency = DefaultCurrency.getDefaultCurrency();
+        this.amount = Money.fromDouble(amount, currency);
+    }
+
+    /**
+     * Sets the amount and its currency together, as the minor units of an amount depend on its currency
+     *
+     * @param amount The amount in minor units of `currency`
+     * @param currency The currency of the amount
+     */
+    public void setAmount(long amount, Currency currency) {
         this.amount = amount;
+        this.currency = currency;
     }
 
     public Currency getCurrency() {
         return currency;
     }
-
-    public void setCurrency(Currency currency) {
-        this.currency = currency;
-    }
 }
@@ -0,0 +1,45 @@
+package seedu.budgetbuddy;
+
+import org.junit.jupiter.api.Test;
+import seedu.budgetbuddy.commandcreator.AddExpenseCommandCreator;
+import seedu.budgetbuddy.commandcreator.SetBudgetCommandCreator;
+import seedu.budgetbuddy.commons.DefaultCurrency;
+import seedu.budgetbuddy.commons.ExpenseList;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.Currency;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AddExpenseCommandCreatorTest {
+    @Test
+    public void createCommand_moreDecimalPlacesThanCurrency_returnsNull() {
+        ByteArrayOutputStream outContent = new ByteArrayOutputStream();
+        PrintStream originalOut = System.out;
+        System.setOut(new PrintStream(outContent));
+        DefaultCurrency.setDefaultCurrency(Currency.getInstance("JPY"));
+        try {
+            ExpenseList expenses = new ExpenseList();
+            assertNull(new AddExpenseCommandCreator(expenses, "add expense c/Transport a/10.50 d/Bus")
+                    .createCommand());
+            assertNull(new SetBudgetCommandCreator(expenses, "budget set c/Transport b/100.5").createCommand());
+            assertTrue(outContent.toString().contains("Amounts in JPY can have at most 0 decimal places."));
+            assertNotNull(new AddExpenseCommandCreator(expenses, "add expense c/Transport a/10 d/Bus")
+                    .createCommand());
+        } finally {
+            System.setOut(originalOut);
+            DefaultCurrency.setDefaultCurrency(Currency.getInstance("SGD"));
+        }
+    }
+
+    @Test
+    public void createCommand_decimalPlacesOfCurrency_createsCommand() {
+        ExpenseList expenses = new ExpenseList();
+
+        assertNotNull(new AddExpenseCommandCreator(expenses, "add expense c/Transport a/10.50 d/Bus")
+                .createCommand());
+    }
+}
@@ -0,0 +1,39 @@
+package seedu.budgetbuddy;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class AtomicFileWriterTest {
+
+    @Test
+    public void write_existingFile_contentsReplaced() throws IOException {
+        Path file = Files.createTempDirectory("budgetbuddy").resolve("ExpenseFile.txt");
+        Files.writeString(file, "old contents\n");
+
+        AtomicFileWriter.write(file, Durability.FSYNC, writer -> writer.write("new contents\n"));
+
+        assertEquals("new contents\n", Files.readString(file));
+        assertFalse(Files.exists(file.resolveSibling("ExpenseFile.txt.tmp")));
+    }
+
+    @Test
+    public void write_failureWhileWriting_fileUnchanged() throws IOException {
+        Path file = Files.createTempDirectory("budgetbuddy").resolve("ExpenseFile.txt");
+        Files.writeString(file, "old contents\n");
+
+        assertThrows(IOException.class, () -> AtomicFileWriter.write(file, Durability.NONE, writer -> {
+            writer.write("partial contents\n");
+            throw new IOException("Disk full");
+        }));
+
+        assertEquals("old contents\n", Files.readString(file));
+        assertFalse(Files.exists(file.resolveSibling("ExpenseFile.txt.tmp")));
+    }
+}
@@ -0,0 +1,40 @@
+package seedu.budgetbuddy;
+
+import org.junit.jupiter.api.Test;
+import seedu.budgetbuddy.commons.CategoryRegistry;
+import seedu.budgetbuddy.commons.Expense;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class CategoryRegistryTest {
+
+    @Test
+    public void getId_differentCase_sameIdAndCanonicalName() {
+        int id = CategoryRegistry.getId("tRaNsPoRt");
+
+        assertEquals(CategoryRegistry.getId("Transport"), id);
+        assertEquals("Transport", CategoryRegistry.getName(id));
+        assertNotEquals(CategoryRegistry.getId("Housing"), id);
+    }
+
+    @Test
+    public void findCategory_expenseAndSavingsCategories_matchedToTheirLists() {
+        assertEquals("Groceries", CategoryRegistry.findExpenseCategory("GROCERIES"));
+        assertNull(CategoryRegistry.findExpenseCategory("Salary"));
+        assertEquals("Salary", CategoryRegistry.findSavingsCategory("salary"));
+        assertEquals("Others", CategoryRegistry.findSavingsCategory("others"));
+        assertEquals(CategoryRegistry.UNKNOWN_ID, CategoryRegistry.findId("Not a registered category"));
+    }
+
+    @Test
+    public void getCategory_expensesInSameCategory_shareName() {
+        Expense first = new Expense("utility", 10.0, "Water");
+        Expense second = new Expense("Utility", 20.0, "Electricity");
+
+        assertEquals(first.getCategoryId(), second.getCategoryId());
+        assertSame(first.getCategory(), second.getCategory());
+    }
+}
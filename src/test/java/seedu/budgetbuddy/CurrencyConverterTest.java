@@ -1,7 +1,9 @@
 package seedu.budgetbuddy;
 
 import org.junit.jupiter.api.Test;
+import seedu.budgetbuddy.command.ChangeCurrencyCommand;
 import seedu.budgetbuddy.commons.CurrencyConverter;
+import seedu.budgetbuddy.commons.DefaultCurrency;
 import seedu.budgetbuddy.commons.SavingList;
 import seedu.budgetbuddy.commons.Saving;
 import seedu.budgetbuddy.commons.ExpenseList;
@@ -9,7 +11,9 @@ import seedu.budgetbuddy.commons.Expense;
 import seedu.budgetbuddy.exception.BudgetBuddyException;
 
 import java.util.Currency;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 //@@author sweijie24
 public class CurrencyConverterTest {
@@ -44,32 +48,75 @@ public class CurrencyConverterTest {
     }
 
     @Test
-    public void convertSavingCurrency_convertCurrenciesInSavingList_success() throws BudgetBuddyException {
+    public void convertAll_mixedCurrencies_sameAsConvertingEachAmount() {
         CurrencyConverter converter = new CurrencyConverter();
+        Currency[] currencies = {Currency.getInstance("SGD"), Currency.getInstance("JPY"),
+            Currency.getInstance("KRW"), Currency.getInstance("EUR")};
+        long[] amounts = new long[1000];
+        short[] currencyIds = new short[amounts.length];
+        long[] expectedAmounts = new long[amounts.length];
+        Currency newCurrency = Currency.getInstance("USD");
+        for (int i = 0; i < amounts.length; i++) {
+            Currency currency = currencies[i % currencies.length];
+            amounts[i] = i * 37L + 1;
+            currencyIds[i] = CurrencyConverter.getCurrencyId(currency);
+            expectedAmounts[i] = converter.convertAmountInMinorUnits(amounts[i], currency, newCurrency);
+        }
+
+        converter.convertAll(amounts, currencyIds, newCurrency);
+
+        assertArrayEquals(expectedAmounts, amounts);
+    }
+
+    @Test
+    public void convertAll_currencyWithoutRate_exceptionThrown() {
+        CurrencyConverter converter = new CurrencyConverter();
+        long[] amounts = {100};
+        short[] currencyIds = {CurrencyConverter.getCurrencyId(Currency.getInstance("GBP"))};
+
+        assertThrows(IllegalArgumentException.class,
+            () -> converter.convertAll(amounts, currencyIds, Currency.getInstance("SGD")));
+    }
+
+    @Test
+    public void changeCurrency_savingsInSavingList_convertedWhenRead() throws BudgetBuddyException {
         SavingList savings = new SavingList();
         savings.addSaving("Salary", "1000");
         savings.addSaving("Investments", "200");
-        Currency newCurrency = Currency.getInstance("USD");
-
-        converter.convertSavingCurrency(newCurrency, savings);
+        Currency currency = Currency.getInstance("SGD");
 
-        for (Saving saving : savings.getSavings()) {
-            assertEquals(newCurrency, saving.getCurrency());
+        new ChangeCurrencyCommand(Currency.getInstance("USD"), new CurrencyConverter()).execute();
+        try {
+            for (Saving saving : savings.getSavings()) {
+                assertEquals(currency, saving.getCurrency());
+            }
+            assertEquals(100000, savings.getSavings().get(0).getAmountInMinorUnits());
+            assertEquals(750.0, savings.getSavings().get(0).getAmount());
+            assertEquals(900.0, savings.calculateTotalSavings());
+        } finally {
+            DefaultCurrency.setDefaultCurrency(currency);
         }
     }
 
     @Test
-    public void convertExpenseCurrency_convertCurrenciesInExpenseList_success() throws BudgetBuddyException {
-        CurrencyConverter converter = new CurrencyConverter();
+    public void changeCurrency_expensesInExpenseList_convertedWhenRead() throws BudgetBuddyException {
         ExpenseList expenses = new ExpenseList();
         expenses.addExpense("Transport", "1000", "MRT");
         expenses.addExpense("Housing", "200", "BTO");
-        Currency newCurrency = Currency.getInstance("USD");
-
-        converter.convertExpenseCurrency(newCurrency, expenses);
+        Currency currency = Currency.getInstance("SGD");
+        assertEquals(100000, expenses.getCategoryTotal("Transport").getSum());
 
-        for (Expense expense : expenses.getExpenses()) {
-            assertEquals(newCurrency, expense.getCurrency());
+        new ChangeCurrencyCommand(Currency.getInstance("JPY"), new CurrencyConverter()).execute();
+        try {
+            for (Expense expense : expenses.getExpenses()) {
+                assertEquals(currency, expense.getCurrency());
+            }
+            assertEquals(100000, expenses.getExpenses().get(0).getAmountInMinorUnits());
+            assertEquals(112250.0, expenses.getExpenses().get(0).getAmount());
+            assertEquals(112250, expenses.getCategoryTotal("Transport").getSum());
+            assertEquals(134700.0, expenses.calculateTotalExpenses());
+        } finally {
+            DefaultCurrency.setDefaultCurrency(currency);
         }
     }
 }
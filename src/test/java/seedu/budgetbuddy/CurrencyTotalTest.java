@@ -0,0 +1,68 @@
+package seedu.budgetbuddy;
+
+import org.junit.jupiter.api.Test;
+import seedu.budgetbuddy.commons.CurrencyTotal;
+import seedu.budgetbuddy.commons.DefaultCurrency;
+import seedu.budgetbuddy.commons.ExchangeRateTable;
+
+import java.time.LocalDate;
+import java.util.Currency;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class CurrencyTotalTest {
+    private static final Currency SGD = Currency.getInstance("SGD");
+    private static final Currency USD = Currency.getInstance("USD");
+    private static final Currency JPY = Currency.getInstance("JPY");
+
+    private CurrencyTotal createMixedTotal() {
+        CurrencyTotal total = new CurrencyTotal();
+        for (int i = 0; i < 3; i++) {
+            total.add(1, USD, null);
+        }
+        total.add(100, SGD, null);
+        total.add(100, JPY, null);
+        return total;
+    }
+
+    @Test
+    public void toDefaultCurrency_mixedCurrencies_eachCurrencyConvertedOnce() {
+        CurrencyTotal total = createMixedTotal();
+        // 3 US cents are 4 cents, while converting each cent on its own would give 1 cent each
+        assertEquals(4 + 100 + 89, total.toDefaultCurrency());
+
+        total.remove(1, USD, null);
+        assertEquals(3 + 100 + 89, total.toDefaultCurrency());
+    }
+
+    @Test
+    public void toDefaultCurrency_defaultCurrencyChanged_sumsConvertedIntoNewCurrency() {
+        CurrencyTotal total = createMixedTotal();
+        DefaultCurrency.setDefaultCurrency(USD);
+        try {
+            assertEquals(3 + 75 + 67, total.toDefaultCurrency());
+        } finally {
+            DefaultCurrency.setDefaultCurrency(SGD);
+        }
+    }
+
+    @Test
+    public void toDefaultCurrency_datedAmounts_convertedAtRatesOnTheirDates() {
+        SortedMap<LocalDate, Map<Currency, Double>> ratesByDate = new TreeMap<>();
+        ratesByDate.put(LocalDate.of(2024, 1, 1), Map.of(USD, 0.8));
+        ratesByDate.put(LocalDate.of(2024, 6, 1), Map.of(USD, 0.7));
+        DefaultCurrency.setExchangeRates(new ExchangeRateTable(ratesByDate));
+        try {
+            CurrencyTotal total = new CurrencyTotal();
+            total.add(100, USD, LocalDate.of(2024, 2, 1));
+            total.add(70, USD, LocalDate.of(2024, 7, 1));
+            total.add(75, USD, LocalDate.of(2023, 12, 31));
+            assertEquals(125 + 100 + 100, total.toDefaultCurrency());
+        } finally {
+            DefaultCurrency.setExchangeRates(new ExchangeRateTable());
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package seedu.budgetbuddy;
+
+import org.junit.jupiter.api.Test;
+import seedu.budgetbuddy.commons.DescriptionPool;
+import seedu.budgetbuddy.commons.Expense;
+import seedu.budgetbuddy.commons.SplitExpense;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DescriptionPoolTest {
+
+    @Test
+    public void getDescription_repeatedDescriptions_shareOneString() {
+        Expense first = new Expense("Transport", 10.0, new String("grab to work"));
+        Expense second = new Expense(LocalDate.of(2024, 3, 1), "Transport", 12.0, new String("grab to work"));
+        SplitExpense bill = new SplitExpense(30.0, 3, new String("grab to work"));
+
+        assertEquals("grab to work", first.getDescription());
+        assertSame(first.getDescription(), second.getDescription());
+        assertSame(first.getDescription(), bill.getDescription());
+
+        second.setDescription(new String("NTUC"));
+        assertSame(DescriptionPool.intern(new String("NTUC")), second.getDescription());
+    }
+
+    @Test
+    public void intern_duplicate_countedAsSaved() {
+        DescriptionPool.intern(new String("rent for stats"));
+        long duplicates = DescriptionPool.getDuplicateCount();
+        long bytesSaved = DescriptionPool.getBytesSaved();
+
+        DescriptionPool.intern(new String("rent for stats"));
+
+        assertEquals(duplicates + 1, DescriptionPool.getDuplicateCount());
+        assertTrue(DescriptionPool.getBytesSaved() > bytesSaved);
+        assertNull(DescriptionPool.intern(null));
+    }
+}
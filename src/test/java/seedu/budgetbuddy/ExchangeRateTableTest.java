@@ -0,0 +1,63 @@
+package seedu.budgetbuddy;
+
+import org.junit.jupiter.api.Test;
+import seedu.budgetbuddy.commons.CurrencyConverter;
+import seedu.budgetbuddy.commons.ExchangeRateTable;
+
+import java.time.LocalDate;
+import java.util.Currency;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ExchangeRateTableTest {
+    private static final Currency SGD = Currency.getInstance("SGD");
+    private static final Currency USD = Currency.getInstance("USD");
+    private static final Currency GBP = Currency.getInstance("GBP");
+
+    private ExchangeRateTable createTable() {
+        SortedMap<LocalDate, Map<Currency, Double>> ratesByDate = new TreeMap<>();
+        ratesByDate.put(LocalDate.of(2024, 1, 1), Map.of(USD, 0.8));
+        ratesByDate.put(LocalDate.of(2024, 6, 1), Map.of(USD, 0.7, GBP, 0.6));
+        return new ExchangeRateTable(ratesByDate);
+    }
+
+    @Test
+    public void getConverter_dates_ratesInEffectOnDate() {
+        ExchangeRateTable table = createTable();
+
+        assertEquals(3, table.size());
+        assertEquals(75.0, table.getConverter(LocalDate.of(2023, 12, 31)).convertAmount(100, SGD, USD), 1e-9);
+        assertEquals(80.0, table.getConverter(LocalDate.of(2024, 1, 1)).convertAmount(100, SGD, USD), 1e-9);
+        assertEquals(80.0, table.getConverter(LocalDate.of(2024, 5, 31)).convertAmount(100, SGD, USD), 1e-9);
+        assertEquals(70.0, table.getConverter(LocalDate.of(2024, 6, 1)).convertAmount(100, SGD, USD), 1e-9);
+        assertEquals(70.0, table.getConverter(null).convertAmount(100, SGD, USD), 1e-9);
+        // A currency without a built-in rate takes its first rate before its first date
+        assertEquals(60.0, table.getConverter(LocalDate.of(2020, 1, 1)).convertAmount(100, SGD, GBP), 1e-9);
+    }
+
+    @Test
+    public void convertAll_datedAmounts_sameAsConvertingEachAmount() {
+        ExchangeRateTable table = createTable();
+        Currency[] currencies = {SGD, Currency.getInstance("JPY"), GBP};
+        long[] amounts = new long[1000];
+        short[] currencyIds = new short[amounts.length];
+        int[] epochDays = new int[amounts.length];
+        long[] expectedAmounts = new long[amounts.length];
+        for (int i = 0; i < amounts.length; i++) {
+            Currency currency = currencies[i % currencies.length];
+            LocalDate date = LocalDate.of(2023, 10, 1).plusDays(i % 400);
+            amounts[i] = i * 37L + 1;
+            currencyIds[i] = CurrencyConverter.getCurrencyId(currency);
+            epochDays[i] = (int) date.toEpochDay();
+            expectedAmounts[i] = table.getConverter(date).convertAmountInMinorUnits(amounts[i], currency, USD);
+        }
+
+        table.convertAll(amounts, currencyIds, epochDays, USD);
+
+        assertArrayEquals(expectedAmounts, amounts);
+    }
+}
@@ -1,21 +1,28 @@
 package seedu.budgetbuddy;
 
 import org.junit.jupiter.api.Test;
+import seedu.budgetbuddy.commons.CategoryTotal;
 import seedu.budgetbuddy.commons.Expense;
+import seedu.budgetbuddy.commons.ExpenseFilter;
 import seedu.budgetbuddy.commons.ExpenseList;
 import seedu.budgetbuddy.commons.SavingList;
 import seedu.budgetbuddy.exception.BudgetBuddyException;
 import org.junit.jupiter.api.Disabled;
 import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
+import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 
 import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
 
 
 //@@author sweijie24
@@ -155,6 +162,184 @@ public class ExpenseListTest {
         assertEquals(initialSize, expenseList.getExpenses().size()); // Size should remain the same
     }
 
+    @Test
+    public void addExpense_validExpense_marksListModified() throws BudgetBuddyException {
+        ExpenseList expenseList = new ExpenseList();
+        assertFalse(expenseList.isModified());
+
+        expenseList.addExpense("Transport", "50", "Bus Fare");
+        assertTrue(expenseList.isModified());
+
+        expenseList.clearModified();
+        assertFalse(expenseList.isModified());
+    }
+
+    @Test
+    public void addExpense_budgetExceededWithConfirmationPolicy_followsPolicy() throws BudgetBuddyException {
+        ExpenseList expenseList = new ExpenseList();
+        expenseList.setBudget("Transport", 60);
+        expenseList.addExpense("Transport", "50", "Bus Fare");
+
+        try {
+            Ui.setConfirmationPolicy(ConfirmationPolicy.NO);
+            expenseList.addExpense("Transport", "20", "Taxi");
+            assertEquals(1, expenseList.getExpenses().size());
+
+            Ui.setConfirmationPolicy(ConfirmationPolicy.YES);
+            expenseList.addExpense("Transport", "20", "Taxi");
+            assertEquals(2, expenseList.getExpenses().size());
+        } finally {
+            Ui.setConfirmationPolicy(ConfirmationPolicy.PROMPT);
+        }
+    }
+
+    @Test
+    public void addExpense_manyChanges_requiresFullSave() throws BudgetBuddyException {
+        ExpenseList expenseList = new ExpenseList();
+        for (int i = 0; i < 1000; i++) {
+            expenseList.addExpense("Transport", "1", "Bus Fare");
+        }
+
+        assertTrue(expenseList.requiresFullSave());
+        assertTrue(expenseList.getPendingChanges().isEmpty());
+    }
+
+    @Test
+    public void getCategoryTotal_afterAddEditAndDelete_matchesExpenses() throws BudgetBuddyException {
+        ExpenseList expenseList = new ExpenseList();
+        expenseList.addExpense("Transport", "5", "Bus Fare");
+        expenseList.addExpense("Transport", "20.50", "Taxi");
+        expenseList.addExpense("Housing", "1000", "Rent");
+        expenseList.addExpense("transport", "2", "MRT");
+
+        expenseList.editExpense("Housing", 2, 30, "Hotel");
+        expenseList.deleteExpense(2);
+
+        CategoryTotal transportTotal = expenseList.getCategoryTotal("TRANSPORT");
+        assertEquals(700, transportTotal.getSum());
+        assertEquals(2, transportTotal.getCount());
+        assertEquals(200, transportTotal.getMin());
+        assertEquals(500, transportTotal.getMax());
+
+        CategoryTotal housingTotal = expenseList.getCategoryTotal("Housing");
+        assertEquals(3000, housingTotal.getSum());
+        assertEquals(1, housingTotal.getCount());
+        assertEquals(0, expenseList.getCategoryTotal("Others").getCount());
+    }
+
+    @Test
+    public void calculateTotalExpenses_afterAddEditDeleteAndDirectChange_matchesExpenses()
+            throws BudgetBuddyException {
+        ExpenseList expenseList = new ExpenseList();
+        expenseList.addExpense("Transport", "5", "Bus Fare");
+        expenseList.addExpense("Housing", "1000", "Rent");
+        assertEquals(100500, expenseList.calculateTotalExpensesInMinorUnits());
+
+        expenseList.addExpense("Groceries", "12.34", "Bread");
+        expenseList.editExpense("Transport", 2, 30, "Taxi");
+        expenseList.deleteExpense(0);
+        assertEquals(4234, expenseList.calculateTotalExpensesInMinorUnits());
+        assertEquals(3000, expenseList.getCategoryTotal("Transport").getSum());
+
+        expenseList.getExpenses().get(1).setAmount(1.5);
+        expenseList.markModified();
+        assertEquals(3150, expenseList.calculateTotalExpensesInMinorUnits());
+        assertEquals(150, expenseList.getCategoryTotal("Groceries").getMax());
+    }
+
+    @Test
+    public void deleteExpense_manyDeletesEditsAndFinds_sameAsRemovingFromList() throws BudgetBuddyException {
+        ExpenseList expenseList = new ExpenseList();
+        List<Expense> expected = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            expenseList.addExpense(i % 3 == 0 ? "Transport" : "Groceries", String.valueOf(i), "Item " + i % 7);
+            expected.add(expenseList.getExpenses().get(i));
+        }
+        expenseList.filterExpenses("item", 10.0, null);
+
+        Random random = new Random(19);
+        for (int i = 0; i < 120; i++) {
+            int index = i % 4 == 0 ? 0 : random.nextInt(expected.size());
+            if (i % 5 == 0) {
+                expenseList.editExpense("Housing", index + 1, i, "Edited " + i);
+            } else {
+                expenseList.deleteExpense(index);
+                expected.remove(index);
+            }
+            assertEquals(expected.size(), expenseList.size());
+
+            List<Expense> expectedMatches = new ArrayList<>();
+            for (Expense expense : expected) {
+                if (expense.getDescription().toLowerCase().contains("item 3") && expense.getAmount() >= 10) {
+                    expectedMatches.add(expense);
+                }
+            }
+            assertEquals(expectedMatches, expenseList.filterExpenses("Item 3", 10.0, null));
+        }
+
+        long expectedTotal = 0;
+        for (Expense expense : expected) {
+            expectedTotal += expense.getAmountInMinorUnits();
+        }
+        assertEquals(expectedTotal, expenseList.calculateTotalExpensesInMinorUnits());
+        assertEquals(expected, expenseList.getExpenses());
+    }
+
+    @Test
+    public void deleteAndEditExpenses_bulkChanges_sameAsChangingEachExpense() throws BudgetBuddyException {
+        ExpenseList expenseList = new ExpenseList();
+        List<Expense> expected = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            expenseList.addExpense(i % 3 == 0 ? "Transport" : "Groceries", String.valueOf(i % 50), "Item " + i % 7);
+            expected.add(expenseList.getExpenses().get(i));
+        }
+        expenseList.deleteExpense(5);
+        expected.remove(5);
+        expenseList.filterExpenses("item", 10.0, null);
+
+        ExpenseFilter editFilter = new ExpenseFilter("item 2", 20.0, null, "Groceries", null, null);
+        List<Expense> toEdit = new ArrayList<>();
+        for (Expense expense : expected) {
+            if (editFilter.matches(expense)) {
+                toEdit.add(expense);
+            }
+        }
+        assertEquals(toEdit.size(), expenseList.editExpenses(editFilter, "Housing", null, "Edited"));
+        for (Expense expense : toEdit) {
+            assertEquals("Housing", expense.getCategory());
+            assertEquals("Edited", expense.getDescription());
+        }
+
+        ExpenseFilter deleteFilter = new ExpenseFilter("item", null, 30.0, "Transport", null, null);
+        int expectedDeletes = expected.size();
+        expected.removeIf(deleteFilter::matches);
+        expectedDeletes -= expected.size();
+        assertEquals(expectedDeletes, expenseList.deleteExpenses(deleteFilter));
+
+        assertEquals(expected.size(), expenseList.size());
+        assertEquals(0, expenseList.filterExpenses(deleteFilter).size());
+        assertEquals(toEdit.size(), expenseList.filterExpenses("edited", null, null).size());
+        long expectedTotal = 0;
+        for (Expense expense : expected) {
+            expectedTotal += expense.getAmountInMinorUnits();
+        }
+        assertEquals(expectedTotal, expenseList.calculateTotalExpensesInMinorUnits());
+        assertEquals(expected, expenseList.getExpenses());
+    }
+
+    @Test
+    public void listExpenses_readOnlyCommand_doesNotMarkListModified() throws BudgetBuddyException {
+        ExpenseList expenseList = new ExpenseList();
+        expenseList.addExpense("Transport", "50", "Bus Fare");
+        expenseList.clearModified();
+
+        expenseList.listExpenses(null);
+        expenseList.filterExpenses("bus", null, null);
+        expenseList.deleteExpense(5);
+
+        assertFalse(expenseList.isModified());
+    }
+
     @Test
     public void filterExpenses_filterByDescription_returnsTwoMatches() throws BudgetBuddyException {
         ExpenseList expenses = new ExpenseList();
@@ -239,6 +424,112 @@ public class ExpenseListTest {
 
     }
 
+    @Test
+    public void filterExpenses_afterAddEditAndDelete_sameAsScanningDescriptions() throws BudgetBuddyException {
+        String[] words = {"Bus", "bus fare", "Apple", "pineapple", "MRT", "movie night", "apPLE pie", "taxi"};
+        String[] queries = {"bus", "APPLE", "pie", "ple", "e n", "taxi fare", "x", "fare"};
+        Random random = new Random(2113);
+        ExpenseList expenses = new ExpenseList();
+
+        for (int i = 0; i < 300; i++) {
+            int operation = random.nextInt(4);
+            int size = expenses.size();
+            if (operation == 0 && size > 0) {
+                expenses.deleteExpense(random.nextInt(size));
+            } else if (operation == 1 && size > 0) {
+                expenses.editExpense("Others", random.nextInt(size) + 1, 1,
+                        words[random.nextInt(words.length)] + " " + i);
+            } else {
+                expenses.addExpense("Others", "1", words[random.nextInt(words.length)] + " " + i);
+            }
+
+            String query = queries[random.nextInt(queries.length)];
+            List<Expense> expected = new ArrayList<>();
+            for (Expense expense : expenses.getExpenses()) {
+                if (expense.getDescription().toLowerCase().contains(query.toLowerCase())) {
+                    expected.add(expense);
+                }
+            }
+            assertEquals(expected, expenses.filterExpenses(query, null, null));
+        }
+    }
+
+    @Test
+    public void filterExpenses_amountRanges_sameAsScanningAmounts() throws BudgetBuddyException {
+        String[] words = {"Bus", "bus fare", "Apple", "pineapple", "taxi"};
+        String[] queries = {"", "bus", "apple", "x"};
+        Random random = new Random(2113);
+        ExpenseList expenses = new ExpenseList();
+
+        // Enough operations for rows added after the first search to be merged into the amount index
+        for (int i = 0; i < 3000; i++) {
+            int operation = random.nextInt(6);
+            int size = expenses.size();
+            String amount = Integer.toString(random.nextInt(50) + 1);
+            if (operation == 0 && size > 0) {
+                expenses.deleteExpense(random.nextInt(size));
+            } else if (operation == 1 && size > 0) {
+                expenses.editExpense("Others", random.nextInt(size) + 1, Double.parseDouble(amount),
+                        words[random.nextInt(words.length)]);
+            } else {
+                expenses.addExpense("Others", amount, words[random.nextInt(words.length)]);
+            }
+
+            String query = queries[random.nextInt(queries.length)];
+            Double minAmount = random.nextBoolean() ? (double) random.nextInt(50) : null;
+            Double maxAmount = random.nextBoolean() ? (double) random.nextInt(50) + 1 : null;
+            if (minAmount != null && maxAmount != null && minAmount > maxAmount) {
+                maxAmount = null;
+            }
+            List<Expense> expected = new ArrayList<>();
+            for (Expense expense : expenses.getExpenses()) {
+                if (expense.getDescription().toLowerCase().contains(query)
+                        && (minAmount == null || expense.getAmount() >= minAmount)
+                        && (maxAmount == null || expense.getAmount() <= maxAmount)) {
+                    expected.add(expense);
+                }
+            }
+            assertEquals(expected, expenses.filterExpenses(query, minAmount, maxAmount));
+        }
+    }
+
+    @Test
+    public void filterExpenses_monthRanges_sameAsScanningDates() throws BudgetBuddyException {
+        Random random = new Random(2113);
+        ExpenseList expenses = new ExpenseList();
+        LocalDate date = LocalDate.of(2023, 11, 1);
+        for (int i = 0; i < 200; i++) {
+            date = date.plusDays(random.nextInt(5));
+            expenses.getExpenses().add(new Expense(date, "Others", random.nextInt(50) + 1, i % 3 == 0 ? "Bus" : "Tea"));
+        }
+        expenses.resetIndexes();
+
+        for (int i = 0; i < 300; i++) {
+            int operation = random.nextInt(5);
+            if (operation == 0) {
+                expenses.deleteExpense(random.nextInt(expenses.size()));
+            } else if (operation == 1) {
+                expenses.addExpense("Others", "5", "Bus");
+            }
+
+            YearMonth fromMonth = random.nextBoolean() ? YearMonth.of(2023, 11).plusMonths(random.nextInt(5)) : null;
+            YearMonth toMonth = random.nextBoolean() ? YearMonth.of(2024, 7).minusMonths(random.nextInt(4)) : null;
+            String query = random.nextBoolean() ? "bus" : "";
+            Double minAmount = random.nextBoolean() ? (double) random.nextInt(50) : null;
+            List<Expense> expected = new ArrayList<>();
+            for (Expense expense : expenses.getExpenses()) {
+                YearMonth month = YearMonth.from(expense.getDateAdded());
+                if (expense.getDescription().toLowerCase().contains(query)
+                        && (minAmount == null || expense.getAmount() >= minAmount)
+                        && (fromMonth == null || !month.isBefore(fromMonth))
+                        && (toMonth == null || !month.isAfter(toMonth))) {
+                    expected.add(expense);
+                }
+            }
+            assertEquals(expected, expenses.filterExpenses(query, minAmount, null, fromMonth, toMonth));
+        }
+    }
+
     @Test
     public void testGetExpenseInsights() {
         // Set up the ExpenseList with sample expenses
@@ -268,4 +559,32 @@ public class ExpenseListTest {
         // Restore the original standard output
         System.setOut(originalOut);
     }
+
+    @Test
+    public void getExpenseInsights_afterEditAndDelete_categoriesUpdated() throws BudgetBuddyException {
+        ExpenseList expenseList = new ExpenseList();
+        expenseList.addExpense("Transport", "50", "Bus fare");
+        expenseList.addExpense("Groceries", "30", "Weekly groceries");
+        expenseList.addExpense("Entertainment", "20", "Movie ticket");
+
+        ByteArrayOutputStream outContent = new ByteArrayOutputStream();
+        PrintStream originalOut = System.out;
+        System.setOut(new PrintStream(outContent));
+        try {
+            expenseList.getExpenseInsights();
+            assertTrue(outContent.toString().contains("Highest Expense Category: Transport"));
+
+            expenseList.editExpense("Groceries", 2, 60, "Weekly groceries");
+            expenseList.deleteExpense(0);
+            outContent.reset();
+            expenseList.getExpenseInsights();
+        } finally {
+            System.setOut(originalOut);
+        }
+
+        String output = outContent.toString();
+        assertTrue(output.contains("Highest Expense Category: Groceries"));
+        assertTrue(output.contains("Lowest Expense Category: Entertainment"));
+        assertTrue(output.contains("Transport      :   0.00%"));
+    }
 }
@@ -53,6 +53,18 @@ public class FindExpensesCommandCreatorTest {
         assertNull(initializeFindExpensesCommandCreator(inputWithOutOfOrderAmountParameters).createCommand());
         assertNull(initializeFindExpensesCommandCreator(inputWithOutOfOrderDescriptionParameter).createCommand());
     }
+    @Test
+    public void createCommand_categoryParameter_validatesCategory() {
+        String inputWithCategory = "find expenses d/ morethan/ lessthan/ c/groceries from/2024-01";
+        String inputWithUnlistedCategory = "find expenses d/ morethan/ lessthan/ c/Food";
+        String inputWithCategoryAfterMonth = "find expenses d/ morethan/ lessthan/ from/2024-01 c/Groceries";
+
+        assertInstanceOf(FindExpensesCommand.class,
+                initializeFindExpensesCommandCreator(inputWithCategory).createCommand());
+        assertNull(initializeFindExpensesCommandCreator(inputWithUnlistedCategory).createCommand());
+        assertNull(initializeFindExpensesCommandCreator(inputWithCategoryAfterMonth).createCommand());
+    }
+
     @Test
     public void createCommand_invalidMinAmount_returnsNull() {
         String validInputWithEmptyDescription = "find expenses d/hello morethan/dsfefew lessthan/20";
@@ -120,4 +132,18 @@ public class FindExpensesCommandCreatorTest {
         assertInstanceOf(FindExpensesCommand.class, command);
 
     }
+
+    @Test
+    public void createCommand_monthParameters_returnsFindExpensesCommandOnlyForValidRanges() {
+        assertInstanceOf(FindExpensesCommand.class, initializeFindExpensesCommandCreator(
+                "find expenses d/bus morethan/ lessthan/20 from/2024-01 to/2024-03").createCommand());
+        assertInstanceOf(FindExpensesCommand.class, initializeFindExpensesCommandCreator(
+                "find expenses d/ morethan/ lessthan/ to/2024-03").createCommand());
+        assertNull(initializeFindExpensesCommandCreator(
+                "find expenses d/ morethan/ lessthan/ from/2024-13").createCommand());
+        assertNull(initializeFindExpensesCommandCreator(
+                "find expenses d/ morethan/ lessthan/ from/2024-03 to/2024-01").createCommand());
+        assertNull(initializeFindExpensesCommandCreator(
+                "find expenses d/ morethan/ lessthan/ to/2024-03 from/2024-01").createCommand());
+    }
 }
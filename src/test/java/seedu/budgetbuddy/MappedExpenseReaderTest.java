@@ -0,0 +1,150 @@
+package seedu.budgetbuddy;
+
+import org.junit.jupiter.api.Test;
+import seedu.budgetbuddy.commons.Expense;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Scanner;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class MappedExpenseReaderTest {
+    private static final String[] LINE_SEPARATORS = {"\n", "\r\n", "\r"};
+    private static final int NUMBER_OF_LINES = 72000;
+    private static final int CORRUPTED_LINE = 70000;
+
+    private Path createFile(String contents) throws Exception {
+        Path file = Files.createTempFile("budgetbuddy", ".txt");
+        Files.write(file, contents.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    @Test
+    public void readExpenses_mixedLineSeparators_sameAsScannerParsing() throws Exception {
+        Path file = createFile("2024-03-05 | Food | 12.50 | Lunch\r\n"
+                + "2024-03-06 | Transport | 1e1 | Bus\r"
+                + " 2024-03-07 |Others|0.1| Pen | extra\n"
+                + "2024-03-08 | Housing | 1000 | Rent");
+
+        List<Expense> expenses = new ArrayList<>();
+        try (MappedExpenseReader reader = new MappedExpenseReader(file.toFile())) {
+            reader.readExpenses(expenses);
+        }
+
+        assertEquals(4, expenses.size());
+        assertEquals(LocalDate.of(2024, 3, 5), expenses.get(0).getDateAdded());
+        assertEquals("Food", expenses.get(0).getCategory());
+        assertEquals(12.5, expenses.get(0).getAmount());
+        assertEquals("Lunch", expenses.get(0).getDescription());
+        assertEquals(10.0, expenses.get(1).getAmount());
+        assertEquals("Others", expenses.get(2).getCategory());
+        assertEquals(Double.parseDouble("0.1"), expenses.get(2).getAmount());
+        assertEquals("Pen", expenses.get(2).getDescription());
+        assertEquals("Rent", expenses.get(3).getDescription());
+    }
+
+    @Test
+    public void readExpenses_corruptedLine_throwsAfterReadingPreviousLines() throws Exception {
+        Path file = createFile("2024-03-05 | Food | 12.50 | Lunch\n2024-02-30 | Food | 5 | Dinner\n");
+
+        List<Expense> expenses = new ArrayList<>();
+        try (MappedExpenseReader reader = new MappedExpenseReader(file.toFile())) {
+            assertThrows(DateTimeParseException.class, () -> reader.readExpenses(expenses));
+        }
+
+        assertEquals(1, expenses.size());
+    }
+
+    /**
+     * Creates a file of about 3.8 MB, which is split into several chunks, with every kind of line separator and
+     * lines of varying lengths. Runs of three lines share a separator, which places the boundaries of two and
+     * three chunks after a `\n`, a `\r` and a `\r\n`.
+     */
+    private Path createLargeFile(boolean isCorrupted) throws Exception {
+        StringBuilder contents = new StringBuilder();
+        for (int i = 0; i < NUMBER_OF_LINES; i++) {
+            String date = i == CORRUPTED_LINE && isCorrupted ? "2024-02-30" : "2024-03-" + (10 + i % 19);
+            String amount = i % 5 == 0 ? "1e1" : (i % 1000) + "." + (i % 100);
+            String category = i % 2 == 0 ? "Food" : "Caf\u00e9";
+            // Descriptions repeat, as in real histories, so the description pool is not filled
+            String description = "Groceries " + i % 300 + "x".repeat(i % 21);
+            contents.append(date).append(" | ").append(category).append(" | ").append(amount).append(" | ")
+                    .append(description).append(LINE_SEPARATORS[i / 3 % LINE_SEPARATORS.length]);
+        }
+        return createFile(contents.toString());
+    }
+
+    /**
+     * Reads the file line by line with a Scanner, as expense files were read before they were memory-mapped
+     *
+     * @return The expenses before the first corrupted line
+     */
+    private List<Expense> readWithScanner(Path file) throws Exception {
+        List<Expense> expenses = new ArrayList<>();
+        try (Scanner scanner = new Scanner(file, StandardCharsets.UTF_8)) {
+            while (scanner.hasNextLine()) {
+                expenses.add(Storage.parseExpenseLine(scanner.nextLine()));
+            }
+        } catch (DateTimeParseException e) {
+            // The expenses before the corrupted line are kept
+        }
+        return expenses;
+    }
+
+    private void assertSameExpenses(List<Expense> expected, List<Expense> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getDateAdded(), actual.get(i).getDateAdded());
+            assertEquals(expected.get(i).getCategory(), actual.get(i).getCategory());
+            assertEquals(expected.get(i).getAmountInMinorUnits(), actual.get(i).getAmountInMinorUnits());
+            assertEquals(expected.get(i).getCurrency(), actual.get(i).getCurrency());
+            assertEquals(expected.get(i).getDescription(), actual.get(i).getDescription());
+        }
+    }
+
+    @Test
+    public void readExpenses_largeFileInChunks_sameAsScannerParsing() throws Exception {
+        Path file = createLargeFile(false);
+        List<Expense> expected = readWithScanner(file);
+
+        for (int parallelism = 2; parallelism <= 4; parallelism++) {
+            List<Expense> expenses = new ArrayList<>();
+            try (MappedExpenseReader reader = new MappedExpenseReader(file.toFile(), parallelism)) {
+                reader.readExpenses(expenses);
+            }
+
+            assertEquals(NUMBER_OF_LINES, expenses.size());
+            assertSameExpenses(expected, expenses);
+        }
+    }
+
+    @Test
+    public void readExpenses_contentsInMemory_sameAsScannerParsing() throws Exception {
+        Path file = createLargeFile(false);
+
+        List<Expense> expenses = new ArrayList<>();
+        MappedExpenseReader.readExpenses(Files.readAllBytes(file), expenses);
+
+        assertSameExpenses(readWithScanner(file), expenses);
+    }
+
+    @Test
+    public void readExpenses_largeFileCorruptedInLastChunk_keepsLinesBeforeCorruptedLine() throws Exception {
+        Path file = createLargeFile(true);
+
+        List<Expense> expenses = new ArrayList<>();
+        try (MappedExpenseReader reader = new MappedExpenseReader(file.toFile(), 4)) {
+            assertThrows(DateTimeParseException.class, () -> reader.readExpenses(expenses));
+        }
+
+        assertEquals(CORRUPTED_LINE, expenses.size());
+        assertSameExpenses(readWithScanner(file), expenses);
+    }
+}
@@ -0,0 +1,67 @@
+package seedu.budgetbuddy;
+
+import org.junit.jupiter.api.Test;
+import seedu.budgetbuddy.commons.Money;
+
+import java.util.Currency;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class MoneyTest {
+    private static final Currency SGD = Currency.getInstance("SGD");
+    private static final Currency JPY = Currency.getInstance("JPY");
+
+    @Test
+    public void parse_decimalAmounts_exactMinorUnits() {
+        assertEquals(1234, Money.parse("12.34", SGD));
+        assertEquals(1250, Money.parse("12.5", SGD));
+        assertEquals(1200, Money.parse("12", SGD));
+        assertEquals(10, Money.parse("0.1", SGD));
+        assertEquals(12, Money.parse("12", JPY));
+    }
+
+    @Test
+    public void parse_extraFractionDigits_roundedHalfUp() {
+        assertEquals(1235, Money.parse("12.345", SGD));
+        assertEquals(13, Money.parse("12.5", JPY));
+    }
+
+    @Test
+    public void countFractionDigits_enteredAmounts_digitsAfterDecimalPoint() {
+        assertEquals(2, Money.countFractionDigits("10.50"));
+        assertEquals(1, Money.countFractionDigits("10.5"));
+        assertEquals(0, Money.countFractionDigits("10"));
+        assertEquals(0, Money.countFractionDigits("10."));
+    }
+
+    @Test
+    public void parse_notANumber_exceptionThrown() {
+        assertThrows(NumberFormatException.class, () -> Money.parse("12a", SGD));
+        assertThrows(NumberFormatException.class, () -> Money.parse("", SGD));
+    }
+
+    @Test
+    public void sum_manyTenthsOfADollar_noRoundingError() {
+        long total = 0;
+        for (int i = 0; i < 1000; i++) {
+            total += Money.parse("0.10", SGD);
+        }
+        assertEquals("100.00", Money.format(total, SGD));
+    }
+
+    @Test
+    public void format_minorUnits_twoDecimalPlaces() {
+        assertEquals("1234.50", Money.format(123450, SGD));
+        assertEquals("0.05", Money.format(5, SGD));
+        assertEquals("-0.05", Money.format(-5, SGD));
+        assertEquals("1234.00", Money.format(1234, JPY));
+    }
+
+    @Test
+    public void rescale_differentFractionDigits_roundedHalfUp() {
+        assertEquals(123400, Money.rescale(1234, JPY, SGD));
+        assertEquals(1235, Money.rescale(123450, SGD, JPY));
+        assertEquals(1234, Money.rescale(123449, SGD, JPY));
+    }
+}
@@ -10,8 +10,12 @@ import seedu.budgetbuddy.commons.RecurringExpenseLists;
 import seedu.budgetbuddy.commons.SavingList;
 import seedu.budgetbuddy.commons.SplitExpenseList;
 
+import java.util.EnumSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 
 
@@ -76,5 +80,22 @@ public class ParserTest {
         assertInstanceOf(RecurringExpenseCommand.class, command);
     }
 
+    @Test
+    public void getRequiredStores_listExpensesCommand_onlyExpensesRequired() {
+        Parser parser = new Parser();
+
+        assertEquals(EnumSet.of(DataStore.EXPENSES), parser.getRequiredStores("list expenses"));
+    }
+
+    @Test
+    public void getRequiredStores_storeSpecificCommands_storeRequired() {
+        Parser parser = new Parser();
+
+        assertTrue(parser.getRequiredStores("list savings").contains(DataStore.SAVINGS));
+        assertTrue(parser.getRequiredStores("settle bill 1").contains(DataStore.SPLIT_EXPENSES));
+        assertTrue(parser.getRequiredStores("rec viewlist 1").contains(DataStore.RECURRING_EXPENSES));
+        assertTrue(parser.getRequiredStores("add expense c/Housing a/5 d/x").contains(DataStore.BUDGETS));
+        assertEquals(EnumSet.of(DataStore.EXPENSES), parser.getRequiredStores("change currency USD"));
+    }
 
 }
@@ -0,0 +1,72 @@
+package seedu.budgetbuddy;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PersistenceWriterTest {
+
+    @Test
+    public void sync_queuedWrites_latestContentsWritten() throws IOException {
+        Path directory = Files.createTempDirectory("budgetbuddy");
+        Path file = directory.resolve("ExpenseFile.txt");
+        Path journal = directory.resolve("ExpenseJournal.txt");
+        Files.writeString(journal, "# 0\n");
+        PersistenceWriter persistenceWriter = new PersistenceWriter(1000);
+
+        persistenceWriter.submitReplace(file, Durability.NONE, bytes("first\n"));
+        persistenceWriter.submitReplace(file, Durability.NONE, bytes("second\n"));
+        persistenceWriter.submitAppend(file, Durability.NONE, bytes("appended\n"));
+        persistenceWriter.submitAppend(journal, Durability.NONE, bytes("ADD | 1\n"));
+        persistenceWriter.submitAppend(journal, Durability.NONE, bytes("DELETE | 0\n"));
+
+        assertTrue(persistenceWriter.sync());
+        assertEquals("second\nappended\n", Files.readString(file));
+        assertEquals("# 0\nADD | 1\nDELETE | 0\n", Files.readString(journal));
+        assertTrue(persistenceWriter.close());
+    }
+
+    @Test
+    public void sync_writeFails_reportedAndRetried() throws IOException {
+        Path directory = Files.createTempDirectory("budgetbuddy").resolve("data");
+        Path file = directory.resolve("SavingsFile.txt");
+        PersistenceWriter persistenceWriter = new PersistenceWriter(0);
+
+        persistenceWriter.submitReplace(file, Durability.NONE, bytes("savings\n"));
+        assertFalse(persistenceWriter.sync());
+
+        Files.createDirectories(directory);
+        assertTrue(persistenceWriter.close());
+        assertEquals("savings\n", Files.readString(file));
+    }
+
+    @Test
+    public void sync_earlierWriteFails_laterWritesHeldBack() throws IOException {
+        Path directory = Files.createTempDirectory("budgetbuddy");
+        Path segmentDirectory = directory.resolve("segments");
+        Path segment = segmentDirectory.resolve("2024-03.1.0.txt");
+        Path manifest = directory.resolve("Manifest.txt");
+        PersistenceWriter persistenceWriter = new PersistenceWriter(1000);
+
+        persistenceWriter.submitReplace(segment, Durability.NONE, bytes("2024-03-05 | Food | 12.50 | Lunch\n"));
+        persistenceWriter.submitReplace(manifest, Durability.NONE, bytes("2024-03 | 2024-03.1.0.txt | 1 | 0\n"));
+        assertFalse(persistenceWriter.sync());
+        assertFalse(Files.exists(manifest));
+
+        Files.createDirectories(segmentDirectory);
+        assertTrue(persistenceWriter.close());
+        assertTrue(Files.exists(segment));
+        assertTrue(Files.exists(manifest));
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+}
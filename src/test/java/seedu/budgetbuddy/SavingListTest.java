@@ -183,4 +183,33 @@ public class SavingListTest {
         // Restore the original standard output
         System.setOut(originalOut);
     }
+
+    @Test
+    public void getSavingsInsights_afterReduceAndEdit_categoriesUpdated() throws BudgetBuddyException {
+        SavingList savingList = new SavingList();
+        savingList.addSaving("Salary", "1000");
+        savingList.addSaving("Investments", "500");
+        savingList.addSaving("Gifts", "200");
+
+        ByteArrayOutputStream outContent = new ByteArrayOutputStream();
+        PrintStream originalOut = System.out;
+        System.setOut(new PrintStream(outContent));
+        try {
+            savingList.getSavingsInsights();
+            assertTrue(outContent.toString().contains("Highest Savings Category: Salary"));
+
+            savingList.reduceSavingsByCategory("Salary", 900);
+            savingList.editSaving("Gifts", 2000);
+            savingList.addSaving("Others", "300");
+            outContent.reset();
+            savingList.getSavingsInsights();
+        } finally {
+            System.setOut(originalOut);
+        }
+
+        String output = outContent.toString();
+        assertTrue(output.contains("Highest Savings Category: Gifts"));
+        assertTrue(output.contains("Lowest Savings Category: Salary"));
+        assertTrue(output.contains("Categories with no savings added: None"));
+    }
 }
@@ -0,0 +1,265 @@
+package seedu.budgetbuddy;
+
+import org.junit.jupiter.api.Test;
+import seedu.budgetbuddy.commons.DefaultCurrency;
+import seedu.budgetbuddy.commons.ExchangeRateTable;
+import seedu.budgetbuddy.commons.Expense;
+import seedu.budgetbuddy.commons.ExpenseFilter;
+import seedu.budgetbuddy.commons.ExpenseList;
+import seedu.budgetbuddy.exception.BudgetBuddyException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Currency;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class StorageTest {
+
+    private Storage createExpenseStorage(Path directory) {
+        return new Storage(directory.resolve("ExpenseFile.txt").toString(),
+                directory.resolve("ExpenseJournal.txt").toString());
+    }
+
+    @Test
+    public void loadExpenses_afterAppendingJournal_replaysChanges() throws IOException, BudgetBuddyException {
+        Path directory = Files.createTempDirectory("budgetbuddy");
+        Storage storage = createExpenseStorage(directory);
+
+        ExpenseList expenses = new ExpenseList();
+        expenses.addExpense("Transport", "50", "Bus Fare");
+        expenses.addExpense("Housing", "30", "BTO");
+        storage.saveExpenses(expenses.getExpenses());
+        expenses.clearModified();
+
+        expenses.editExpense("Groceries", 1, 20, "Apples");
+        expenses.deleteExpense(1);
+        expenses.addExpense("Others", "5", "Pen");
+        storage.appendExpenseJournal(expenses.getPendingChanges());
+
+        List<Expense> loadedExpenses = createExpenseStorage(directory).loadExpenses();
+
+        assertEquals(2, loadedExpenses.size());
+        assertEquals("Groceries", loadedExpenses.get(0).getCategory());
+        assertEquals(20.0, loadedExpenses.get(0).getAmount(), 0.01);
+        assertEquals("Apples", loadedExpenses.get(0).getDescription());
+        assertEquals("Pen", loadedExpenses.get(1).getDescription());
+    }
+
+    @Test
+    public void loadExpenses_afterBulkDeleteAndEdit_replaysChanges() throws IOException, BudgetBuddyException {
+        Path directory = Files.createTempDirectory("budgetbuddy");
+        Storage storage = createExpenseStorage(directory);
+
+        ExpenseList expenses = new ExpenseList();
+        for (int i = 0; i < 10; i++) {
+            expenses.addExpense(i % 2 == 0 ? "Transport" : "Housing", String.valueOf(i + 1), "Item " + i);
+        }
+        storage.saveExpenses(expenses.getExpenses());
+        expenses.clearModified();
+
+        expenses.deleteExpense(0);
+        expenses.deleteExpenses(new ExpenseFilter(null, null, null, "Transport", null, null));
+        expenses.editExpenses(new ExpenseFilter("item", 5.0, null, null, null, null), null, 1.0, null);
+        storage.appendExpenseJournal(expenses.getPendingChanges());
+
+        List<Expense> loadedExpenses = createExpenseStorage(directory).loadExpenses();
+
+        assertEquals(expenses.getExpenses().size(), loadedExpenses.size());
+        for (int i = 0; i < loadedExpenses.size(); i++) {
+            assertEquals(expenses.getExpenses().get(i).getDescription(), loadedExpenses.get(i).getDescription());
+            assertEquals(expenses.getExpenses().get(i).getAmount(), loadedExpenses.get(i).getAmount(), 0.01);
+        }
+    }
+
+    @Test
+    public void loadExpenses_journalAlreadyCompacted_journalNotReplayedTwice()
+            throws IOException, BudgetBuddyException {
+        Path directory = Files.createTempDirectory("budgetbuddy");
+        Storage storage = createExpenseStorage(directory);
+
+        ExpenseList expenses = new ExpenseList();
+        expenses.addExpense("Transport", "50", "Bus Fare");
+        storage.appendExpenseJournal(expenses.getPendingChanges());
+
+        // Simulates a crash after the expense file was rewritten, but before the journal was emptied
+        String journal = Files.readString(directory.resolve("ExpenseJournal.txt"));
+        storage.compactExpenseJournal();
+        Files.writeString(directory.resolve("ExpenseJournal.txt"), journal);
+
+        List<Expense> loadedExpenses = createExpenseStorage(directory).loadExpenses();
+
+        assertEquals(1, loadedExpenses.size());
+    }
+
+    private Storage createSegmentedExpenseStorage(Path directory) {
+        return Storage.createSegmentedExpenseStorage(directory.resolve("expenses") + "/", false,
+                Storage.createOptional(directory.resolve("ExpenseFile.txt").toString(),
+                        directory.resolve("ExpenseJournal.txt").toString()));
+    }
+
+    private static long countSegmentFiles(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory.resolve("expenses"))) {
+            return files.filter(file -> !file.getFileName().toString().contains("Journal")
+                    && !file.getFileName().toString().contains("Manifest")).count();
+        }
+    }
+
+    @Test
+    public void saveExpenses_segmentedStorage_onlyChangedMonthRewritten() throws IOException {
+        Path directory = Files.createTempDirectory("budgetbuddy");
+        Storage storage = createSegmentedExpenseStorage(directory);
+        ExpenseList expenses = new ExpenseList();
+        expenses.getExpenses().add(new Expense(LocalDate.of(2024, 1, 5), "Transport", 5.0, "Bus"));
+        expenses.getExpenses().add(new Expense(LocalDate.of(2024, 1, 9), "Housing", 900.0, "Rent"));
+        expenses.getExpenses().add(new Expense(LocalDate.of(2024, 2, 1), "Groceries", 12.5, "Apples"));
+        storage.saveExpenses(expenses.getExpenses());
+        assertEquals(2, countSegmentFiles(directory));
+
+        expenses.getExpenses().get(2).setDescription("Pears");
+        storage.saveExpenses(expenses.getExpenses());
+        String manifest = Files.readString(directory.resolve("expenses").resolve("Manifest.txt"));
+        assertTrue(manifest.contains("2024-01.1.0.txt"));
+        assertTrue(manifest.contains("2024-02.2.1.txt"));
+
+        List<Expense> loadedExpenses = createSegmentedExpenseStorage(directory).loadExpenses();
+        assertEquals(3, loadedExpenses.size());
+        assertEquals("Rent", loadedExpenses.get(1).getDescription());
+        assertEquals("Pears", loadedExpenses.get(2).getDescription());
+        assertEquals(2, countSegmentFiles(directory));
+    }
+
+    @Test
+    public void loadExpenses_segmentCorruptedWithSameRowCount_segmentsReset() throws IOException {
+        Path directory = Files.createTempDirectory("budgetbuddy");
+        List<Expense> expenses = List.of(new Expense(LocalDate.of(2024, 1, 5), "Transport", 5.0, "Bus"),
+                new Expense(LocalDate.of(2024, 1, 9), "Housing", 900.0, "Rent"));
+        createSegmentedExpenseStorage(directory).saveExpenses(expenses);
+
+        Path segment = directory.resolve("expenses").resolve("2024-01.1.0.txt");
+        Files.writeString(segment, Files.readString(segment).replace("900.00", "100.00"));
+        Storage storage = createSegmentedExpenseStorage(directory);
+        List<Expense> loadedExpenses = storage.loadExpenses();
+
+        assertEquals(0, loadedExpenses.size());
+        assertTrue(storage.isFileReset());
+    }
+
+    @Test
+    public void loadExpenses_segmentsNeverSaved_expenseFileMovedIntoSegments()
+            throws IOException, BudgetBuddyException {
+        Path directory = Files.createTempDirectory("budgetbuddy");
+        ExpenseList expenses = new ExpenseList();
+        expenses.addExpense("Transport", "50", "Bus Fare");
+        expenses.addExpense("Housing", "30", "BTO");
+        createExpenseStorage(directory).saveExpenses(expenses.getExpenses());
+
+        List<Expense> movedExpenses = createSegmentedExpenseStorage(directory).loadExpenses();
+        assertFalse(Files.exists(directory.resolve("ExpenseFile.txt")));
+        assertTrue(Files.exists(directory.resolve("ExpenseFile.txt.migrated")));
+        List<Expense> loadedExpenses = createSegmentedExpenseStorage(directory).loadExpenses();
+
+        assertFalse(Files.exists(directory.resolve("ExpenseFile.txt")));
+        assertEquals(2, movedExpenses.size());
+        assertEquals(2, loadedExpenses.size());
+        assertEquals("BTO", loadedExpenses.get(1).getDescription());
+    }
+
+    @Test
+    public void saveExpenses_binaryFile_roundTripsTextValues() throws IOException, BudgetBuddyException {
+        Path directory = Files.createTempDirectory("budgetbuddy");
+        Storage storage = new Storage(directory.resolve("ExpenseFile.bin").toString(),
+                directory.resolve("ExpenseBinaryJournal.txt").toString());
+
+        ExpenseList expenses = new ExpenseList();
+        expenses.addExpense("Transport", "12.35", "Bus Fare");
+        expenses.addExpense("Housing", "1000", "Rent");
+        expenses.addExpense("Housing", "1000", "Rent");
+        storage.saveExpenses(expenses.getExpenses());
+
+        List<Expense> loadedExpenses = storage.loadExpenses();
+
+        assertEquals(3, loadedExpenses.size());
+        for (int i = 0; i < loadedExpenses.size(); i++) {
+            Expense expense = expenses.getExpenses().get(i);
+            Expense loadedExpense = loadedExpenses.get(i);
+            assertEquals(expense.getDateAdded(), loadedExpense.getDateAdded());
+            assertEquals(expense.getCategory(), loadedExpense.getCategory());
+            assertEquals(expense.getAmount(), loadedExpense.getAmount());
+            assertEquals(expense.getDescription(), loadedExpense.getDescription());
+        }
+    }
+
+    @Test
+    public void saveExpenses_mixedCurrencies_currenciesKept() throws IOException, BudgetBuddyException {
+        Path directory = Files.createTempDirectory("budgetbuddy");
+        Storage textStorage = createExpenseStorage(directory);
+        Storage binaryStorage = new Storage(directory.resolve("ExpenseFile.bin").toString(),
+                directory.resolve("ExpenseBinaryJournal.txt").toString());
+        Currency baseCurrency = DefaultCurrency.getBaseCurrency();
+
+        ExpenseList expenses = new ExpenseList();
+        expenses.addExpense("Transport", "12.35", "Bus Fare");
+        DefaultCurrency.setDefaultCurrency(Currency.getInstance("JPY"));
+        try {
+            expenses.addExpense("Housing", "1000", "Rent");
+            textStorage.saveExpenses(expenses.getExpenses());
+            binaryStorage.saveExpenses(expenses.getExpenses());
+
+            List<String> lines = Files.readAllLines(directory.resolve("ExpenseFile.txt"));
+            assertTrue(lines.get(0).contains("| 12.35 |"));
+            assertTrue(lines.get(1).contains("| 1000.00 JPY |"));
+            for (List<Expense> loadedExpenses : List.of(textStorage.loadExpenses(), binaryStorage.loadExpenses())) {
+                assertEquals(baseCurrency, loadedExpenses.get(0).getCurrency());
+                assertEquals(1235, loadedExpenses.get(0).getAmountInMinorUnits());
+                assertEquals(Currency.getInstance("JPY"), loadedExpenses.get(1).getCurrency());
+                assertEquals(1000, loadedExpenses.get(1).getAmountInMinorUnits());
+            }
+        } finally {
+            DefaultCurrency.setDefaultCurrency(baseCurrency);
+        }
+    }
+
+    @Test
+    public void loadExchangeRates_ratesFile_ratesByDate() throws IOException, BudgetBuddyException {
+        Path directory = Files.createTempDirectory("budgetbuddy");
+        Path file = directory.resolve("rates.csv");
+        Storage storage = Storage.createOptional(file.toString(), null);
+        assertEquals(1, storage.loadExchangeRates().size());
+        assertFalse(Files.exists(file));
+
+        Files.writeString(file, "date,currency,rate\n# Rates per 1 SGD\n2024-01-01,USD,0.8\n\n"
+                + "2024-01-01,jpy,110\n2024-06-01,USD,0.7\n");
+        ExchangeRateTable table = storage.loadExchangeRates();
+
+        assertEquals(3, table.size());
+        assertEquals(110.0, table.getConverter(LocalDate.of(2024, 3, 1))
+                .convertAmount(1, Currency.getInstance("SGD"), Currency.getInstance("JPY")), 1e-9);
+        assertEquals(0.7, table.getConverter(null)
+                .convertAmount(1, Currency.getInstance("SGD"), Currency.getInstance("USD")), 1e-9);
+
+        Files.writeString(file, "2024-01-01,USD,0.8\n2024-02-01,USD,-1\n");
+        BudgetBuddyException exception = assertThrows(BudgetBuddyException.class, storage::loadExchangeRates);
+        assertTrue(exception.getMessage().contains("line 2"));
+    }
+
+    @Test
+    public void loadExpenses_corruptedBinaryFile_fileReset() throws IOException {
+        Path directory = Files.createTempDirectory("budgetbuddy");
+        Path file = directory.resolve("ExpenseFile.bin");
+        Storage storage = new Storage(file.toString(), directory.resolve("ExpenseBinaryJournal.txt").toString());
+        Files.write(file, new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9});
+
+        List<Expense> loadedExpenses = storage.loadExpenses();
+
+        assertEquals(0, loadedExpenses.size());
+        assertEquals(0, Files.size(file));
+    }
+}